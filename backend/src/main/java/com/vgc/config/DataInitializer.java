@@ -2,18 +2,27 @@ package com.vgc.config;
 
 import com.vgc.entity.Category;
 import com.vgc.repository.CategoryRepository;
+import com.vgc.repository.ConversationRepository;
+import com.vgc.repository.UserRepository;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 
 @Component
 public class DataInitializer implements CommandLineRunner {
     private final CategoryRepository categoryRepository;
+    private final ConversationRepository conversationRepository;
+    private final UserRepository userRepository;
 
-    public DataInitializer(CategoryRepository categoryRepository) {
+    public DataInitializer(CategoryRepository categoryRepository, ConversationRepository conversationRepository,
+                           UserRepository userRepository) {
         this.categoryRepository = categoryRepository;
+        this.conversationRepository = conversationRepository;
+        this.userRepository = userRepository;
     }
 
     @Override
     public void run(String... args) {
+        conversationRepository.backfillLastMessages();
+        userRepository.backfillUnreadTotals();
     }
 }
@@ -4,16 +4,15 @@ import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
-import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
-import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 
+// 업로드 파일 서빙은 UploadController에서 처리 (캐시 헤더, ETag, Range)
 @Configuration
 @Profile("local")
-public class FileStorageConfig implements WebMvcConfigurer {
+public class FileStorageConfig {
 
     @Value("${file.upload-dir}")
     private String uploadDir;
@@ -22,10 +21,4 @@ public class FileStorageConfig implements WebMvcConfigurer {
     public void init() throws IOException {
         Files.createDirectories(Paths.get(uploadDir));
     }
-
-    @Override
-    public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        registry.addResourceHandler("/uploads/**")
-                .addResourceLocations("file:" + uploadDir + "/");
-    }
 }
@@ -44,6 +44,7 @@ public class SecurityConfig {
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/categories").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/posts").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/posts/feed").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/posts/*/comments").permitAll()
 
                         // 2. 인증 필요 - 포스트 CUD
@@ -55,6 +56,8 @@ public class SecurityConfig {
                         // 3. 인증 필요 - 좋아요, 북마크, 댓글 작성
                         .requestMatchers(HttpMethod.GET, "/api/posts/*/like").authenticated()
                         .requestMatchers(HttpMethod.POST, "/api/posts/*/like").authenticated()
+                        .requestMatchers(HttpMethod.POST, "/api/posts/interaction-state").authenticated()
+                        .requestMatchers(HttpMethod.POST, "/api/posts/image-uploads").authenticated()
                         .requestMatchers(HttpMethod.GET, "/api/posts/*/bookmark").authenticated()
                         .requestMatchers(HttpMethod.POST, "/api/posts/*/bookmark").authenticated()
                         .requestMatchers(HttpMethod.POST, "/api/posts/*/comments").authenticated()
@@ -67,15 +70,18 @@ public class SecurityConfig {
                         // 5. 대화(쪽지) - 인증 필요
                         .requestMatchers("/api/conversations/**").authenticated()
 
-                        // 6. WebSocket - STOMP 레벨에서 JWT 인증
+                        // 6. 로컬 직접 업로드 - URL 서명으로 검증
+                        .requestMatchers(HttpMethod.PUT, "/api/uploads/local/**").permitAll()
+
+                        // 7. WebSocket - STOMP 레벨에서 JWT 인증
                         .requestMatchers("/ws/**").permitAll()
 
-                        // 7. 카테고리 요청, 프로필, 관리자
+                        // 8. 카테고리 요청, 프로필, 관리자
                         .requestMatchers(HttpMethod.POST, "/api/categories/request").authenticated()
                         .requestMatchers("/api/profile/**").authenticated()
                         .requestMatchers("/api/admin/**").authenticated()
 
-                        // 8. 그 외 모든 요청 - 인증 필요
+                        // 9. 그 외 모든 요청 - 인증 필요
                         .anyRequest().authenticated()
                 )
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
@@ -0,0 +1,30 @@
+package com.vgc.config;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.Map;
+
+// vgc.threads=virtual 이면 spring.threads.virtual.enabled=true 로 연결
+// - Tomcat 요청, @Async/비동기 MVC, @Scheduled 실행기를 Spring Boot 가 가상 스레드로 구성
+// - STOMP 핸들러는 vgc.ws.handler-threads (기본값 vgc.threads) 로 WebSocketChannelExecutors 에서 처리
+// - 가장 낮은 우선순위로 추가하므로 spring.threads.virtual.enabled 를 직접 지정하면 그 값이 우선
+public class ThreadModeEnvironmentPostProcessor implements EnvironmentPostProcessor, Ordered {
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if ("virtual".equals(environment.getProperty("vgc.threads"))) {
+            environment.getPropertySources().addLast(new MapPropertySource("vgcThreads",
+                    Map.of("spring.threads.virtual.enabled", "true")));
+        }
+    }
+
+    // application.properties 가 읽힌 뒤 실행
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+}
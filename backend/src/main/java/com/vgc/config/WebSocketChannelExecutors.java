@@ -0,0 +1,97 @@
+package com.vgc.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+// STOMP inbound/outbound 채널 실행기 - 큐 크기를 제한하고 깊이/활성 스레드 수를 메트릭으로 노출
+@Component
+public class WebSocketChannelExecutors {
+
+    private final ThreadPoolTaskExecutor inbound;
+    private final ThreadPoolTaskExecutor outbound;
+
+    public WebSocketChannelExecutors(MeterRegistry meterRegistry,
+                                     @Value("${vgc.ws.handler-threads:${vgc.threads:platform}}") String handlerThreads,
+                                     @Value("${vgc.ws.inbound.core-pool-size:8}") int inboundCore,
+                                     @Value("${vgc.ws.inbound.max-pool-size:32}") int inboundMax,
+                                     @Value("${vgc.ws.inbound.queue-capacity:1000}") int inboundQueue,
+                                     @Value("${vgc.ws.inbound.virtual-max-concurrency:1000}") int virtualMax,
+                                     @Value("${vgc.ws.outbound.core-pool-size:8}") int outboundCore,
+                                     @Value("${vgc.ws.outbound.max-pool-size:32}") int outboundMax,
+                                     @Value("${vgc.ws.outbound.queue-capacity:1000}") int outboundQueue) {
+        Counter inboundRejected = Counter.builder("vgc.ws.executor.rejected")
+                .tag("channel", "inbound").register(meterRegistry);
+        Counter outboundRejected = Counter.builder("vgc.ws.executor.rejected")
+                .tag("channel", "outbound").register(meterRegistry);
+
+        if ("virtual".equals(handlerThreads)) {
+            // @MessageMapping 핸들러의 JPA 대기를 가상 스레드에서 처리 - 동시 실행 수만 제한
+            this.inbound = pool("ws-inbound-vt-", virtualMax, virtualMax, inboundQueue,
+                    rejecting(inboundRejected));
+            this.inbound.setThreadFactory(Thread.ofVirtual().name("ws-inbound-vt-", 0).factory());
+            this.inbound.setAllowCoreThreadTimeOut(true);
+        } else {
+            this.inbound = pool("ws-inbound-", inboundCore, inboundMax, inboundQueue,
+                    rejecting(inboundRejected));
+        }
+        // 브로커 -> 클라이언트 전송은 버리지 않고 큐가 차면 호출 스레드에서 실행해 속도를 늦춤
+        this.outbound = pool("ws-outbound-", outboundCore, outboundMax, outboundQueue,
+                callerRuns(outboundRejected));
+
+        register(meterRegistry, "inbound", inbound);
+        register(meterRegistry, "outbound", outbound);
+    }
+
+    public ThreadPoolTaskExecutor inbound() {
+        return inbound;
+    }
+
+    public ThreadPoolTaskExecutor outbound() {
+        return outbound;
+    }
+
+    private static ThreadPoolTaskExecutor pool(String prefix, int core, int max, int queueCapacity,
+                                               RejectedExecutionHandler rejectedHandler) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(prefix);
+        executor.setCorePoolSize(core);
+        executor.setMaxPoolSize(Math.max(core, max));
+        executor.setQueueCapacity(queueCapacity);
+        executor.setKeepAliveSeconds(60);
+        executor.setRejectedExecutionHandler(rejectedHandler);
+        return executor;
+    }
+
+    // 큐가 가득 차면 거부 (클라이언트에는 ERROR 프레임)
+    private static RejectedExecutionHandler rejecting(Counter rejected) {
+        ThreadPoolExecutor.AbortPolicy abort = new ThreadPoolExecutor.AbortPolicy();
+        return (task, executor) -> {
+            rejected.increment();
+            abort.rejectedExecution(task, executor);
+        };
+    }
+
+    private static RejectedExecutionHandler callerRuns(Counter rejected) {
+        ThreadPoolExecutor.CallerRunsPolicy callerRuns = new ThreadPoolExecutor.CallerRunsPolicy();
+        return (task, executor) -> {
+            rejected.increment();
+            callerRuns.rejectedExecution(task, executor);
+        };
+    }
+
+    private static void register(MeterRegistry meterRegistry, String channel, ThreadPoolTaskExecutor executor) {
+        Gauge.builder("vgc.ws.executor.queue.size", executor, ThreadPoolTaskExecutor::getQueueSize)
+                .tag("channel", channel).register(meterRegistry);
+        Gauge.builder("vgc.ws.executor.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .tag("channel", channel).register(meterRegistry);
+        Gauge.builder("vgc.ws.executor.pool.size", executor, ThreadPoolTaskExecutor::getPoolSize)
+                .tag("channel", channel).register(meterRegistry);
+    }
+}
@@ -5,10 +5,15 @@ import com.vgc.dto.MessageResponse;
 import com.vgc.entity.User;
 import com.vgc.repository.UserRepository;
 import com.vgc.security.JwtUtil;
+import com.vgc.security.UserPrincipal;
+import com.vgc.security.UserPrincipalCache;
 import com.vgc.service.ConversationService;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
@@ -34,25 +39,73 @@ import java.util.List;
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     private final JwtUtil jwtUtil;
+    private final UserPrincipalCache principalCache;
+    private final String brokerMode;
+    private final String relayHost;
+    private final int relayPort;
+    private final String relayLogin;
+    private final String relayPasscode;
+    private final WebSocketChannelExecutors channelExecutors;
+    private final boolean preserveOrder;
 
-    public WebSocketConfig(JwtUtil jwtUtil) {
+    public WebSocketConfig(JwtUtil jwtUtil, UserPrincipalCache principalCache,
+                           WebSocketChannelExecutors channelExecutors,
+                           @Value("${vgc.ws.broker:simple}") String brokerMode,
+                           @Value("${vgc.ws.relay.host:localhost}") String relayHost,
+                           @Value("${vgc.ws.relay.port:61613}") int relayPort,
+                           @Value("${vgc.ws.relay.login:guest}") String relayLogin,
+                           @Value("${vgc.ws.relay.passcode:guest}") String relayPasscode,
+                           @Value("${vgc.ws.preserve-order:true}") boolean preserveOrder) {
         this.jwtUtil = jwtUtil;
+        this.principalCache = principalCache;
+        this.brokerMode = brokerMode;
+        this.relayHost = relayHost;
+        this.relayPort = relayPort;
+        this.relayLogin = relayLogin;
+        this.relayPasscode = relayPasscode;
+        this.channelExecutors = channelExecutors;
+        this.preserveOrder = preserveOrder;
     }
 
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        config.enableSimpleBroker("/topic");
+        if ("relay".equals(brokerMode)) {
+            // 외부 STOMP 브로커(RabbitMQ 등)를 여러 백엔드 노드가 공유
+            config.enableStompBrokerRelay("/queue", "/topic")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setClientLogin(relayLogin)
+                    .setClientPasscode(relayPasscode)
+                    .setSystemLogin(relayLogin)
+                    .setSystemPasscode(relayPasscode)
+                    // 다른 노드에 접속한 사용자에게도 /user 목적지가 전달되도록 세션 레지스트리를 브로커로 공유
+                    .setUserDestinationBroadcast("/topic/unresolved-user")
+                    .setUserRegistryBroadcast("/topic/user-registry");
+        } else {
+            config.enableSimpleBroker("/queue");
+        }
         config.setApplicationDestinationPrefixes("/app");
+        config.setUserDestinationPrefix("/user");
+        // 채널 스레드가 여러 개여도 세션별 전송 순서 유지
+        config.setPreservePublishOrder(preserveOrder);
     }
 
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         registry.addEndpoint("/ws")
                 .setAllowedOriginPatterns("*");
+        // 같은 세션에서 보낸 메시지는 받은 순서대로 핸들러에 전달
+        registry.setPreserveReceiveOrder(preserveOrder);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor(channelExecutors.outbound());
     }
 
     @Override
     public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor(channelExecutors.inbound());
         registration.interceptors(new ChannelInterceptor() {
             @Override
             public Message<?> preSend(Message<?> message, MessageChannel channel) {
@@ -64,14 +117,31 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                         if (token.startsWith("Bearer ")) {
                             token = token.substring(7);
                         }
-                        if (jwtUtil.validateToken(token)) {
-                            String email = jwtUtil.extractEmail(token);
-                            accessor.setUser(new UsernamePasswordAuthenticationToken(email, null, List.of()));
+                        Claims claims = jwtUtil.parseClaims(token);
+                        if (claims != null) {
+                            UserPrincipal principal = principalCache.get(claims.getSubject());
+                            if (principal != null) {
+                                accessor.setUser(new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+                            }
                         }
                     }
                 }
+                if (accessor != null && StompCommand.SUBSCRIBE.equals(accessor.getCommand())) {
+                    checkSubscription(accessor);
+                }
                 return message;
             }
         });
     }
+
+    // 구독은 인증된 사용자의 자기 큐(/user/queue/**)만 허용 - 대화별 토픽은 더 이상 없음
+    private void checkSubscription(StompHeaderAccessor accessor) {
+        if (accessor.getUser() == null) {
+            throw new MessageDeliveryException("인증이 필요합니다.");
+        }
+        String destination = accessor.getDestination();
+        if (destination == null || !destination.startsWith("/user/queue/")) {
+            throw new MessageDeliveryException("구독할 수 없는 경로입니다: " + destination);
+        }
+    }
 }
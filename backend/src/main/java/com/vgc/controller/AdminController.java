@@ -2,8 +2,7 @@ package com.vgc.controller;
 
 import com.vgc.dto.CategoryRequestResponse;
 import com.vgc.dto.CategoryResponse;
-import com.vgc.entity.User;
-import com.vgc.repository.UserRepository;
+import com.vgc.security.UserPrincipal;
 import com.vgc.service.CategoryService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -16,17 +15,14 @@ import java.util.Map;
 @RequestMapping("/api/admin")
 public class AdminController {
     private final CategoryService categoryService;
-    private final UserRepository userRepository;
 
-    public AdminController(CategoryService categoryService, UserRepository userRepository) {
+    public AdminController(CategoryService categoryService) {
         this.categoryService = categoryService;
-        this.userRepository = userRepository;
     }
 
-    private User getAdminUser(Authentication authentication) {
-        User user = userRepository.findByEmail(authentication.getName())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        if (!"ADMIN".equals(user.getRole())) {
+    private UserPrincipal getAdminUser(Authentication authentication) {
+        UserPrincipal user = UserPrincipal.of(authentication);
+        if (!user.isAdmin()) {
             throw new RuntimeException("관리자 권한이 필요합니다.");
         }
         return user;
@@ -4,7 +4,7 @@ import com.vgc.dto.CategoryRequestDto;
 import com.vgc.dto.CategoryRequestResponse;
 import com.vgc.dto.CategoryResponse;
 import com.vgc.entity.User;
-import com.vgc.repository.UserRepository;
+import com.vgc.security.UserPrincipal;
 import com.vgc.service.CategoryService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -16,11 +16,9 @@ import java.util.List;
 @RequestMapping("/api/categories")
 public class CategoryController {
     private final CategoryService categoryService;
-    private final UserRepository userRepository;
 
-    public CategoryController(CategoryService categoryService, UserRepository userRepository) {
+    public CategoryController(CategoryService categoryService) {
         this.categoryService = categoryService;
-        this.userRepository = userRepository;
     }
 
     @GetMapping
@@ -32,8 +30,7 @@ public class CategoryController {
     public ResponseEntity<CategoryRequestResponse> requestCategory(
             @RequestBody CategoryRequestDto dto,
             Authentication authentication) {
-        User user = userRepository.findByEmail(authentication.getName())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        User user = UserPrincipal.of(authentication).toUser();
         return ResponseEntity.ok(categoryService.requestCategory(dto, user));
     }
 }
@@ -3,7 +3,7 @@ package com.vgc.controller;
 import com.vgc.dto.CommentRequest;
 import com.vgc.entity.Comment;
 import com.vgc.entity.User;
-import com.vgc.repository.UserRepository;
+import com.vgc.security.UserPrincipal;
 import com.vgc.service.CommentService;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
@@ -15,11 +15,9 @@ import java.util.Map;
 @RequestMapping("/api/posts/{postId}/comments")
 public class CommentController {
     private final CommentService commentService;
-    private final UserRepository userRepository;
 
-    public CommentController(CommentService commentService, UserRepository userRepository) {
+    public CommentController(CommentService commentService) {
         this.commentService = commentService;
-        this.userRepository = userRepository;
     }
 
     @GetMapping
@@ -36,8 +34,7 @@ public class CommentController {
     public Comment addComment(@PathVariable Long postId,
                               @RequestBody CommentRequest request,
                               Authentication authentication) {
-        User user = userRepository.findByEmail(authentication.getName())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        User user = UserPrincipal.of(authentication).toUser();
         return commentService.addComment(postId, request, user);
     }
 
@@ -46,8 +43,7 @@ public class CommentController {
                                  @PathVariable Long commentId,
                                  @RequestBody CommentRequest request,
                                  Authentication authentication) {
-        User user = userRepository.findByEmail(authentication.getName())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        User user = UserPrincipal.of(authentication).toUser();
         return commentService.updateComment(commentId, request.getContent(), user);
     }
 
@@ -55,8 +51,7 @@ public class CommentController {
     public Comment deleteComment(@PathVariable Long postId,
                                  @PathVariable Long commentId,
                                  Authentication authentication) {
-        User user = userRepository.findByEmail(authentication.getName())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        User user = UserPrincipal.of(authentication).toUser();
         return commentService.deleteComment(commentId, user);
     }
 }
@@ -3,11 +3,11 @@ package com.vgc.controller;
 import com.vgc.dto.ConversationResponse;
 import com.vgc.dto.MessageRequest;
 import com.vgc.dto.MessageResponse;
+import com.vgc.dto.SliceResponse;
 import com.vgc.entity.Conversation;
 import com.vgc.entity.User;
-import com.vgc.repository.UserRepository;
+import com.vgc.security.UserPrincipal;
 import com.vgc.service.ConversationService;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
@@ -19,15 +19,9 @@ import java.util.Map;
 public class ConversationController {
 
     private final ConversationService conversationService;
-    private final UserRepository userRepository;
-    private final SimpMessagingTemplate messagingTemplate;
 
-    public ConversationController(ConversationService conversationService,
-                                  UserRepository userRepository,
-                                  SimpMessagingTemplate messagingTemplate) {
+    public ConversationController(ConversationService conversationService) {
         this.conversationService = conversationService;
-        this.userRepository = userRepository;
-        this.messagingTemplate = messagingTemplate;
     }
 
     @PostMapping
@@ -46,10 +40,12 @@ public class ConversationController {
     }
 
     @GetMapping("/{id}/messages")
-    public List<MessageResponse> getMessages(@PathVariable Long id,
-                                             Authentication authentication) {
+    public SliceResponse<MessageResponse> getMessages(@PathVariable Long id,
+                                                      @RequestParam(required = false) Long before,
+                                                      @RequestParam(defaultValue = "50") int limit,
+                                                      Authentication authentication) {
         User user = getUser(authentication);
-        return conversationService.getMessages(id, user);
+        return conversationService.getMessages(id, user, before, limit);
     }
 
     @PostMapping("/{id}/messages")
@@ -57,9 +53,23 @@ public class ConversationController {
                                        @RequestBody MessageRequest request,
                                        Authentication authentication) {
         User user = getUser(authentication);
-        MessageResponse response = conversationService.sendMessage(id, user, request.getContent());
-        messagingTemplate.convertAndSend("/topic/messages/" + id, response);
-        return response;
+        return conversationService.sendMessage(id, user, request.getContent());
+    }
+
+    @PostMapping("/{id}/read")
+    public Map<String, String> markRead(@PathVariable Long id,
+                                        @RequestBody(required = false) Map<String, Long> body,
+                                        Authentication authentication) {
+        User user = getUser(authentication);
+        Long messageId = body != null ? body.get("messageId") : null;
+        conversationService.markRead(id, user, messageId);
+        return Map.of("status", "read");
+    }
+
+    @GetMapping("/unread")
+    public Map<String, Long> getUnreadTotal(Authentication authentication) {
+        User user = getUser(authentication);
+        return Map.of("totalUnread", conversationService.getUnreadTotal(user));
     }
 
     @PostMapping("/{id}/leave")
@@ -71,7 +81,6 @@ public class ConversationController {
     }
 
     private User getUser(Authentication authentication) {
-        return userRepository.findByEmail(authentication.getName())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        return UserPrincipal.of(authentication).toUser();
     }
 }
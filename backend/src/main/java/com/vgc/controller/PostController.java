@@ -1,38 +1,132 @@
 package com.vgc.controller;
 
+import com.vgc.dto.ImageUploadRequest;
+import com.vgc.dto.ImageUploadResponse;
+import com.vgc.dto.InteractionStateRequest;
+import com.vgc.dto.InteractionStateResponse;
+import com.vgc.dto.LikeResponse;
+import com.vgc.dto.PostCardResponse;
 import com.vgc.dto.PostRequest;
 import com.vgc.dto.PostResponse;
+import com.vgc.dto.SliceResponse;
 import com.vgc.entity.PostStatus;
 import com.vgc.entity.User;
-import com.vgc.repository.UserRepository;
+import com.vgc.security.UserPrincipal;
+import com.vgc.service.DirectUploadService;
+import com.vgc.service.FeedCache;
 import com.vgc.service.PostService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/posts")
 public class PostController {
     private final PostService postService;
-    private final UserRepository userRepository;
+    private final FeedCache feedCache;
+    private final DirectUploadService directUploadService;
+    private final int maxInteractionStateIds;
+    private final int maxPageSize;
 
-    public PostController(PostService postService, UserRepository userRepository) {
+    public PostController(PostService postService, FeedCache feedCache, DirectUploadService directUploadService,
+                          @Value("${vgc.interaction-state.max-ids:100}") int maxInteractionStateIds,
+                          @Value("${vgc.feed.max-page-size:50}") int maxPageSize) {
         this.postService = postService;
-        this.userRepository = userRepository;
+        this.feedCache = feedCache;
+        this.directUploadService = directUploadService;
+        this.maxInteractionStateIds = maxInteractionStateIds;
+        this.maxPageSize = maxPageSize;
     }
 
     @GetMapping
-    public Page<PostResponse> getPosts(
+    public ResponseEntity<?> getPosts(
             @RequestParam(required = false) String category,
             @RequestParam(defaultValue = "latest") String sort,
             @RequestParam(required = false) String status,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "24") int size) {
-        return postService.getAllPosts(category, sort, status, page, size);
+            @RequestParam(name = "size", defaultValue = "24") int requestedSize,
+            @RequestParam(defaultValue = "full") String view,
+            Authentication authentication) {
+        int size = clampSize(requestedSize);
+        boolean card = "card".equals(view);
+        if (authentication == null && feedCache.isCacheable(page)) {
+            byte[] body = card
+                    ? feedCache.get("card", category, sort, status, page, size,
+                            () -> postService.getAllPostCards(category, sort, status, page, size), PostCardResponse::getId)
+                    : feedCache.get("full", category, sort, status, page, size,
+                            () -> postService.getAllPosts(category, sort, status, page, size), PostResponse::getId);
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+        }
+        if (card) {
+            Page<PostCardResponse> cards = postService.getAllPostCards(category, sort, status, page, size);
+            if (authentication != null) {
+                applyCardInteractionState(authentication, cards.getContent());
+            }
+            return ResponseEntity.ok(cards);
+        }
+        Page<PostResponse> posts = postService.getAllPosts(category, sort, status, page, size);
+        if (authentication != null) {
+            applyInteractionState(authentication, posts.getContent());
+        }
+        return ResponseEntity.ok(posts);
+    }
+
+    @GetMapping("/feed")
+    public ResponseEntity<?> getFeed(
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "latest") String sort,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "24") int requestedSize,
+            @RequestParam(defaultValue = "full") String view,
+            Authentication authentication) {
+        int size = clampSize(requestedSize);
+        boolean card = "card".equals(view);
+        if (authentication == null && feedCache.isCacheable(cursor)) {
+            byte[] body = card
+                    ? feedCache.getFirstSlice("card", category, sort, status, size,
+                            () -> postService.getFeedCards(category, sort, status, null, size), PostCardResponse::getId)
+                    : feedCache.getFirstSlice("full", category, sort, status, size,
+                            () -> postService.getFeed(category, sort, status, null, size), PostResponse::getId);
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+        }
+        if (card) {
+            SliceResponse<PostCardResponse> cards = postService.getFeedCards(category, sort, status, cursor, size);
+            if (authentication != null) {
+                applyCardInteractionState(authentication, cards.getContent());
+            }
+            return ResponseEntity.ok(cards);
+        }
+        SliceResponse<PostResponse> feed = postService.getFeed(category, sort, status, cursor, size);
+        if (authentication != null) {
+            applyInteractionState(authentication, feed.getContent());
+        }
+        return ResponseEntity.ok(feed);
+    }
+
+    @PostMapping("/interaction-state")
+    public InteractionStateResponse getInteractionState(@RequestBody InteractionStateRequest request,
+                                                        Authentication authentication) {
+        List<Long> postIds = request.getPostIds() != null ? request.getPostIds() : List.of();
+        if (postIds.size() > maxInteractionStateIds) {
+            throw new RuntimeException("한 번에 조회할 수 있는 게시글 수를 초과했습니다.");
+        }
+        return interactionState(authentication, postIds);
+    }
+
+    // 직접 업로드용 서명 URL 발급 - 업로드 후 uploadedImageUrls 로 글 작성/수정
+    @PostMapping("/image-uploads")
+    public List<ImageUploadResponse> createImageUploads(@RequestBody ImageUploadRequest request) throws IOException {
+        return directUploadService.presign(request);
     }
 
     @GetMapping("/{id}")
@@ -46,14 +140,14 @@ public class PostController {
             @RequestParam("content") String content,
             @RequestParam("category") String category,
             @RequestParam(value = "images", required = false) List<MultipartFile> images,
+            @RequestParam(value = "uploadedImageUrls", required = false) List<String> uploadedImageUrls,
             Authentication authentication) throws Exception {
-        User user = userRepository.findByEmail(authentication.getName())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        User user = UserPrincipal.of(authentication).toUser();
         PostRequest request = new PostRequest();
         request.setTitle(title);
         request.setContent(content);
         request.setCategory(category);
-        return postService.createPost(request, images, user);
+        return postService.createPost(request, images, uploadedImageUrls, user);
     }
 
     @PutMapping("/{id}")
@@ -63,15 +157,15 @@ public class PostController {
             @RequestParam("content") String content,
             @RequestParam("category") String category,
             @RequestParam(value = "images", required = false) List<MultipartFile> images,
+            @RequestParam(value = "uploadedImageUrls", required = false) List<String> uploadedImageUrls,
             @RequestParam(value = "existingImageUrls", required = false) List<String> existingImageUrls,
             Authentication authentication) throws Exception {
-        User user = userRepository.findByEmail(authentication.getName())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        User user = UserPrincipal.of(authentication).toUser();
         PostRequest request = new PostRequest();
         request.setTitle(title);
         request.setContent(content);
         request.setCategory(category);
-        return postService.updatePost(id, request, images, existingImageUrls, user);
+        return postService.updatePost(id, request, images, uploadedImageUrls, existingImageUrls, user);
     }
 
     @PatchMapping("/{id}/status")
@@ -79,32 +173,54 @@ public class PostController {
             @PathVariable Long id,
             @RequestBody Map<String, String> body,
             Authentication authentication) {
-        User user = userRepository.findByEmail(authentication.getName())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        User user = UserPrincipal.of(authentication).toUser();
         PostStatus status = PostStatus.valueOf(body.get("status"));
         return postService.updatePostStatus(id, status, user);
     }
 
     @DeleteMapping("/{id}")
     public Map<String, String> deletePost(@PathVariable Long id, Authentication authentication) {
-        User user = userRepository.findByEmail(authentication.getName())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        User user = UserPrincipal.of(authentication).toUser();
         postService.deletePost(id, user);
         return Map.of("message", "삭제되었습니다.");
     }
 
     @GetMapping("/{id}/like")
     public Map<String, Boolean> getLikeStatus(@PathVariable Long id, Authentication authentication) {
-        User user = userRepository.findByEmail(authentication.getName())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        boolean liked = postService.isLiked(user.getId(), id);
+        boolean liked = postService.isLiked(UserPrincipal.of(authentication).getId(), id);
         return Map.of("liked", liked);
     }
 
     @PostMapping("/{id}/like")
-    public PostResponse toggleLike(@PathVariable Long id, Authentication authentication) {
-        User user = userRepository.findByEmail(authentication.getName())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    public LikeResponse toggleLike(@PathVariable Long id, Authentication authentication) {
+        User user = UserPrincipal.of(authentication).toUser();
         return postService.toggleLike(id, user);
     }
+
+    // 음수/0은 1로, 너무 큰 값은 상한으로 (이미지 @BatchSize 와 같은 50이 기본)
+    private int clampSize(int size) {
+        return Math.max(1, Math.min(size, maxPageSize));
+    }
+
+    private InteractionStateResponse interactionState(Authentication authentication, List<Long> postIds) {
+        return postService.getInteractionState(UserPrincipal.of(authentication).getId(), postIds);
+    }
+
+    private void applyInteractionState(Authentication authentication, List<PostResponse> posts) {
+        InteractionStateResponse state = interactionState(authentication,
+                posts.stream().map(PostResponse::getId).collect(Collectors.toList()));
+        posts.forEach(p -> {
+            p.setLiked(state.liked(p.getId()));
+            p.setBookmarked(state.bookmarked(p.getId()));
+        });
+    }
+
+    private void applyCardInteractionState(Authentication authentication, List<PostCardResponse> cards) {
+        InteractionStateResponse state = interactionState(authentication,
+                cards.stream().map(PostCardResponse::getId).collect(Collectors.toList()));
+        cards.forEach(c -> {
+            c.setLiked(state.liked(c.getId()));
+            c.setBookmarked(state.bookmarked(c.getId()));
+        });
+    }
 }
@@ -1,70 +1,82 @@
 package com.vgc.controller;
 
+import com.vgc.dto.InteractionStateResponse;
+import com.vgc.dto.PostCardResponse;
 import com.vgc.dto.PostResponse;
 import com.vgc.entity.Post;
-import com.vgc.entity.User;
-import com.vgc.repository.BookmarkRepository;
-import com.vgc.repository.CommentRepository;
 import com.vgc.repository.PostRepository;
-import com.vgc.repository.UserRepository;
+import com.vgc.security.UserPrincipal;
 import com.vgc.service.BookmarkService;
+import com.vgc.service.PostService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
-import java.util.HashSet;
 import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/profile")
 public class ProfileController {
     private final PostRepository postRepository;
-    private final CommentRepository commentRepository;
-    private final UserRepository userRepository;
     private final BookmarkService bookmarkService;
-    private final BookmarkRepository bookmarkRepository;
+    private final PostService postService;
 
-    public ProfileController(PostRepository postRepository, CommentRepository commentRepository,
-                             UserRepository userRepository, BookmarkService bookmarkService,
-                             BookmarkRepository bookmarkRepository) {
+    public ProfileController(PostRepository postRepository, BookmarkService bookmarkService,
+                             PostService postService) {
         this.postRepository = postRepository;
-        this.commentRepository = commentRepository;
-        this.userRepository = userRepository;
         this.bookmarkService = bookmarkService;
-        this.bookmarkRepository = bookmarkRepository;
+        this.postService = postService;
     }
 
     @GetMapping("/posts")
-    public Page<PostResponse> getMyPosts(
+    public Page<?> getMyPosts(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "12") int size,
+            @RequestParam(defaultValue = "full") String view,
             Authentication authentication) {
-        User user = userRepository.findByEmail(authentication.getName())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        Page<Post> posts = postRepository.findByAuthorIdOrderByCreatedAtDesc(user.getId(), PageRequest.of(page, size));
+        UserPrincipal user = UserPrincipal.of(authentication);
+        if ("card".equals(view)) {
+            Page<PostCardResponse> cards = postService.getPostCardsByAuthor(user.getId(), page, size);
+            List<Long> cardIds = cards.getContent().stream().map(PostCardResponse::getId).collect(Collectors.toList());
+            InteractionStateResponse state = postService.getInteractionState(user.getId(), cardIds);
+            cards.forEach(card -> {
+                card.setLiked(state.liked(card.getId()));
+                card.setBookmarked(state.bookmarked(card.getId()));
+            });
+            return cards;
+        }
+        Page<Post> posts = postRepository.fetchPage(postRepository.findPageIdsByAuthorId(user.getId(), PageRequest.of(page, size)));
         List<Long> postIds = posts.getContent().stream().map(Post::getId).collect(Collectors.toList());
-        Map<Long, Long> commentCountMap = commentRepository.countByPostIdIn(postIds).stream()
-                .collect(Collectors.toMap(row -> (Long) row[0], row -> (Long) row[1]));
-        Set<Long> bookmarkedPostIds = new HashSet<>(bookmarkRepository.findPostIdsByUserIdAndPostIdIn(user.getId(), postIds));
+        InteractionStateResponse state = postService.getInteractionState(user.getId(), postIds);
 
         return posts.map(post -> {
-            PostResponse response = PostResponse.from(post, commentCountMap.getOrDefault(post.getId(), 0L).intValue());
-            response.setBookmarked(bookmarkedPostIds.contains(post.getId()));
+            PostResponse response = PostResponse.from(post);
+            response.setLiked(state.liked(post.getId()));
+            response.setBookmarked(state.bookmarked(post.getId()));
             return response;
         });
     }
 
     @GetMapping("/bookmarks")
-    public Page<PostResponse> getMyBookmarks(
+    public Page<?> getMyBookmarks(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "12") int size,
+            @RequestParam(defaultValue = "full") String view,
             Authentication authentication) {
-        User user = userRepository.findByEmail(authentication.getName())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        return bookmarkService.getBookmarkedPosts(user.getId(), PageRequest.of(page, size));
+        UserPrincipal user = UserPrincipal.of(authentication);
+        if ("card".equals(view)) {
+            Page<PostCardResponse> cards = bookmarkService.getBookmarkedPostCards(user.getId(), PageRequest.of(page, size));
+            List<Long> cardIds = cards.getContent().stream().map(PostCardResponse::getId).collect(Collectors.toList());
+            InteractionStateResponse state = postService.getInteractionState(user.getId(), cardIds);
+            cards.forEach(card -> card.setLiked(state.liked(card.getId())));
+            return cards;
+        }
+        Page<PostResponse> posts = bookmarkService.getBookmarkedPosts(user.getId(), PageRequest.of(page, size));
+        List<Long> postIds = posts.getContent().stream().map(PostResponse::getId).collect(Collectors.toList());
+        InteractionStateResponse state = postService.getInteractionState(user.getId(), postIds);
+        posts.forEach(post -> post.setLiked(state.liked(post.getId())));
+        return posts;
     }
 }
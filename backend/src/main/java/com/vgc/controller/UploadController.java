@@ -0,0 +1,197 @@
+package com.vgc.controller;
+
+import com.vgc.service.ContentKeys;
+import com.vgc.service.LocalStorageService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// local 프로필의 /uploads/** 서빙
+// - 내용 해시 원본과 그 변환본 이름만 서빙 (업로드 중인 upload-*.tmp 등 그 외 파일은 404)
+// - 이름이 내용으로 정해져 바뀌지 않으므로 1년 immutable 캐시 + 이름 기반 strong ETag
+// - If-None-Match -> 304, 단일 Range -> 206 (여러 구간 요청은 전체 응답)
+// - If-Range 는 ETag 또는 HTTP-date(Last-Modified 와 초 단위로 같아야 함)로 비교, 다르면 전체 응답
+// - Tomcat sendfile을 쓸 수 있으면 커널에서 바로 전송, 아니면 FileChannel.transferTo
+// - 직접 업로드 모드의 로컬 대체 경로(/api/uploads/local/**)도 처리
+@RestController
+@Profile("local")
+public class UploadController {
+    private static final String CACHE_CONTROL = "public, max-age=31536000, immutable";
+    private static final Pattern CONTENT_KEY = Pattern.compile("^([0-9a-f]{64})(\\.[a-z0-9]{1,5})?$");
+    private static final Pattern RANGE = Pattern.compile("^bytes=(\\d*)-(\\d*)$");
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final UrlPathHelper URL_PATH_HELPER = new UrlPathHelper();
+
+    private final Path uploadPath;
+    private final LocalStorageService localStorageService;
+
+    public UploadController(@Value("${file.upload-dir}") String uploadDir, LocalStorageService localStorageService) {
+        this.uploadPath = Paths.get(uploadDir).toAbsolutePath().normalize();
+        this.localStorageService = localStorageService;
+    }
+
+    // 서명 URL 직접 업로드 (S3 presigned PUT 대체)
+    @PutMapping("/api/uploads/local/{fileName:.+}")
+    public Map<String, String> receive(@PathVariable String fileName,
+                                       @RequestParam String contentType,
+                                       @RequestParam long size,
+                                       @RequestParam long expires,
+                                       @RequestParam String signature,
+                                       HttpServletRequest request) throws IOException {
+        if (!ContentKeys.isContentUrl("/uploads/" + fileName) || !contentType.equals(request.getContentType())) {
+            throw new RuntimeException("유효하지 않은 업로드 요청입니다.");
+        }
+        localStorageService.receive(fileName, contentType, size, expires, signature, request.getInputStream());
+        return Map.of("imageUrl", "/uploads/" + fileName);
+    }
+
+    @RequestMapping(value = "/uploads/**", method = {RequestMethod.GET, RequestMethod.HEAD})
+    public void serve(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String url = URL_PATH_HELPER.getPathWithinApplication(request);
+        if (!ContentKeys.isContentUrl(url) && !ContentKeys.isDerivedUrl(url)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        String fileName = url.substring("/uploads/".length());
+        Path file = uploadPath.resolve(fileName).normalize();
+        if (!file.getParent().equals(uploadPath) || !Files.isRegularFile(file)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        String etag = etag(fileName);
+        long lastModified = Files.getLastModifiedTime(file).toMillis();
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long length = Files.size(file);
+        long start = 0;
+        long end = length - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null && ifRangeMatches(request.getHeader(HttpHeaders.IF_RANGE), etag, lastModified)) {
+            Matcher matcher = RANGE.matcher(range.trim());
+            if (matcher.matches() && !(matcher.group(1).isEmpty() && matcher.group(2).isEmpty())) {
+                if (matcher.group(1).isEmpty()) {
+                    // bytes=-N : 마지막 N 바이트
+                    start = Math.max(0, length - Long.parseLong(matcher.group(2)));
+                } else {
+                    start = Long.parseLong(matcher.group(1));
+                    if (!matcher.group(2).isEmpty()) {
+                        end = Math.min(end, Long.parseLong(matcher.group(2)));
+                    }
+                }
+                if (start >= length || start > end) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    return;
+                }
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+
+        long count = end - start + 1;
+        response.setContentType(MediaTypeFactory.getMediaType(fileName)
+                .orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+        response.setContentLengthLong(count);
+        if ("HEAD".equals(request.getMethod()) || count == 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute("org.apache.tomcat.sendfile.filename", file.toString());
+            request.setAttribute("org.apache.tomcat.sendfile.start", start);
+            request.setAttribute("org.apache.tomcat.sendfile.end", end + 1);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            OutputStream out = response.getOutputStream();
+            WritableByteChannel target = Channels.newChannel(out);
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, target);
+                if (sent <= 0) break;
+                position += sent;
+                remaining -= sent;
+            }
+            out.flush();
+        }
+    }
+
+    // 원본은 내용 해시 그대로, 변환본은 이름의 해시
+    private static String etag(String fileName) {
+        Matcher matcher = CONTENT_KEY.matcher(fileName);
+        if (matcher.matches()) {
+            return "\"" + matcher.group(1) + "\"";
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(fileName.getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // If-Range 는 strong 비교만 허용 - W/ 태그나 해석할 수 없는 값이면 범위를 무시하고 전체 응답
+    private static boolean ifRangeMatches(String ifRange, String etag, long lastModified) {
+        if (ifRange == null) return true;
+        String value = ifRange.trim();
+        if (value.startsWith("\"") || value.startsWith("W/")) {
+            return value.equals(etag);
+        }
+        try {
+            long date = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+            return date / 1000 == lastModified / 1000;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) return false;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) tag = tag.substring(2);
+            if (tag.equals("*") || tag.equals(etag)) return true;
+        }
+        return false;
+    }
+}
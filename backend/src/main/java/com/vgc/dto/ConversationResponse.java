@@ -9,10 +9,13 @@ public class ConversationResponse {
     private Long id;
     private String otherNickname;
     private String lastMessage;
+    private LocalDateTime lastMessageAt;
+    private boolean lastMessageMine;
+    private int unreadCount;
     private LocalDateTime updatedAt;
     private boolean otherLeft;
 
-    public static ConversationResponse from(Conversation conversation, User currentUser, String lastMessage) {
+    public static ConversationResponse from(Conversation conversation, User currentUser) {
         ConversationResponse res = new ConversationResponse();
         res.id = conversation.getId();
 
@@ -20,7 +23,10 @@ public class ConversationResponse {
         User other = isUser1 ? conversation.getUser2() : conversation.getUser1();
         res.otherNickname = other.getNickname();
         res.otherLeft = isUser1 ? conversation.isUser2Left() : conversation.isUser1Left();
-        res.lastMessage = lastMessage;
+        res.lastMessage = conversation.getLastMessagePreview() != null ? conversation.getLastMessagePreview() : "";
+        res.lastMessageAt = conversation.getLastMessageAt();
+        res.lastMessageMine = currentUser.getId().equals(conversation.getLastSenderId());
+        res.unreadCount = isUser1 ? conversation.getUser1UnreadCount() : conversation.getUser2UnreadCount();
         res.updatedAt = conversation.getUpdatedAt();
 
         return res;
@@ -35,6 +41,15 @@ public class ConversationResponse {
     public String getLastMessage() { return lastMessage; }
     public void setLastMessage(String lastMessage) { this.lastMessage = lastMessage; }
 
+    public LocalDateTime getLastMessageAt() { return lastMessageAt; }
+    public void setLastMessageAt(LocalDateTime lastMessageAt) { this.lastMessageAt = lastMessageAt; }
+
+    public boolean isLastMessageMine() { return lastMessageMine; }
+    public void setLastMessageMine(boolean lastMessageMine) { this.lastMessageMine = lastMessageMine; }
+
+    public int getUnreadCount() { return unreadCount; }
+    public void setUnreadCount(int unreadCount) { this.unreadCount = unreadCount; }
+
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
 
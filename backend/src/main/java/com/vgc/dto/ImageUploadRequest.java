@@ -0,0 +1,27 @@
+package com.vgc.dto;
+
+import java.util.List;
+
+// 직접 업로드(서명 URL) 발급 요청 - 파일별 이름/형식/크기/SHA-256
+public class ImageUploadRequest {
+    private List<FileInfo> files;
+
+    public List<FileInfo> getFiles() { return files; }
+    public void setFiles(List<FileInfo> files) { this.files = files; }
+
+    public static class FileInfo {
+        private String fileName;
+        private String contentType;
+        private long size;
+        private String sha256;
+
+        public String getFileName() { return fileName; }
+        public void setFileName(String fileName) { this.fileName = fileName; }
+        public String getContentType() { return contentType; }
+        public void setContentType(String contentType) { this.contentType = contentType; }
+        public long getSize() { return size; }
+        public void setSize(long size) { this.size = size; }
+        public String getSha256() { return sha256; }
+        public void setSha256(String sha256) { this.sha256 = sha256; }
+    }
+}
@@ -0,0 +1,26 @@
+package com.vgc.dto;
+
+import com.vgc.service.ImageStorageService;
+
+import java.util.Map;
+
+public class ImageUploadResponse {
+    private String imageUrl;
+    private String uploadUrl;
+    private Map<String, String> headers;
+    private boolean exists;
+
+    public static ImageUploadResponse from(ImageStorageService.PresignedUpload upload) {
+        ImageUploadResponse response = new ImageUploadResponse();
+        response.imageUrl = upload.imageUrl();
+        response.uploadUrl = upload.uploadUrl();
+        response.headers = upload.headers();
+        response.exists = upload.exists();
+        return response;
+    }
+
+    public String getImageUrl() { return imageUrl; }
+    public String getUploadUrl() { return uploadUrl; }
+    public Map<String, String> getHeaders() { return headers; }
+    public boolean isExists() { return exists; }
+}
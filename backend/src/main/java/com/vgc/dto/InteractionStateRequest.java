@@ -0,0 +1,10 @@
+package com.vgc.dto;
+
+import java.util.List;
+
+public class InteractionStateRequest {
+    private List<Long> postIds;
+
+    public List<Long> getPostIds() { return postIds; }
+    public void setPostIds(List<Long> postIds) { this.postIds = postIds; }
+}
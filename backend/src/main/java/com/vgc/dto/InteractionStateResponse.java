@@ -0,0 +1,19 @@
+package com.vgc.dto;
+
+import java.util.Set;
+
+public class InteractionStateResponse {
+    private Set<Long> likedPostIds;
+    private Set<Long> bookmarkedPostIds;
+
+    public InteractionStateResponse(Set<Long> likedPostIds, Set<Long> bookmarkedPostIds) {
+        this.likedPostIds = likedPostIds;
+        this.bookmarkedPostIds = bookmarkedPostIds;
+    }
+
+    public Set<Long> getLikedPostIds() { return likedPostIds; }
+    public Set<Long> getBookmarkedPostIds() { return bookmarkedPostIds; }
+
+    public boolean liked(Long postId) { return likedPostIds.contains(postId); }
+    public boolean bookmarked(Long postId) { return bookmarkedPostIds.contains(postId); }
+}
@@ -0,0 +1,49 @@
+package com.vgc.dto;
+
+import com.vgc.entity.PostStatus;
+import java.time.LocalDateTime;
+
+// 그리드 타일용 경량 응답 - content, 이미지 목록 없이 JPQL 생성자 표현식으로 바로 생성
+public class PostCardResponse {
+    private Long id;
+    private String title;
+    private String imageUrl;
+    private String thumbnailUrl;
+    private String category;
+    private int likeCount;
+    private int viewCount;
+    private int commentCount;
+    private String status;
+    private LocalDateTime createdAt;
+    private boolean bookmarked;
+    private boolean liked;
+
+    public PostCardResponse(Long id, String title, String imageUrl, String thumbnailUrl, String category,
+                            int likeCount, int viewCount, int commentCount, PostStatus status, LocalDateTime createdAt) {
+        this.id = id;
+        this.title = title;
+        this.imageUrl = imageUrl;
+        this.thumbnailUrl = thumbnailUrl;
+        this.category = category;
+        this.likeCount = likeCount;
+        this.viewCount = viewCount;
+        this.commentCount = commentCount;
+        this.status = status != null ? status.name() : null;
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() { return id; }
+    public String getTitle() { return title; }
+    public String getImageUrl() { return imageUrl; }
+    public String getThumbnailUrl() { return thumbnailUrl; }
+    public String getCategory() { return category; }
+    public int getLikeCount() { return likeCount; }
+    public int getViewCount() { return viewCount; }
+    public int getCommentCount() { return commentCount; }
+    public String getStatus() { return status; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public boolean isBookmarked() { return bookmarked; }
+    public void setBookmarked(boolean bookmarked) { this.bookmarked = bookmarked; }
+    public boolean isLiked() { return liked; }
+    public void setLiked(boolean liked) { this.liked = liked; }
+}
@@ -21,8 +21,10 @@ public class PostResponse {
     private boolean liked;
     private String status;
     private List<String> imageUrls;
+    private String thumbnailUrl;
+    private List<String> imageSrcsets;
 
-    public static PostResponse from(Post post, int commentCount) {
+    public static PostResponse from(Post post) {
         PostResponse response = new PostResponse();
         response.id = post.getId();
         response.title = post.getTitle();
@@ -32,12 +34,17 @@ public class PostResponse {
         response.likeCount = post.getLikeCount();
         response.viewCount = post.getViewCount();
         response.createdAt = post.getCreatedAt();
-        response.commentCount = commentCount;
+        response.commentCount = post.getCommentCount();
         response.authorNickname = post.getAuthor() != null ? post.getAuthor().getNickname() : null;
         response.status = post.getStatus() != null ? post.getStatus().name() : null;
         response.imageUrls = post.getImages() != null
                 ? post.getImages().stream().map(PostImage::getImageUrl).collect(Collectors.toList())
                 : List.of();
+        response.thumbnailUrl = post.getThumbnailUrl();
+        // imageUrls와 같은 순서, 변환 전이면 null
+        response.imageSrcsets = post.getImages() != null
+                ? post.getImages().stream().map(PostImage::getSrcset).collect(Collectors.toList())
+                : List.of();
         return response;
     }
 
@@ -49,6 +56,7 @@ public class PostResponse {
     public String getCategory() { return category; }
     public int getLikeCount() { return likeCount; }
     public int getViewCount() { return viewCount; }
+    public void setViewCount(int viewCount) { this.viewCount = viewCount; }
     public LocalDateTime getCreatedAt() { return createdAt; }
     public int getCommentCount() { return commentCount; }
     public String getAuthorNickname() { return authorNickname; }
@@ -60,4 +68,6 @@ public class PostResponse {
     public void setStatus(String status) { this.status = status; }
     public List<String> getImageUrls() { return imageUrls; }
     public void setImageUrls(List<String> imageUrls) { this.imageUrls = imageUrls; }
+    public String getThumbnailUrl() { return thumbnailUrl; }
+    public List<String> getImageSrcsets() { return imageSrcsets; }
 }
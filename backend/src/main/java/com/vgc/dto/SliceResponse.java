@@ -0,0 +1,19 @@
+package com.vgc.dto;
+
+import java.util.List;
+
+public class SliceResponse<T> {
+    private List<T> content;
+    private String nextCursor;
+    private boolean hasNext;
+
+    public SliceResponse(List<T> content, String nextCursor, boolean hasNext) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.hasNext = hasNext;
+    }
+
+    public List<T> getContent() { return content; }
+    public String getNextCursor() { return nextCursor; }
+    public boolean isHasNext() { return hasNext; }
+}
@@ -1,9 +1,11 @@
 package com.vgc.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 import java.time.LocalDateTime;
 
 @Entity
+@DynamicUpdate
 @Table(name = "conversations",
         uniqueConstraints = @UniqueConstraint(columnNames = {"user1_id", "user2_id"}),
         indexes = {
@@ -13,6 +15,8 @@ import java.time.LocalDateTime;
         })
 public class Conversation {
 
+    public static final int PREVIEW_LENGTH = 100;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -35,6 +39,27 @@ public class Conversation {
 
     private LocalDateTime updatedAt;
 
+    // 목록 화면용 마지막 메시지 요약 (메시지 전송/나가기 시 갱신)
+    @Column(length = 200)
+    private String lastMessagePreview;
+
+    private LocalDateTime lastMessageAt;
+
+    private Long lastSenderId;
+
+    private Long lastMessageId;
+
+    // 참여자별 읽음 위치와 안 읽은 메시지 수 (증가/초기화는 ConversationRepository의 상대 갱신으로만)
+    private Long user1LastReadMessageId;
+
+    private Long user2LastReadMessageId;
+
+    @Column(nullable = false)
+    private int user1UnreadCount = 0;
+
+    @Column(nullable = false)
+    private int user2UnreadCount = 0;
+
     @PrePersist
     protected void onCreate() {
         this.createdAt = LocalDateTime.now();
@@ -61,4 +86,40 @@ public class Conversation {
 
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    public String getLastMessagePreview() { return lastMessagePreview; }
+    public void setLastMessagePreview(String lastMessagePreview) { this.lastMessagePreview = lastMessagePreview; }
+
+    public LocalDateTime getLastMessageAt() { return lastMessageAt; }
+    public void setLastMessageAt(LocalDateTime lastMessageAt) { this.lastMessageAt = lastMessageAt; }
+
+    public Long getLastSenderId() { return lastSenderId; }
+    public void setLastSenderId(Long lastSenderId) { this.lastSenderId = lastSenderId; }
+
+    public Long getLastMessageId() { return lastMessageId; }
+    public void setLastMessageId(Long lastMessageId) { this.lastMessageId = lastMessageId; }
+
+    public Long getUser1LastReadMessageId() { return user1LastReadMessageId; }
+    public void setUser1LastReadMessageId(Long user1LastReadMessageId) { this.user1LastReadMessageId = user1LastReadMessageId; }
+
+    public Long getUser2LastReadMessageId() { return user2LastReadMessageId; }
+    public void setUser2LastReadMessageId(Long user2LastReadMessageId) { this.user2LastReadMessageId = user2LastReadMessageId; }
+
+    public int getUser1UnreadCount() { return user1UnreadCount; }
+    public void setUser1UnreadCount(int user1UnreadCount) { this.user1UnreadCount = user1UnreadCount; }
+
+    public int getUser2UnreadCount() { return user2UnreadCount; }
+    public void setUser2UnreadCount(int user2UnreadCount) { this.user2UnreadCount = user2UnreadCount; }
+
+    public static String preview(String content) {
+        return content.length() > PREVIEW_LENGTH ? content.substring(0, PREVIEW_LENGTH) : content;
+    }
+
+    public void recordLastMessage(Message message) {
+        this.lastMessagePreview = preview(message.getContent());
+        this.lastMessageAt = message.getCreatedAt();
+        this.lastSenderId = message.getSender() != null ? message.getSender().getId() : null;
+        this.lastMessageId = message.getId();
+        this.updatedAt = message.getCreatedAt();
+    }
 }
@@ -10,6 +10,8 @@ import java.time.LocalDateTime;
         })
 public class Message {
 
+    public static final int MAX_CONTENT_LENGTH = 2000;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -22,7 +24,7 @@ public class Message {
     @JoinColumn(name = "sender_id")
     private User sender;
 
-    @Column(nullable = false, length = 2000)
+    @Column(nullable = false, length = MAX_CONTENT_LENGTH)
     private String content;
 
     @Column(nullable = false)
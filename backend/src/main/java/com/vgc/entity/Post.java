@@ -1,15 +1,23 @@
 package com.vgc.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.DynamicUpdate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@DynamicUpdate
 @Table(name = "posts", indexes = {
-    @Index(name = "idx_posts_category_status", columnList = "category, status"),
+    @Index(name = "idx_posts_category_status", columnList = "category, status, createdAt DESC, id DESC"),
+    @Index(name = "idx_posts_category_created", columnList = "category, createdAt DESC, id DESC"),
     @Index(name = "idx_posts_author_created", columnList = "author_id, createdAt DESC"),
-    @Index(name = "idx_posts_created", columnList = "createdAt DESC")
+    @Index(name = "idx_posts_created", columnList = "createdAt DESC, id DESC"),
+    @Index(name = "idx_posts_like", columnList = "likeCount DESC, id DESC"),
+    @Index(name = "idx_posts_view", columnList = "viewCount DESC, id DESC"),
+    @Index(name = "idx_posts_comment", columnList = "commentCount DESC, id DESC"),
+    @Index(name = "idx_posts_image_url", columnList = "imageUrl")
 })
 public class Post {
     @Id
@@ -24,6 +32,9 @@ public class Post {
 
     private String imageUrl;
 
+    // 대표 이미지의 그리드 썸네일 (PostImage.thumbnailUrl 복사)
+    private String thumbnailUrl;
+
     @Column(nullable = false)
     private String category;
 
@@ -36,11 +47,16 @@ public class Post {
 
     @OneToMany(mappedBy = "post", cascade = CascadeType.ALL, orphanRemoval = true)
     @OrderBy("sortOrder ASC")
+    @BatchSize(size = 50)
     private List<PostImage> images = new ArrayList<>();
 
     private int likeCount = 0;
     private int viewCount = 0;
 
+    // 댓글 작성 시 원자적으로 증가, CommentCountReconciler가 주기적으로 보정
+    @Column(nullable = false)
+    private int commentCount = 0;
+
     private LocalDateTime createdAt;
 
     @PrePersist
@@ -57,12 +73,16 @@ public class Post {
     public void setContent(String content) { this.content = content; }
     public String getImageUrl() { return imageUrl; }
     public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
+    public String getThumbnailUrl() { return thumbnailUrl; }
+    public void setThumbnailUrl(String thumbnailUrl) { this.thumbnailUrl = thumbnailUrl; }
     public String getCategory() { return category; }
     public void setCategory(String category) { this.category = category; }
     public int getLikeCount() { return likeCount; }
     public void setLikeCount(int likeCount) { this.likeCount = likeCount; }
     public int getViewCount() { return viewCount; }
     public void setViewCount(int viewCount) { this.viewCount = viewCount; }
+    public int getCommentCount() { return commentCount; }
+    public void setCommentCount(int commentCount) { this.commentCount = commentCount; }
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
     public PostStatus getStatus() { return status; }
@@ -4,7 +4,9 @@ import jakarta.persistence.*;
 
 @Entity
 @Table(name = "post_images", indexes = {
-    @Index(name = "idx_post_images_post_sort", columnList = "post_id, sortOrder")
+    @Index(name = "idx_post_images_post_sort", columnList = "post_id, sortOrder"),
+    @Index(name = "idx_post_images_url", columnList = "imageUrl"),
+    @Index(name = "idx_post_images_thumbnail", columnList = "thumbnailUrl")
 })
 public class PostImage {
     @Id
@@ -18,6 +20,13 @@ public class PostImage {
     @Column(nullable = false)
     private String imageUrl;
 
+    // ImageVariantProcessor가 비동기로 채움, 처리 전에는 null
+    private String thumbnailUrl;
+
+    // 폭별 변환본 - "url 640w, url 1280w" 형식
+    @Column(length = 1000)
+    private String srcset;
+
     private int sortOrder;
 
     public PostImage() {}
@@ -34,6 +43,10 @@ public class PostImage {
     public void setPost(Post post) { this.post = post; }
     public String getImageUrl() { return imageUrl; }
     public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
+    public String getThumbnailUrl() { return thumbnailUrl; }
+    public void setThumbnailUrl(String thumbnailUrl) { this.thumbnailUrl = thumbnailUrl; }
+    public String getSrcset() { return srcset; }
+    public void setSrcset(String srcset) { this.srcset = srcset; }
     public int getSortOrder() { return sortOrder; }
     public void setSortOrder(int sortOrder) { this.sortOrder = sortOrder; }
 }
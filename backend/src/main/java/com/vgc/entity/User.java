@@ -1,10 +1,12 @@
 package com.vgc.entity;
 
+import com.vgc.security.UserPrincipalInvalidator;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "users")
+@EntityListeners(UserPrincipalInvalidator.class)
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -23,6 +25,11 @@ public class User {
 
     private LocalDateTime createdAt;
 
+    // 참여 중인 모든 대화의 안 읽은 메시지 합계 - 대화별 카운터와 같은 트랜잭션에서 UPDATE 로만 증감
+    // 엔티티 저장으로 덮어쓰지 않도록 updatable = false, null 이면 아직 백필 전
+    @Column(updatable = false)
+    private Integer unreadTotal = 0;
+
     @PrePersist
     protected void onCreate() {
         this.createdAt = LocalDateTime.now();
@@ -40,4 +47,5 @@ public class User {
     public void setRole(String role) { this.role = role; }
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    public Integer getUnreadTotal() { return unreadTotal; }
 }
@@ -1,5 +1,6 @@
 package com.vgc.repository;
 
+import com.vgc.dto.PostCardResponse;
 import com.vgc.entity.Bookmark;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -14,6 +15,10 @@ public interface BookmarkRepository extends JpaRepository<Bookmark, Long> {
     void deleteByPostId(Long postId);
     Page<Bookmark> findByUserIdOrderByCreatedAtDesc(Long userId, Pageable pageable);
 
+    @Query(value = "SELECT new com.vgc.dto.PostCardResponse(p.id, p.title, p.imageUrl, p.thumbnailUrl, p.category, p.likeCount, p.viewCount, p.commentCount, p.status, p.createdAt) FROM Bookmark b JOIN b.post p WHERE b.user.id = :userId ORDER BY b.createdAt DESC",
+            countQuery = "SELECT COUNT(b) FROM Bookmark b WHERE b.user.id = :userId")
+    Page<PostCardResponse> findCardsByUserId(@Param("userId") Long userId, Pageable pageable);
+
     @Query("SELECT b.post.id FROM Bookmark b WHERE b.user.id = :userId AND b.post.id IN :postIds")
     List<Long> findPostIdsByUserIdAndPostIdIn(@Param("userId") Long userId, @Param("postIds") List<Long> postIds);
 }
@@ -2,10 +2,15 @@ package com.vgc.repository;
 
 import com.vgc.entity.Conversation;
 import com.vgc.entity.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,6 +18,67 @@ public interface ConversationRepository extends JpaRepository<Conversation, Long
 
     Optional<Conversation> findByUser1AndUser2(User user1, User user2);
 
-    @Query("SELECT c FROM Conversation c WHERE (c.user1 = :user AND c.user1Left = false) OR (c.user2 = :user AND c.user2Left = false) ORDER BY c.updatedAt DESC")
+    @Query("SELECT c FROM Conversation c JOIN FETCH c.user1 JOIN FETCH c.user2 " +
+            "WHERE (c.user1 = :user AND c.user1Left = false) OR (c.user2 = :user AND c.user2Left = false) " +
+            "ORDER BY c.updatedAt DESC")
     List<Conversation> findActiveByUser(@Param("user") User user);
+
+    @Query("SELECT c FROM Conversation c JOIN FETCH c.user1 JOIN FETCH c.user2 WHERE c.id = :id")
+    Optional<Conversation> findWithUsersById(@Param("id") Long id);
+
+    // 읽음 처리/나가기에서 카운터 값을 읽고 사용자 합계를 차감하는 동안 동시 증가를 막음
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Conversation c WHERE c.id = :id")
+    Optional<Conversation> findForUpdateById(@Param("id") Long id);
+
+    // 엔티티를 읽지 않고 마지막 메시지 요약 갱신 (더 최신 메시지가 이미 반영됐으면 무시)
+    @Modifying
+    @Query("UPDATE Conversation c SET c.updatedAt = :at, c.lastMessageAt = :at, c.lastMessagePreview = :preview, " +
+            "c.lastSenderId = :senderId, c.lastMessageId = :messageId " +
+            "WHERE c.id = :id AND (c.lastMessageId IS NULL OR c.lastMessageId < :messageId)")
+    int updateLastMessage(@Param("id") Long id, @Param("preview") String preview, @Param("at") LocalDateTime at,
+                          @Param("senderId") Long senderId, @Param("messageId") Long messageId);
+
+    // 캐시된 상태가 늦어 나간 수신자에게 보낸 경우에도 카운터가 늘지 않도록 나감 여부를 다시 확인
+    @Modifying
+    @Query("UPDATE Conversation c SET c.user1UnreadCount = c.user1UnreadCount + 1 WHERE c.id = :id AND c.user1Left = false")
+    int incrementUser1Unread(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE Conversation c SET c.user2UnreadCount = c.user2UnreadCount + 1 WHERE c.id = :id AND c.user2Left = false")
+    int incrementUser2Unread(@Param("id") Long id);
+
+    // 읽음 위치는 앞으로만 이동, 마지막 메시지까지 읽었을 때만 카운터를 0으로
+    @Modifying
+    @Query("UPDATE Conversation c SET c.user1LastReadMessageId = :messageId, " +
+            "c.user1UnreadCount = CASE WHEN c.lastMessageId <= :messageId THEN 0 ELSE c.user1UnreadCount END " +
+            "WHERE c.id = :id AND (c.user1LastReadMessageId IS NULL OR c.user1LastReadMessageId < :messageId)")
+    int markReadUser1(@Param("id") Long id, @Param("messageId") Long messageId);
+
+    @Modifying
+    @Query("UPDATE Conversation c SET c.user2LastReadMessageId = :messageId, " +
+            "c.user2UnreadCount = CASE WHEN c.lastMessageId <= :messageId THEN 0 ELSE c.user2UnreadCount END " +
+            "WHERE c.id = :id AND (c.user2LastReadMessageId IS NULL OR c.user2LastReadMessageId < :messageId)")
+    int markReadUser2(@Param("id") Long id, @Param("messageId") Long messageId);
+
+    @Query("SELECT CASE WHEN c.user1.id = :userId THEN c.user1UnreadCount ELSE c.user2UnreadCount END " +
+            "FROM Conversation c WHERE c.id = :id")
+    Integer findUnreadCount(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Query("SELECT COALESCE(SUM(CASE WHEN c.user1.id = :userId THEN c.user1UnreadCount ELSE c.user2UnreadCount END), 0) " +
+            "FROM Conversation c " +
+            "WHERE (c.user1.id = :userId AND c.user1Left = false) OR (c.user2.id = :userId AND c.user2Left = false)")
+    long sumUnreadByUserId(@Param("userId") Long userId);
+
+    // 컬럼 추가 이전에 생성된 대화의 마지막 메시지 요약 채우기
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE conversations c SET " +
+            "c.last_message_preview = (SELECT LEFT(m.content, " + Conversation.PREVIEW_LENGTH + ") FROM messages m WHERE m.conversation_id = c.id ORDER BY m.created_at DESC, m.id DESC LIMIT 1), " +
+            "c.last_message_id = (SELECT m.id FROM messages m WHERE m.conversation_id = c.id ORDER BY m.created_at DESC, m.id DESC LIMIT 1), " +
+            "c.last_sender_id = (SELECT m.sender_id FROM messages m WHERE m.conversation_id = c.id ORDER BY m.created_at DESC, m.id DESC LIMIT 1), " +
+            "c.last_message_at = (SELECT MAX(m.created_at) FROM messages m WHERE m.conversation_id = c.id) " +
+            "WHERE c.last_message_id IS NULL AND EXISTS (SELECT 1 FROM messages m WHERE m.conversation_id = c.id)",
+            nativeQuery = true)
+    int backfillLastMessages();
 }
@@ -2,13 +2,30 @@ package com.vgc.repository;
 
 import com.vgc.entity.Conversation;
 import com.vgc.entity.Message;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface MessageRepository extends JpaRepository<Message, Long> {
 
-    List<Message> findByConversationOrderByCreatedAtAsc(Conversation conversation);
+    // 최신순 대화 기록 (idx_msg_conv_created 인덱스 사용)
+    @EntityGraph(attributePaths = "sender")
+    @Query("SELECT m FROM Message m WHERE m.conversation.id = :conversationId ORDER BY m.createdAt DESC, m.id DESC")
+    List<Message> findLatest(@Param("conversationId") Long conversationId, Pageable pageable);
+
+    @EntityGraph(attributePaths = "sender")
+    @Query("SELECT m FROM Message m WHERE m.conversation.id = :conversationId " +
+            "AND (m.createdAt < :createdAt OR (m.createdAt = :createdAt AND m.id < :id)) " +
+            "ORDER BY m.createdAt DESC, m.id DESC")
+    List<Message> findBefore(@Param("conversationId") Long conversationId,
+                             @Param("createdAt") LocalDateTime createdAt,
+                             @Param("id") Long id,
+                             Pageable pageable);
 
     void deleteByConversation(Conversation conversation);
 }
@@ -0,0 +1,13 @@
+package com.vgc.repository;
+
+import com.vgc.dto.PostCardResponse;
+import com.vgc.entity.PostStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+// 그리드 카드 projection keyset 스크롤 (category/status 는 null 이면 조건 없음)
+public interface PostCardWindowRepository {
+    Window<PostCardResponse> findCardWindow(String category, PostStatus status, ScrollPosition position, Sort sort, Limit limit);
+}
@@ -0,0 +1,93 @@
+package com.vgc.repository;
+
+import com.vgc.dto.PostCardResponse;
+import com.vgc.entity.PostStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+// Spring Data 의 keyset 스크롤은 다음 위치를 엔티티에서만 읽어 DTO projection 을 지원하지 않으므로
+// "(k1 < :k1) OR (k1 = :k1 AND k2 < :k2)" 조건을 정렬 순서대로 직접 구성
+class PostCardWindowRepositoryImpl implements PostCardWindowRepository {
+    private static final String SELECT = "SELECT new com.vgc.dto.PostCardResponse(p.id, p.title, p.imageUrl, p.thumbnailUrl, p.category, p.likeCount, p.viewCount, p.commentCount, p.status, p.createdAt) FROM Post p WHERE 1 = 1";
+    private static final Pattern PROPERTY = Pattern.compile("^[A-Za-z]+$");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Window<PostCardResponse> findCardWindow(String category, PostStatus status, ScrollPosition position,
+                                                   Sort sort, Limit limit) {
+        List<Sort.Order> orders = sort.toList();
+        Map<String, Object> keys = ((KeysetScrollPosition) position).getKeys();
+        Map<String, Object> params = new HashMap<>();
+
+        StringBuilder jpql = new StringBuilder(SELECT);
+        if (category != null) {
+            jpql.append(" AND p.category = :category");
+            params.put("category", category);
+        }
+        if (status != null) {
+            jpql.append(" AND p.status = :status");
+            params.put("status", status);
+        }
+        if (!keys.isEmpty()) {
+            List<String> clauses = new ArrayList<>();
+            for (int i = 0; i < orders.size(); i++) {
+                StringBuilder clause = new StringBuilder("(");
+                for (int j = 0; j < i; j++) {
+                    clause.append("p.").append(property(orders.get(j))).append(" = :k").append(j).append(" AND ");
+                }
+                Sort.Order order = orders.get(i);
+                clause.append("p.").append(property(order)).append(order.isAscending() ? " > :k" : " < :k").append(i).append(")");
+                clauses.add(clause.toString());
+                params.put("k" + i, keys.get(order.getProperty()));
+            }
+            jpql.append(" AND (").append(String.join(" OR ", clauses)).append(")");
+        }
+        jpql.append(" ORDER BY ");
+        for (int i = 0; i < orders.size(); i++) {
+            Sort.Order order = orders.get(i);
+            jpql.append(i > 0 ? ", " : "").append("p.").append(property(order)).append(order.isAscending() ? " ASC" : " DESC");
+        }
+
+        TypedQuery<PostCardResponse> query = entityManager.createQuery(jpql.toString(), PostCardResponse.class);
+        params.forEach(query::setParameter);
+        // 한 건 더 읽어 다음 페이지 여부 판단
+        query.setMaxResults(limit.max() + 1);
+        List<PostCardResponse> rows = query.getResultList();
+
+        boolean hasNext = rows.size() > limit.max();
+        List<PostCardResponse> content = hasNext ? rows.subList(0, limit.max()) : rows;
+        return Window.from(content, index -> positionOf(content.get(index), orders), hasNext);
+    }
+
+    private static ScrollPosition positionOf(PostCardResponse card, List<Sort.Order> orders) {
+        BeanWrapperImpl wrapper = new BeanWrapperImpl(card);
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (Sort.Order order : orders) {
+            keys.put(order.getProperty(), wrapper.getPropertyValue(order.getProperty()));
+        }
+        return ScrollPosition.forward(keys);
+    }
+
+    private static String property(Sort.Order order) {
+        if (!PROPERTY.matcher(order.getProperty()).matches()) {
+            throw new IllegalArgumentException("Invalid sort property: " + order.getProperty());
+        }
+        return order.getProperty();
+    }
+}
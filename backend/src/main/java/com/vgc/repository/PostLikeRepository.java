@@ -2,10 +2,27 @@ package com.vgc.repository;
 
 import com.vgc.entity.PostLike;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 
 public interface PostLikeRepository extends JpaRepository<PostLike, Long> {
     boolean existsByUserIdAndPostId(Long userId, Long postId);
     void deleteByUserIdAndPostId(Long userId, Long postId);
     void deleteByPostId(Long postId);
     int countByPostId(Long postId);
+
+    @Query("SELECT l.post.id FROM PostLike l WHERE l.user.id = :userId AND l.post.id IN :postIds")
+    List<Long> findPostIdsByUserIdAndPostIdIn(@Param("userId") Long userId, @Param("postIds") List<Long> postIds);
+
+    // (user_id, post_id) 유니크 제약에 기대어 중복이면 무시 - 삽입된 행 수 반환
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO post_likes (user_id, post_id, created_at) VALUES (:userId, :postId, NOW(6))", nativeQuery = true)
+    int insertIgnore(@Param("userId") Long userId, @Param("postId") Long postId);
+
+    @Modifying
+    @Query("DELETE FROM PostLike l WHERE l.user.id = :userId AND l.post.id = :postId")
+    int deleteLike(@Param("userId") Long userId, @Param("postId") Long postId);
 }
@@ -1,22 +1,111 @@
 package com.vgc.repository;
 
+import com.vgc.dto.PostCardResponse;
 import com.vgc.entity.Post;
 import com.vgc.entity.PostStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
-public interface PostRepository extends JpaRepository<Post, Long> {
-    @EntityGraph(attributePaths = {"author", "images"})
-    Page<Post> findAll(Pageable pageable);
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
-    @EntityGraph(attributePaths = {"author", "images"})
-    Page<Post> findByCategory(String category, Pageable pageable);
+public interface PostRepository extends JpaRepository<Post, Long>, PostCardWindowRepository {
+    // 1단계: SQL LIMIT 으로 id만 페이징 (컬렉션 fetch join 시 메모리 페이징 방지)
+    @Query(value = "SELECT p.id FROM Post p",
+            countQuery = "SELECT COUNT(p) FROM Post p")
+    Page<Long> findPageIds(Pageable pageable);
 
-    @EntityGraph(attributePaths = {"author", "images"})
-    Page<Post> findByCategoryAndStatus(String category, PostStatus status, Pageable pageable);
+    @Query(value = "SELECT p.id FROM Post p WHERE p.category = :category",
+            countQuery = "SELECT COUNT(p) FROM Post p WHERE p.category = :category")
+    Page<Long> findPageIdsByCategory(@Param("category") String category, Pageable pageable);
+
+    @Query(value = "SELECT p.id FROM Post p WHERE p.category = :category AND p.status = :status",
+            countQuery = "SELECT COUNT(p) FROM Post p WHERE p.category = :category AND p.status = :status")
+    Page<Long> findPageIdsByCategoryAndStatus(@Param("category") String category, @Param("status") PostStatus status, Pageable pageable);
+
+    @Query(value = "SELECT p.id FROM Post p WHERE p.author.id = :authorId ORDER BY p.createdAt DESC",
+            countQuery = "SELECT COUNT(p) FROM Post p WHERE p.author.id = :authorId")
+    Page<Long> findPageIdsByAuthorId(@Param("authorId") Long authorId, Pageable pageable);
 
+    // 2단계: 해당 페이지의 id 에 대해서만 작성자/이미지 일괄 로딩
     @EntityGraph(attributePaths = {"author", "images"})
-    Page<Post> findByAuthorIdOrderByCreatedAtDesc(Long authorId, Pageable pageable);
+    List<Post> findByIdIn(Collection<Long> ids);
+
+    default Page<Post> fetchPage(Page<Long> ids) {
+        if (ids.isEmpty()) {
+            return new PageImpl<>(List.of(), ids.getPageable(), ids.getTotalElements());
+        }
+        Map<Long, Post> byId = findByIdIn(ids.getContent()).stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+        List<Post> posts = ids.getContent().stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return new PageImpl<>(posts, ids.getPageable(), ids.getTotalElements());
+    }
+
+    // 그리드 카드용 projection - 필요한 컬럼만 조회, 영속성 컨텍스트에 엔티티를 올리지 않음
+    @Query(value = "SELECT new com.vgc.dto.PostCardResponse(p.id, p.title, p.imageUrl, p.thumbnailUrl, p.category, p.likeCount, p.viewCount, p.commentCount, p.status, p.createdAt) FROM Post p",
+            countQuery = "SELECT COUNT(p) FROM Post p")
+    Page<PostCardResponse> findCards(Pageable pageable);
+
+    @Query(value = "SELECT new com.vgc.dto.PostCardResponse(p.id, p.title, p.imageUrl, p.thumbnailUrl, p.category, p.likeCount, p.viewCount, p.commentCount, p.status, p.createdAt) FROM Post p WHERE p.category = :category",
+            countQuery = "SELECT COUNT(p) FROM Post p WHERE p.category = :category")
+    Page<PostCardResponse> findCardsByCategory(@Param("category") String category, Pageable pageable);
+
+    @Query(value = "SELECT new com.vgc.dto.PostCardResponse(p.id, p.title, p.imageUrl, p.thumbnailUrl, p.category, p.likeCount, p.viewCount, p.commentCount, p.status, p.createdAt) FROM Post p WHERE p.category = :category AND p.status = :status",
+            countQuery = "SELECT COUNT(p) FROM Post p WHERE p.category = :category AND p.status = :status")
+    Page<PostCardResponse> findCardsByCategoryAndStatus(@Param("category") String category, @Param("status") PostStatus status, Pageable pageable);
+
+    @Query(value = "SELECT new com.vgc.dto.PostCardResponse(p.id, p.title, p.imageUrl, p.thumbnailUrl, p.category, p.likeCount, p.viewCount, p.commentCount, p.status, p.createdAt) FROM Post p WHERE p.author.id = :authorId ORDER BY p.createdAt DESC",
+            countQuery = "SELECT COUNT(p) FROM Post p WHERE p.author.id = :authorId")
+    Page<PostCardResponse> findCardsByAuthorId(@Param("authorId") Long authorId, Pageable pageable);
+
+    @Query("SELECT p.commentCount FROM Post p WHERE p.id = :id")
+    Integer findCommentCountById(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE Post p SET p.commentCount = p.commentCount + 1 WHERE p.id = :id")
+    int incrementCommentCount(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE Post p SET p.likeCount = p.likeCount + :delta WHERE p.id = :id")
+    int addLikeCount(@Param("id") Long id, @Param("delta") int delta);
+
+    @Query("SELECT p.likeCount, p.category FROM Post p WHERE p.id = :id")
+    List<Object[]> findLikeCountAndCategoryById(@Param("id") Long id);
+
+    @Query("SELECT MAX(p.id) FROM Post p")
+    Long findMaxId();
+
+    // 댓글 테이블 기준으로 id 구간의 commentCount 재계산
+    @Transactional
+    @Modifying
+    @Query("UPDATE Post p SET p.commentCount = (SELECT COUNT(c) FROM Comment c WHERE c.post.id = p.id) WHERE p.id >= :fromId AND p.id < :toId")
+    int reconcileCommentCounts(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    // keyset 스크롤 - count 쿼리 없이 limit + 1 로 다음 페이지 여부 판단
+    @EntityGraph(attributePaths = {"author"})
+    Window<Post> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    @EntityGraph(attributePaths = {"author"})
+    Window<Post> findByCategory(String category, ScrollPosition position, Sort sort, Limit limit);
+
+    @EntityGraph(attributePaths = {"author"})
+    Window<Post> findByCategoryAndStatus(String category, PostStatus status, ScrollPosition position, Sort sort, Limit limit);
 }
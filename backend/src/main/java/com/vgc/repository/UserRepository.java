@@ -2,6 +2,10 @@ package com.vgc.repository;
 
 import com.vgc.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -9,4 +13,32 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
     Optional<User> findByNickname(String nickname);
+
+    @Query("SELECT u.unreadTotal FROM User u WHERE u.id = :id")
+    Integer findUnreadTotalById(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE User u SET u.unreadTotal = u.unreadTotal + :delta WHERE u.id = :id")
+    int addUnreadTotal(@Param("id") Long id, @Param("delta") int delta);
+
+    // 대화 카운터와 같은 조건(수신자가 나가지 않음)일 때만 1 증가 - MessagePipeline 의 USER1/2_TOTAL_SQL 과 같은 조건
+    @Modifying
+    @Query("UPDATE User u SET u.unreadTotal = u.unreadTotal + 1 WHERE u.id = :id AND EXISTS " +
+            "(SELECT 1 FROM Conversation c WHERE c.id = :conversationId AND c.user1Left = false)")
+    int incrementUnreadTotalAsUser1(@Param("id") Long id, @Param("conversationId") Long conversationId);
+
+    @Modifying
+    @Query("UPDATE User u SET u.unreadTotal = u.unreadTotal + 1 WHERE u.id = :id AND EXISTS " +
+            "(SELECT 1 FROM Conversation c WHERE c.id = :conversationId AND c.user2Left = false)")
+    int incrementUnreadTotalAsUser2(@Param("id") Long id, @Param("conversationId") Long conversationId);
+
+    // 컬럼 추가 이전에 가입한 사용자의 합계 채우기 (나간 대화는 제외)
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.unreadTotal = (" +
+            "SELECT COALESCE(SUM(CASE WHEN c.user1.id = u.id THEN c.user1UnreadCount ELSE c.user2UnreadCount END), 0) " +
+            "FROM Conversation c " +
+            "WHERE (c.user1.id = u.id AND c.user1Left = false) OR (c.user2.id = u.id AND c.user2Left = false)) " +
+            "WHERE u.unreadTotal IS NULL")
+    int backfillUnreadTotals();
 }
@@ -0,0 +1,66 @@
+package com.vgc.security;
+
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// 만료 시각이 있는 상한 캐시 - 조회/저장은 ConcurrentHashMap 그대로라 전역 락이 없음
+// 상한에 닿으면 한 스레드만 만료 항목을 지우고, 그래도 많으면 상한의 90% 까지 임의 항목을 한 번에 덜어냄
+// (매 저장마다 전체를 훑지 않도록 정리 비용을 max/10 번의 저장에 나눔)
+class ExpiringCache<K, V> {
+
+    private record Entry<V>(V value, long expiresAt) {}
+
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final AtomicBoolean trimming = new AtomicBoolean();
+    private final int maxEntries;
+    private final int trimTo;
+
+    ExpiringCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.trimTo = maxEntries - Math.max(1, maxEntries / 10);
+    }
+
+    V get(K key, long now) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) return null;
+        if (entry.expiresAt() > now) return entry.value();
+        entries.remove(key, entry);
+        return null;
+    }
+
+    void put(K key, V value, long expiresAt, long now) {
+        if (maxEntries <= 0) return;
+        if (entries.size() >= maxEntries) {
+            trim(now);
+        }
+        entries.put(key, new Entry<>(value, expiresAt));
+    }
+
+    void remove(K key) {
+        entries.remove(key);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    Set<K> keys() {
+        return Set.copyOf(entries.keySet());
+    }
+
+    private void trim(long now) {
+        if (!trimming.compareAndSet(false, true)) return;
+        try {
+            entries.values().removeIf(entry -> entry.expiresAt() <= now);
+            Iterator<K> it = entries.keySet().iterator();
+            while (entries.size() > trimTo && it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        } finally {
+            trimming.set(false);
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.vgc.security;
 
+import com.vgc.entity.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -8,45 +10,72 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
+import java.util.HexFormat;
 
 @Component
 public class JwtUtil {
 
     private final SecretKey key;
+    private final JwtParser parser;
+    // 토큰 원문 대신 SHA-256 해시를 키로 - 힙 덤프에 유효한 토큰이 남지 않도록
+    private final ExpiringCache<String, Claims> verified;
     private static final long EXPIRATION_MS = 30L * 24 * 60 * 60 * 1000; // 30 days
 
-    public JwtUtil(@Value("${jwt.secret}") String secret) {
+    public JwtUtil(@Value("${jwt.secret}") String secret,
+                   @Value("${vgc.jwt.claims-cache.max-entries:10000}") int maxCachedTokens) {
         this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        // 파서는 thread-safe 하므로 한 번만 만들어 재사용
+        this.parser = Jwts.parser().verifyWith(key).build();
+        this.verified = new ExpiringCache<>(maxCachedTokens);
     }
 
-    public String generateToken(String email) {
+    public String generateToken(User user) {
         return Jwts.builder()
-                .subject(email)
+                .subject(user.getEmail())
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + EXPIRATION_MS))
                 .signWith(key)
                 .compact();
     }
 
-    public String extractEmail(String token) {
-        return getClaims(token).getSubject();
-    }
+    // 서명 검증을 한 번만 수행하고 claims 반환, 유효하지 않으면 null
+    // 검증된 토큰은 exp 까지 캐시해서 같은 토큰의 반복 요청은 HMAC 검증을 건너뜀
+    public Claims parseClaims(String token) {
+        String cacheKey = hash(token);
+        long now = System.currentTimeMillis();
+        Claims cached = verified.get(cacheKey, now);
+        if (cached != null) {
+            return cached;
+        }
 
-    public boolean validateToken(String token) {
+        Claims claims;
         try {
-            getClaims(token);
-            return true;
+            claims = parser.parseSignedClaims(token).getPayload();
         } catch (Exception e) {
-            return false;
+            return null;
+        }
+
+        Date expiration = claims.getExpiration();
+        if (expiration != null) {
+            // 상한에 닿으면 만료분과 일부 항목을 한 번에 덜어내 매 저장마다 전체를 훑지 않음
+            verified.put(cacheKey, claims, expiration.getTime(), now);
         }
+        return claims;
     }
 
-    private Claims getClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    int cachedTokens() {
+        return verified.size();
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 }
@@ -0,0 +1,13 @@
+package com.vgc.security;
+
+// 사용자 정보가 바뀌거나 삭제됨 - 커밋 후 principal 캐시 무효화
+public class UserChangedEvent {
+
+    private final String email;
+
+    public UserChangedEvent(String email) {
+        this.email = email;
+    }
+
+    public String getEmail() { return email; }
+}
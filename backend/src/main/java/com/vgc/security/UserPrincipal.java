@@ -0,0 +1,57 @@
+package com.vgc.security;
+
+import com.vgc.entity.User;
+import org.springframework.security.core.Authentication;
+
+import java.security.Principal;
+
+// JWT 인증 후 SecurityContext에 담기는 경량 사용자 정보 (getName()은 이메일)
+public class UserPrincipal implements Principal {
+    private final Long id;
+    private final String email;
+    private final String nickname;
+    private final String role;
+
+    public UserPrincipal(Long id, String email, String nickname, String role) {
+        this.id = id;
+        this.email = email;
+        this.nickname = nickname;
+        this.role = role;
+    }
+
+    public static UserPrincipal from(User user) {
+        return new UserPrincipal(user.getId(), user.getEmail(), user.getNickname(), user.getRole());
+    }
+
+    public static UserPrincipal of(Principal principal) {
+        if (principal instanceof Authentication auth && auth.getPrincipal() instanceof UserPrincipal userPrincipal) {
+            return userPrincipal;
+        }
+        if (principal instanceof UserPrincipal userPrincipal) {
+            return userPrincipal;
+        }
+        throw new RuntimeException("User not found");
+    }
+
+    // 서비스에 넘길 분리(detached) User - 연관관계 설정과 화면 표시에 필요한 값만 채움
+    public User toUser() {
+        User user = new User();
+        user.setId(id);
+        user.setEmail(email);
+        user.setNickname(nickname);
+        user.setRole(role);
+        return user;
+    }
+
+    public boolean isAdmin() {
+        return "ADMIN".equals(role);
+    }
+
+    @Override
+    public String getName() { return email; }
+
+    public Long getId() { return id; }
+    public String getEmail() { return email; }
+    public String getNickname() { return nickname; }
+    public String getRole() { return role; }
+}
@@ -0,0 +1,67 @@
+package com.vgc.security;
+
+import com.vgc.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// 이메일 -> UserPrincipal 캐시 (상한 + TTL), 요청마다 users 테이블을 조회하지 않도록 함
+@Component
+public class UserPrincipalCache {
+
+    private final UserRepository userRepository;
+    private final long ttlMs;
+    private final ExpiringCache<String, UserPrincipal> entries;
+    private final AtomicLong generation = new AtomicLong();
+
+    public UserPrincipalCache(UserRepository userRepository,
+                              @Value("${vgc.principal-cache.max-entries:10000}") int maxEntries,
+                              @Value("${vgc.principal-cache.ttl-ms:300000}") long ttlMs) {
+        this.userRepository = userRepository;
+        this.ttlMs = ttlMs;
+        this.entries = new ExpiringCache<>(maxEntries);
+    }
+
+    // 캐시에 없거나 만료되었으면 DB에서 다시 읽음, 탈퇴 등으로 사용자가 없으면 null
+    public UserPrincipal get(String email) {
+        long now = System.currentTimeMillis();
+        UserPrincipal cached = entries.get(email, now);
+        if (cached != null) {
+            return cached;
+        }
+
+        long startGeneration = generation.get();
+        UserPrincipal principal = userRepository.findByEmail(email)
+                .map(UserPrincipal::from)
+                .orElse(null);
+        if (principal == null) {
+            return null;
+        }
+
+        // 조회 중에 무효화가 있었다면 오래된 값일 수 있으므로 캐시에 두지 않음 (넣은 직후 무효화된 경우도 다시 확인)
+        if (generation.get() == startGeneration) {
+            entries.put(email, principal, now + ttlMs, now);
+            if (generation.get() != startGeneration) {
+                entries.remove(email);
+            }
+        }
+        return principal;
+    }
+
+    public void evict(String email) {
+        generation.incrementAndGet();
+        entries.remove(email);
+    }
+
+    // 커밋 전에 지우면 그 사이 다른 요청이 커밋 전 값을 다시 캐시할 수 있으므로 커밋 후에 제거
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        evict(event.getEmail());
+    }
+
+    int size() {
+        return entries.size();
+    }
+}
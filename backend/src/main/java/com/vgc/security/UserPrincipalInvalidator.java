@@ -0,0 +1,25 @@
+package com.vgc.security;
+
+import com.vgc.entity.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+// User 엔티티가 수정/삭제되면 이벤트를 발행해 커밋 후 principal 캐시에서 제거
+// (캐시를 직접 주입하면 EntityManagerFactory 생성 시점과 순환 참조가 생기므로 이벤트로 분리)
+@Component
+public class UserPrincipalInvalidator {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public UserPrincipalInvalidator(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void onUserChanged(User user) {
+        eventPublisher.publishEvent(new UserChangedEvent(user.getEmail()));
+    }
+}
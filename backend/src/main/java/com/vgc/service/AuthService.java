@@ -31,7 +31,7 @@ public class AuthService {
         user.setNickname(nickname);
         userRepository.save(user);
 
-        String token = jwtUtil.generateToken(email);
+        String token = jwtUtil.generateToken(user);
         return new AuthResponse(token, nickname, user.getRole());
     }
 
@@ -43,7 +43,7 @@ public class AuthService {
             throw new RuntimeException("이메일 또는 비밀번호가 올바르지 않습니다.");
         }
 
-        String token = jwtUtil.generateToken(email);
+        String token = jwtUtil.generateToken(user);
         return new AuthResponse(token, user.getNickname(), user.getRole());
     }
 }
@@ -1,31 +1,25 @@
 package com.vgc.service;
 
+import com.vgc.dto.PostCardResponse;
 import com.vgc.dto.PostResponse;
 import com.vgc.entity.Bookmark;
 import com.vgc.entity.Post;
 import com.vgc.entity.User;
 import com.vgc.repository.BookmarkRepository;
-import com.vgc.repository.CommentRepository;
 import com.vgc.repository.PostRepository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
-
 @Service
 public class BookmarkService {
     private final BookmarkRepository bookmarkRepository;
     private final PostRepository postRepository;
-    private final CommentRepository commentRepository;
 
-    public BookmarkService(BookmarkRepository bookmarkRepository, PostRepository postRepository, CommentRepository commentRepository) {
+    public BookmarkService(BookmarkRepository bookmarkRepository, PostRepository postRepository) {
         this.bookmarkRepository = bookmarkRepository;
         this.postRepository = postRepository;
-        this.commentRepository = commentRepository;
     }
 
     @Transactional
@@ -50,16 +44,19 @@ public class BookmarkService {
 
     public Page<PostResponse> getBookmarkedPosts(Long userId, Pageable pageable) {
         Page<Bookmark> bookmarks = bookmarkRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable);
-        List<Long> postIds = bookmarks.getContent().stream()
-                .map(bookmark -> bookmark.getPost().getId()).collect(Collectors.toList());
-        Map<Long, Long> commentCountMap = commentRepository.countByPostIdIn(postIds).stream()
-                .collect(Collectors.toMap(row -> (Long) row[0], row -> (Long) row[1]));
+        // 북마크 페이지의 게시글을 작성자/이미지와 함께 한 번에 로딩
+        Page<Post> posts = postRepository.fetchPage(bookmarks.map(bookmark -> bookmark.getPost().getId()));
 
-        return bookmarks.map(bookmark -> {
-            Post post = bookmark.getPost();
-            PostResponse response = PostResponse.from(post, commentCountMap.getOrDefault(post.getId(), 0L).intValue());
+        return posts.map(post -> {
+            PostResponse response = PostResponse.from(post);
             response.setBookmarked(true);
             return response;
         });
     }
+
+    public Page<PostCardResponse> getBookmarkedPostCards(Long userId, Pageable pageable) {
+        Page<PostCardResponse> cards = bookmarkRepository.findCardsByUserId(userId, pageable);
+        cards.forEach(card -> card.setBookmarked(true));
+        return cards;
+    }
 }
@@ -0,0 +1,37 @@
+package com.vgc.service;
+
+import com.vgc.repository.PostRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// posts.commentCount 를 comments 테이블 기준으로 id 구간별 재계산
+@Component
+public class CommentCountReconciler {
+    private static final Logger log = LoggerFactory.getLogger(CommentCountReconciler.class);
+
+    private final PostRepository postRepository;
+    private final int chunkSize;
+
+    public CommentCountReconciler(PostRepository postRepository,
+                                  @Value("${vgc.comment-count.reconcile-chunk-size:1000}") int chunkSize) {
+        this.postRepository = postRepository;
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(initialDelayString = "${vgc.comment-count.reconcile-initial-delay-ms:60000}",
+            fixedDelayString = "${vgc.comment-count.reconcile-interval-ms:3600000}")
+    public void reconcile() {
+        Long maxId = postRepository.findMaxId();
+        if (maxId == null) return;
+
+        int updated = 0;
+        for (long from = 1; from <= maxId; from += chunkSize) {
+            // 구간마다 별도 트랜잭션으로 짧게 잠금
+            updated += postRepository.reconcileCommentCounts(from, from + chunkSize);
+        }
+        log.debug("Reconciled comment counts for {} posts", updated);
+    }
+}
@@ -6,6 +6,7 @@ import com.vgc.entity.Post;
 import com.vgc.entity.User;
 import com.vgc.repository.CommentRepository;
 import com.vgc.repository.PostRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,10 +16,12 @@ import java.util.List;
 public class CommentService {
     private final CommentRepository commentRepository;
     private final PostRepository postRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public CommentService(CommentRepository commentRepository, PostRepository postRepository) {
+    public CommentService(CommentRepository commentRepository, PostRepository postRepository, ApplicationEventPublisher eventPublisher) {
         this.commentRepository = commentRepository;
         this.postRepository = postRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     public List<Comment> getComments(Long postId) {
@@ -26,7 +29,8 @@ public class CommentService {
     }
 
     public int getCommentCount(Long postId) {
-        return commentRepository.countByPostId(postId);
+        Integer count = postRepository.findCommentCountById(postId);
+        return count != null ? count : 0;
     }
 
     @Transactional
@@ -48,7 +52,10 @@ public class CommentService {
             comment.setParent(parent);
         }
 
-        return commentRepository.save(comment);
+        Comment saved = commentRepository.save(comment);
+        postRepository.incrementCommentCount(post.getId());
+        eventPublisher.publishEvent(new PostChangedEvent(post.getId(), post.getCategory(), PostChangedEvent.Kind.COMMENTS));
+        return saved;
     }
 
     @Transactional
@@ -0,0 +1,67 @@
+package com.vgc.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+// 이미지 저장 이름 = 내용의 SHA-256 + 확장자 - 같은 사진은 한 번만 저장되고 URL도 같아져 캐시 적중률이 올라감
+public final class ContentKeys {
+    private static final Pattern EXTENSION = Pattern.compile("[a-z0-9]{1,5}");
+    private static final Pattern SHA256_HEX = Pattern.compile("[0-9a-f]{64}");
+    private static final Pattern CONTENT_URL = Pattern.compile("^/uploads/[0-9a-f]{64}(\\.[a-z0-9]{1,5})?$");
+    private static final Pattern DERIVED_URL = Pattern.compile("^/uploads/[0-9a-f]{64}_(thumb|w\\d{1,5})\\.jpg$");
+
+    private ContentKeys() {}
+
+    public static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static MessageDigest digest(InputStream in) throws IOException {
+        MessageDigest digest = sha256();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+        }
+        return digest;
+    }
+
+    public static String fileName(MessageDigest digest, String originalFilename) {
+        return fileName(HexFormat.of().formatHex(digest.digest()), originalFilename);
+    }
+
+    public static String fileName(String sha256Hex, String originalFilename) {
+        return sha256Hex + extension(originalFilename);
+    }
+
+    public static boolean isSha256Hex(String value) {
+        return value != null && SHA256_HEX.matcher(value).matches();
+    }
+
+    // 내용 해시로 저장된 업로드 URL (/uploads/<sha256>.<ext>) 인지
+    public static boolean isContentUrl(String url) {
+        return url != null && CONTENT_URL.matcher(url).matches();
+    }
+
+    // 내용 해시 원본에서 ImageVariantProcessor가 만든 썸네일/폭별 변환본 URL 인지
+    public static boolean isDerivedUrl(String url) {
+        return url != null && DERIVED_URL.matcher(url).matches();
+    }
+
+    private static String extension(String originalFilename) {
+        if (originalFilename == null) return "";
+        int dot = originalFilename.lastIndexOf('.');
+        if (dot < 0) return "";
+        String ext = originalFilename.substring(dot + 1).toLowerCase(Locale.ROOT);
+        return EXTENSION.matcher(ext).matches() ? "." + ext : "";
+    }
+}
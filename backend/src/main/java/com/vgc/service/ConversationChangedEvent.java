@@ -0,0 +1,13 @@
+package com.vgc.service;
+
+// 대화 참여/나감 상태가 바뀌었을 때 발행 - ConversationStateCache 무효화용
+public class ConversationChangedEvent {
+
+    private final Long conversationId;
+
+    public ConversationChangedEvent(Long conversationId) {
+        this.conversationId = conversationId;
+    }
+
+    public Long getConversationId() { return conversationId; }
+}
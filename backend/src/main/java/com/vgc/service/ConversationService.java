@@ -2,16 +2,20 @@ package com.vgc.service;
 
 import com.vgc.dto.ConversationResponse;
 import com.vgc.dto.MessageResponse;
+import com.vgc.dto.SliceResponse;
 import com.vgc.entity.Conversation;
 import com.vgc.entity.Message;
 import com.vgc.entity.User;
 import com.vgc.repository.ConversationRepository;
 import com.vgc.repository.MessageRepository;
 import com.vgc.repository.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -22,13 +26,27 @@ public class ConversationService {
     private final ConversationRepository conversationRepository;
     private final MessageRepository messageRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MessagePipeline messagePipeline;
+    private final ConversationStateCache conversationStateCache;
+    private final TransactionTemplate transactionTemplate;
+
+    private static final int MAX_HISTORY_LIMIT = 100;
 
     public ConversationService(ConversationRepository conversationRepository,
                                MessageRepository messageRepository,
-                               UserRepository userRepository) {
+                               UserRepository userRepository,
+                               ApplicationEventPublisher eventPublisher,
+                               MessagePipeline messagePipeline,
+                               ConversationStateCache conversationStateCache,
+                               PlatformTransactionManager transactionManager) {
         this.conversationRepository = conversationRepository;
         this.messageRepository = messageRepository;
         this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+        this.messagePipeline = messagePipeline;
+        this.conversationStateCache = conversationStateCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @Transactional
@@ -48,11 +66,16 @@ public class ConversationService {
         if (existing.isPresent()) {
             Conversation conv = existing.get();
             // 나갔던 유저면 복귀
+            // 나가 있는 동안의 카운터는 사용자 합계에 포함되지 않으므로 0부터 다시 셈
             if (conv.getUser1().getId().equals(currentUser.getId()) && conv.isUser1Left()) {
                 conv.setUser1Left(false);
+                conv.setUser1UnreadCount(0);
             } else if (conv.getUser2().getId().equals(currentUser.getId()) && conv.isUser2Left()) {
                 conv.setUser2Left(false);
+                conv.setUser2UnreadCount(0);
             }
+            conversationStateCache.evict(conv.getId());
+            eventPublisher.publishEvent(new ConversationChangedEvent(conv.getId()));
             return conversationRepository.save(conv);
         }
 
@@ -63,58 +86,104 @@ public class ConversationService {
     }
 
     public List<ConversationResponse> getConversations(User currentUser) {
-        List<Conversation> conversations = conversationRepository.findActiveByUser(currentUser);
-        return conversations.stream().map(conv -> {
-            List<Message> messages = messageRepository.findByConversationOrderByCreatedAtAsc(conv);
-            String lastMsg = messages.isEmpty() ? "" : messages.get(messages.size() - 1).getContent();
-            return ConversationResponse.from(conv, currentUser, lastMsg);
-        }).collect(Collectors.toList());
+        return conversationRepository.findActiveByUser(currentUser).stream()
+                .map(conv -> ConversationResponse.from(conv, currentUser))
+                .collect(Collectors.toList());
     }
 
-    public List<MessageResponse> getMessages(Long conversationId, User currentUser) {
+    // 최신순으로 limit 개씩, before(메시지 id) 이전 기록을 조회
+    public SliceResponse<MessageResponse> getMessages(Long conversationId, User currentUser, Long before, int limit) {
         Conversation conv = conversationRepository.findById(conversationId)
                 .orElseThrow(() -> new RuntimeException("Conversation not found"));
         validateParticipant(conv, currentUser);
 
-        List<Message> messages = messageRepository.findByConversationOrderByCreatedAtAsc(conv);
-        return messages.stream().map(MessageResponse::from).collect(Collectors.toList());
+        int size = Math.max(1, Math.min(limit, MAX_HISTORY_LIMIT));
+        PageRequest pageable = PageRequest.of(0, size + 1);
+        List<Message> messages;
+        if (before == null) {
+            messages = messageRepository.findLatest(conversationId, pageable);
+        } else {
+            Message cursor = messageRepository.findById(before)
+                    .filter(m -> m.getConversation().getId().equals(conversationId))
+                    .orElseThrow(() -> new RuntimeException("Invalid cursor"));
+            messages = messageRepository.findBefore(conversationId, cursor.getCreatedAt(), cursor.getId(), pageable);
+        }
+
+        boolean hasNext = messages.size() > size;
+        if (hasNext) {
+            messages = messages.subList(0, size);
+        }
+        String nextCursor = hasNext ? String.valueOf(messages.get(messages.size() - 1).getId()) : null;
+        return new SliceResponse<>(
+                messages.stream().map(MessageResponse::from).collect(Collectors.toList()),
+                nextCursor, hasNext);
     }
 
+    // 참여자/나감 상태는 ConversationStateCache에서 읽어 전송 경로에서 조회 쿼리를 없앰
     @Transactional
     public MessageResponse sendMessage(Long conversationId, User sender, String content) {
-        Conversation conv = conversationRepository.findById(conversationId)
-                .orElseThrow(() -> new RuntimeException("Conversation not found"));
-        validateParticipant(conv, sender);
+        ConversationStateCache.State state = conversationStateCache.get(conversationId);
+        if (!state.isParticipant(sender.getId())) {
+            throw new RuntimeException("Not a participant of this conversation");
+        }
 
         // 상대가 나간 상태면 전송 차단
-        boolean isUser1 = conv.getUser1().getId().equals(sender.getId());
-        if (isUser1 && conv.isUser2Left()) {
-            throw new RuntimeException("상대방이 대화를 나갔습니다.");
-        }
-        if (!isUser1 && conv.isUser1Left()) {
+        if (state.otherLeft(sender.getId())) {
             throw new RuntimeException("상대방이 대화를 나갔습니다.");
         }
 
         Message message = new Message();
-        message.setConversation(conv);
+        message.setConversation(conversationRepository.getReferenceById(conversationId));
         message.setSender(sender);
         message.setContent(content);
         message.setSystemMessage(false);
+        boolean recipientIsUser1 = !state.isUser1(sender.getId());
+        Long recipientId = state.otherId(sender.getId());
+        String recipientEmail = state.otherEmail(sender.getId());
+        List<String> participants = List.of(state.user1Email(), state.user2Email());
+
+        if (messagePipeline.isEnabled()) {
+            // 저장은 파이프라인이 배치로 처리하고 전달은 바로
+            MessageResponse response = messagePipeline.submit(message, recipientIsUser1, recipientId, recipientEmail);
+            eventPublisher.publishEvent(new MessageSentEvent(response, participants));
+            return response;
+        }
+
         messageRepository.save(message);
+        conversationRepository.updateLastMessage(conversationId, Conversation.preview(content),
+                message.getCreatedAt(), sender.getId(), message.getId());
 
-        conv.setUpdatedAt(LocalDateTime.now());
-        conversationRepository.save(conv);
+        MessageResponse response = MessageResponse.from(message);
+        eventPublisher.publishEvent(new MessageSentEvent(response, participants));
+        incrementUnread(conversationId, recipientIsUser1, recipientId, recipientEmail);
 
-        return MessageResponse.from(message);
+        return response;
     }
 
-    @Transactional
     public void leaveConversation(Long conversationId, User currentUser) {
-        Conversation conv = conversationRepository.findById(conversationId)
+        if (messagePipeline.isEnabled()) {
+            // 양쪽 다 나가면 대화를 지우므로 대기 중인 메시지가 모두 반영되기를 먼저 기다림
+            // 트랜잭션/행 잠금을 잡은 채 기다리면 writer 의 같은 대화 행 UPDATE 가 그 잠금을 기다려 서로 막힘
+            // (기다린 뒤 들어온 메시지는 대화가 지워지면 writer 가 dead letter 로 넘김)
+            messagePipeline.awaitWritten();
+        }
+        transactionTemplate.executeWithoutResult(status -> leave(conversationId, currentUser));
+    }
+
+    private void leave(Long conversationId, User currentUser) {
+        Conversation conv = conversationRepository.findForUpdateById(conversationId)
                 .orElseThrow(() -> new RuntimeException("Conversation not found"));
         validateParticipant(conv, currentUser);
 
         boolean isUser1 = conv.getUser1().getId().equals(currentUser.getId());
+        clearUnread(conv, isUser1, currentUser.getId());
+
+        if (messagePipeline.isEnabled()) {
+            leaveWithPipeline(conv, currentUser, isUser1);
+            conversationStateCache.evict(conversationId);
+            eventPublisher.publishEvent(new ConversationChangedEvent(conversationId));
+            return;
+        }
 
         // 시스템 메시지 추가
         Message sysMsg = new Message();
@@ -130,14 +199,116 @@ public class ConversationService {
             conv.setUser2Left(true);
         }
 
-        conv.setUpdatedAt(LocalDateTime.now());
+        conv.recordLastMessage(sysMsg);
         conversationRepository.save(conv);
 
         // 양쪽 다 나갔으면 전체 삭제
         if (conv.isUser1Left() && conv.isUser2Left()) {
             messageRepository.deleteByConversation(conv);
             conversationRepository.delete(conv);
+        } else {
+            User remaining = isUser1 ? conv.getUser2() : conv.getUser1();
+            eventPublisher.publishEvent(new MessageSentEvent(MessageResponse.from(sysMsg), List.of(remaining.getEmail())));
+            incrementUnread(conv.getId(), !isUser1, remaining.getId(), remaining.getEmail());
+        }
+        conversationStateCache.evict(conversationId);
+        eventPublisher.publishEvent(new ConversationChangedEvent(conversationId));
+    }
+
+    // 파이프라인 모드: 시스템 메시지도 같은 id 할당 경로로 저장 (대기 중인 메시지는 leaveConversation 이 잠금 전에 기다림)
+    private void leaveWithPipeline(Conversation conv, User currentUser, boolean isUser1) {
+        if (isUser1) {
+            conv.setUser1Left(true);
+        } else {
+            conv.setUser2Left(true);
+        }
+
+        if (conv.isUser1Left() && conv.isUser2Left()) {
+            messageRepository.deleteByConversation(conv);
+            conversationRepository.delete(conv);
+            return;
+        }
+        conversationRepository.save(conv);
+
+        User remaining = isUser1 ? conv.getUser2() : conv.getUser1();
+        Message sysMsg = new Message();
+        sysMsg.setConversation(conv);
+        sysMsg.setSender(null);
+        sysMsg.setContent(currentUser.getNickname() + "님이 나갔습니다.");
+        sysMsg.setSystemMessage(true);
+        MessageResponse response = messagePipeline.submit(sysMsg, !isUser1, remaining.getId(), remaining.getEmail());
+        eventPublisher.publishEvent(new MessageSentEvent(response, List.of(remaining.getEmail())));
+    }
+
+    // messageId 까지 읽음 처리 (null 이면 마지막 메시지까지)
+    public void markRead(Long conversationId, User currentUser, Long messageId) {
+        if (messageId != null) {
+            // 파이프라인 모드에서는 방금 받은 메시지가 아직 저장 전일 수 있음 - 그 메시지일 때만, 커넥션을 잡기 전에 기다림
+            // (이미 저장됐거나 이 노드가 모르는 id 면 바로 진행하고 아래에서 마지막 메시지로 잘라냄)
+            messagePipeline.awaitWritten(messageId);
+        }
+        transactionTemplate.executeWithoutResult(status -> markReadUpTo(conversationId, currentUser, messageId));
+    }
+
+    private void markReadUpTo(Long conversationId, User currentUser, Long messageId) {
+        Conversation conv = conversationRepository.findForUpdateById(conversationId)
+                .orElseThrow(() -> new RuntimeException("Conversation not found"));
+        validateParticipant(conv, currentUser);
+
+        Long lastMessageId = conv.getLastMessageId();
+        if (lastMessageId == null) {
+            return;
+        }
+        // 마지막 메시지보다 큰 id 로 읽음 위치를 옮기면 이후 메시지가 읽음 처리되지 않으므로 잘라냄
+        long readUpTo = messageId != null ? Math.min(messageId, lastMessageId) : lastMessageId;
+        boolean isUser1 = conv.getUser1().getId().equals(currentUser.getId());
+        int unread = isUser1 ? conv.getUser1UnreadCount() : conv.getUser2UnreadCount();
+        int updated = isUser1
+                ? conversationRepository.markReadUser1(conversationId, readUpTo)
+                : conversationRepository.markReadUser2(conversationId, readUpTo);
+        if (updated > 0) {
+            // 카운터는 마지막 메시지까지 읽었을 때만 0이 되므로 그때 합계에서도 같은 만큼 뺌
+            if (readUpTo >= lastMessageId && unread > 0) {
+                userRepository.addUnreadTotal(currentUser.getId(), -unread);
+            }
+            // 다른 탭/기기의 배지도 갱신되도록 본인 큐로 전송
+            eventPublisher.publishEvent(new UnreadChangedEvent(currentUser.getId(), currentUser.getEmail(), conversationId));
+        }
+    }
+
+    public long getUnreadTotal(User currentUser) {
+        return getUnreadTotal(currentUser.getId());
+    }
+
+    // 사용자 행의 합계를 읽고, 백필 전(null)이면 대화 전체 합산으로 대체
+    public long getUnreadTotal(Long userId) {
+        Integer total = userRepository.findUnreadTotalById(userId);
+        return total != null ? total : conversationRepository.sumUnreadByUserId(userId);
+    }
+
+    private void incrementUnread(Long conversationId, boolean recipientIsUser1, Long recipientId, String recipientEmail) {
+        if (recipientIsUser1) {
+            conversationRepository.incrementUser1Unread(conversationId);
+            userRepository.incrementUnreadTotalAsUser1(recipientId, conversationId);
+        } else {
+            conversationRepository.incrementUser2Unread(conversationId);
+            userRepository.incrementUnreadTotalAsUser2(recipientId, conversationId);
+        }
+        eventPublisher.publishEvent(new UnreadChangedEvent(recipientId, recipientEmail, conversationId));
+    }
+
+    // 나가는 사용자의 대화 카운터를 0으로 하고 합계에서 차감 (conv 는 잠긴 상태)
+    private void clearUnread(Conversation conv, boolean isUser1, Long userId) {
+        int unread = isUser1 ? conv.getUser1UnreadCount() : conv.getUser2UnreadCount();
+        if (unread == 0) {
+            return;
+        }
+        if (isUser1) {
+            conv.setUser1UnreadCount(0);
+        } else {
+            conv.setUser2UnreadCount(0);
         }
+        userRepository.addUnreadTotal(userId, -unread);
     }
 
     private void validateParticipant(Conversation conv, User user) {
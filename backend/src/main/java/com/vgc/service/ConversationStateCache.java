@@ -0,0 +1,100 @@
+package com.vgc.service;
+
+import com.vgc.entity.Conversation;
+import com.vgc.repository.ConversationRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// 대화 id -> 참여자/나감 상태 캐시 (LRU + TTL), 메시지 전송 시 대화/사용자 조회를 생략하기 위함
+// 시작(재입장)/나가기 시 무효화, 다른 노드의 변경은 TTL 이내에 반영
+@Component
+public class ConversationStateCache {
+
+    public record State(Long conversationId, Long user1Id, String user1Email, boolean user1Left,
+                        Long user2Id, String user2Email, boolean user2Left) {
+
+        public boolean isParticipant(Long userId) {
+            return user1Id.equals(userId) || user2Id.equals(userId);
+        }
+
+        public boolean isUser1(Long userId) {
+            return user1Id.equals(userId);
+        }
+
+        public boolean otherLeft(Long userId) {
+            return isUser1(userId) ? user2Left : user1Left;
+        }
+
+        public Long otherId(Long userId) {
+            return isUser1(userId) ? user2Id : user1Id;
+        }
+
+        public String otherEmail(Long userId) {
+            return isUser1(userId) ? user2Email : user1Email;
+        }
+
+        static State from(Conversation conv) {
+            return new State(conv.getId(),
+                    conv.getUser1().getId(), conv.getUser1().getEmail(), conv.isUser1Left(),
+                    conv.getUser2().getId(), conv.getUser2().getEmail(), conv.isUser2Left());
+        }
+    }
+
+    private record Entry(State state, long expiresAt) {}
+
+    private final ConversationRepository conversationRepository;
+    private final long ttlMs;
+    private final Map<Long, Entry> entries;
+    private long generation = 0;
+
+    public ConversationStateCache(ConversationRepository conversationRepository,
+                                  @Value("${vgc.conversation-cache.max-entries:10000}") int maxEntries,
+                                  @Value("${vgc.conversation-cache.ttl-ms:60000}") long ttlMs) {
+        this.conversationRepository = conversationRepository;
+        this.ttlMs = ttlMs;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public State get(Long conversationId) {
+        long startGeneration;
+        synchronized (this) {
+            Entry entry = entries.get(conversationId);
+            if (entry != null && entry.expiresAt() > System.currentTimeMillis()) {
+                return entry.state();
+            }
+            startGeneration = generation;
+        }
+
+        State state = conversationRepository.findWithUsersById(conversationId)
+                .map(State::from)
+                .orElseThrow(() -> new RuntimeException("Conversation not found"));
+
+        synchronized (this) {
+            // 조회 중에 무효화가 있었다면 오래된 값일 수 있으므로 캐시에 넣지 않음
+            if (generation == startGeneration) {
+                entries.put(conversationId, new Entry(state, System.currentTimeMillis() + ttlMs));
+            }
+        }
+        return state;
+    }
+
+    public synchronized void evict(Long conversationId) {
+        entries.remove(conversationId);
+        generation++;
+    }
+
+    // 변경 트랜잭션 커밋 전에 다른 요청이 이전 상태를 다시 캐시했을 수 있으므로 커밋 후 한 번 더 제거
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onConversationChanged(ConversationChangedEvent event) {
+        evict(event.getConversationId());
+    }
+}
@@ -0,0 +1,80 @@
+package com.vgc.service;
+
+import com.vgc.dto.ImageUploadRequest;
+import com.vgc.dto.ImageUploadResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+// 이미지 바이트가 백엔드를 거치지 않는 직접 업로드
+// 1. 클라이언트가 파일별 SHA-256/크기/형식을 보내 서명 URL을 받음 (같은 내용이 이미 있으면 업로드 생략)
+// 2. 서명 URL로 저장소에 바로 PUT
+// 3. 글 작성/수정 시 imageUrl만 보내고, 서버는 저장소에 실제로 있는지 확인 후 사용
+@Service
+public class DirectUploadService {
+
+    private final ImageStorageService imageStorageService;
+    private final boolean enabled;
+    private final int maxFiles;
+    private final long maxFileSize;
+
+    public DirectUploadService(ImageStorageService imageStorageService,
+                               @Value("${vgc.upload.direct.enabled:true}") boolean enabled,
+                               @Value("${vgc.upload.max-files:5}") int maxFiles,
+                               @Value("${vgc.upload.max-file-size:10485760}") long maxFileSize) {
+        this.imageStorageService = imageStorageService;
+        this.enabled = enabled;
+        this.maxFiles = maxFiles;
+        this.maxFileSize = maxFileSize;
+    }
+
+    public List<ImageUploadResponse> presign(ImageUploadRequest request) throws IOException {
+        if (!enabled) {
+            throw new RuntimeException("직접 업로드를 사용할 수 없습니다.");
+        }
+        List<ImageUploadRequest.FileInfo> files = request.getFiles() != null ? request.getFiles() : List.of();
+        if (files.isEmpty() || files.size() > maxFiles) {
+            throw new RuntimeException("이미지는 최대 " + maxFiles + "장까지 업로드할 수 있습니다.");
+        }
+        List<ImageUploadResponse> responses = new ArrayList<>(files.size());
+        for (ImageUploadRequest.FileInfo file : files) {
+            if (file.getContentType() == null || !file.getContentType().startsWith("image/")) {
+                throw new RuntimeException("이미지 파일만 업로드할 수 있습니다.");
+            }
+            if (file.getSize() <= 0 || file.getSize() > maxFileSize) {
+                throw new RuntimeException("이미지 크기가 허용 범위를 벗어났습니다.");
+            }
+            if (!ContentKeys.isSha256Hex(file.getSha256())) {
+                throw new RuntimeException("잘못된 이미지 해시입니다.");
+            }
+            responses.add(ImageUploadResponse.from(imageStorageService.presign(
+                    file.getFileName(), file.getContentType(), file.getSize(), file.getSha256())));
+        }
+        return responses;
+    }
+
+    // 글 하나에 붙는 이미지 수(멀티파트 + 직접 업로드 + 유지되는 기존 이미지) 확인 - 업로드 전에 호출
+    public void checkImageCount(int count) {
+        if (count > maxFiles) {
+            throw new RuntimeException("이미지는 최대 " + maxFiles + "장까지 업로드할 수 있습니다.");
+        }
+    }
+
+    // 직접 업로드된 이미지 URL 확인 - 내용 해시 형식이 아니거나 저장소에 없으면 실패
+    public List<String> verify(List<String> imageUrls) {
+        if (imageUrls == null || imageUrls.isEmpty()) return List.of();
+        if (!enabled) {
+            throw new RuntimeException("직접 업로드를 사용할 수 없습니다.");
+        }
+        checkImageCount(imageUrls.size());
+        for (String url : imageUrls) {
+            if (!ContentKeys.isContentUrl(url) || !imageStorageService.verifyUploaded(url, maxFileSize)) {
+                throw new RuntimeException("업로드되지 않은 이미지입니다: " + url);
+            }
+        }
+        return imageUrls;
+    }
+}
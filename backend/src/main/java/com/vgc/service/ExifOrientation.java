@@ -0,0 +1,106 @@
+package com.vgc.service;
+
+import org.w3c.dom.Node;
+
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+// 휴대폰 사진은 센서 방향 그대로 저장하고 EXIF Orientation(1~8)으로 회전/반전을 지시함
+// ImageIO 는 이 태그를 적용하지 않으므로 변환본을 만들기 전에 직접 적용 (JPEG APP1 의 IFD0 만 확인)
+final class ExifOrientation {
+    static final int NORMAL = 1;
+
+    private static final String JPEG_METADATA = "javax_imageio_jpeg_image_1.0";
+    private static final int APP1 = 0xE1;
+    private static final int ORIENTATION_TAG = 0x0112;
+    private static final byte[] EXIF_HEADER = "Exif\0\0".getBytes(StandardCharsets.ISO_8859_1);
+
+    private ExifOrientation() {}
+
+    // 태그가 없거나 읽을 수 없으면 NORMAL
+    static int read(IIOMetadata metadata) {
+        if (metadata == null || !JPEG_METADATA.equals(metadata.getNativeMetadataFormatName())) {
+            return NORMAL;
+        }
+        Node markers = child(metadata.getAsTree(JPEG_METADATA), "markerSequence");
+        for (Node node = markers != null ? markers.getFirstChild() : null; node != null; node = node.getNextSibling()) {
+            if (node instanceof IIOMetadataNode marker && "unknown".equals(marker.getNodeName())
+                    && String.valueOf(APP1).equals(marker.getAttribute("MarkerTag"))
+                    && marker.getUserObject() instanceof byte[] data) {
+                int orientation = parse(data);
+                if (orientation != NORMAL) return orientation;
+            }
+        }
+        return NORMAL;
+    }
+
+    // "Exif\0\0" + TIFF 헤더(II/MM, 42, IFD0 위치) + IFD0 항목들
+    private static int parse(byte[] data) {
+        int tiff = EXIF_HEADER.length;
+        if (data.length < tiff + 8) return NORMAL;
+        for (int i = 0; i < tiff; i++) {
+            if (data[i] != EXIF_HEADER[i]) return NORMAL;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        if (data[tiff] == 'I' && data[tiff + 1] == 'I') {
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+        } else if (data[tiff] != 'M' || data[tiff + 1] != 'M') {
+            return NORMAL;
+        }
+        long ifd = tiff + Integer.toUnsignedLong(buffer.getInt(tiff + 4));
+        if (ifd + 2 > data.length) return NORMAL;
+        int entries = Short.toUnsignedInt(buffer.getShort((int) ifd));
+        for (int i = 0; i < entries; i++) {
+            int entry = (int) ifd + 2 + i * 12;
+            if (entry + 12 > data.length) return NORMAL;
+            if (Short.toUnsignedInt(buffer.getShort(entry)) == ORIENTATION_TAG) {
+                int value = Short.toUnsignedInt(buffer.getShort(entry + 8));
+                return value >= 1 && value <= 8 ? value : NORMAL;
+            }
+        }
+        return NORMAL;
+    }
+
+    // 화면에 보이는 방향으로 다시 그림 - 5~8 은 가로/세로가 바뀜
+    static BufferedImage apply(BufferedImage source, int orientation) {
+        if (orientation == NORMAL) return source;
+        int w = source.getWidth();
+        int h = source.getHeight();
+        // AffineTransform(m00, m10, m01, m11, m02, m12): x' = m00*x + m01*y + m02, y' = m10*x + m11*y + m12
+        AffineTransform transform = switch (orientation) {
+            case 2 -> new AffineTransform(-1, 0, 0, 1, w, 0);
+            case 3 -> new AffineTransform(-1, 0, 0, -1, w, h);
+            case 4 -> new AffineTransform(1, 0, 0, -1, 0, h);
+            case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0);
+            case 6 -> new AffineTransform(0, 1, -1, 0, h, 0);
+            case 7 -> new AffineTransform(0, -1, -1, 0, h, w);
+            case 8 -> new AffineTransform(0, -1, 1, 0, 0, w);
+            default -> null;
+        };
+        if (transform == null) return source;
+        boolean swap = orientation >= 5;
+        BufferedImage target = new BufferedImage(swap ? h : w, swap ? w : h, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+            g.drawImage(source, transform, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    private static Node child(Node parent, String name) {
+        for (Node node = parent.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (name.equals(node.getNodeName())) return node;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,178 @@
+package com.vgc.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import com.vgc.dto.SliceResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+// 비로그인 피드 첫 N 페이지(/feed 는 첫 슬라이스)의 직렬화된 응답 캐시 (LRU + TTL)
+@Component
+public class FeedCache {
+
+    // page 가 -1 이면 /feed 의 첫 슬라이스
+    private static final int FIRST_SLICE = -1;
+
+    private record Key(String view, String category, String sort, String status, int page, int size) {}
+
+    private record Entry(byte[] body, Set<Long> postIds, long expiresAt) {}
+
+    private record Loaded(Object body, Set<Long> postIds) {}
+
+    private final ObjectMapper objectMapper;
+    private final int maxEntries;
+    private final long ttlMs;
+    private final long popularTtlMs;
+    private final int maxPage;
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long generation = 0;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+    private final Counter invalidations;
+
+    public FeedCache(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                     @Value("${vgc.feed-cache.max-entries:200}") int maxEntries,
+                     @Value("${vgc.feed-cache.ttl-ms:30000}") long ttlMs,
+                     @Value("${vgc.feed-cache.popular-ttl-ms:5000}") long popularTtlMs,
+                     @Value("${vgc.feed-cache.max-page:2}") int maxPage) {
+        this.objectMapper = objectMapper;
+        this.maxEntries = maxEntries;
+        this.ttlMs = ttlMs;
+        this.popularTtlMs = popularTtlMs;
+        this.maxPage = maxPage;
+        this.hits = meterRegistry.counter("vgc.feed.cache.hits");
+        this.misses = meterRegistry.counter("vgc.feed.cache.misses");
+        this.evictions = meterRegistry.counter("vgc.feed.cache.evictions");
+        this.invalidations = meterRegistry.counter("vgc.feed.cache.invalidations");
+        Gauge.builder("vgc.feed.cache.size", this, FeedCache::size).register(meterRegistry);
+    }
+
+    public boolean isCacheable(int page) {
+        return maxEntries > 0 && page >= 0 && page < maxPage;
+    }
+
+    public boolean isCacheable(String cursor) {
+        return maxEntries > 0 && (cursor == null || cursor.isEmpty());
+    }
+
+    public <T> byte[] get(String view, String category, String sort, String status, int page, int size,
+                          Supplier<Page<T>> loader, Function<T, Long> idOf) {
+        return get(key(view, category, sort, status, page, size), () -> {
+            Page<T> posts = loader.get();
+            return new Loaded(posts, ids(posts.getContent(), idOf));
+        });
+    }
+
+    public <T> byte[] getFirstSlice(String view, String category, String sort, String status, int size,
+                                    Supplier<SliceResponse<T>> loader, Function<T, Long> idOf) {
+        return get(key(view, category, sort, status, FIRST_SLICE, size), () -> {
+            SliceResponse<T> slice = loader.get();
+            return new Loaded(slice, ids(slice.getContent(), idOf));
+        });
+    }
+
+    private byte[] get(Key key, Supplier<Loaded> loader) {
+        long startGeneration;
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (entry.expiresAt() > System.currentTimeMillis()) {
+                    hits.increment();
+                    return entry.body();
+                }
+                entries.remove(key);
+                evictions.increment();
+            }
+            startGeneration = generation;
+        }
+        misses.increment();
+
+        Loaded loaded = loader.get();
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(loaded.body());
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize feed page", e);
+        }
+
+        synchronized (this) {
+            // 로딩 중 무효화가 있었다면 오래된 결과일 수 있으므로 저장하지 않음
+            if (generation == startGeneration) {
+                long ttl = "popular".equals(key.sort()) ? popularTtlMs : ttlMs;
+                entries.put(key, new Entry(body, loaded.postIds(), System.currentTimeMillis() + ttl));
+                while (entries.size() > maxEntries) {
+                    Iterator<Key> eldest = entries.keySet().iterator();
+                    eldest.next();
+                    eldest.remove();
+                    evictions.increment();
+                }
+            }
+        }
+        return body;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        // 좋아요는 너무 잦아 무효화하지 않음 - popular 정렬은 짧은 TTL로, 그 외 정렬의 좋아요 수는 TTL 안에서 갱신
+        if (event.getKind() == PostChangedEvent.Kind.LIKES) {
+            return;
+        }
+        String category = normalize(event.getCategory());
+        String previousCategory = normalize(event.getPreviousCategory());
+        synchronized (this) {
+            generation++;
+            Iterator<Map.Entry<Key, Entry>> it = entries.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<Key, Entry> e = it.next();
+                Key key = e.getKey();
+                boolean inSlice = key.category() == null
+                        || key.category().equals(category)
+                        || key.category().equals(previousCategory);
+                boolean contains = e.getValue().postIds().contains(event.getPostId());
+                boolean stale = switch (event.getKind()) {
+                    case MEMBERSHIP -> inSlice;
+                    case CONTENT -> contains || (inSlice && !Objects.equals(category, previousCategory));
+                    case LIKES -> false;
+                    case COMMENTS -> contains || (inSlice && "comments".equals(key.sort()));
+                };
+                if (stale) {
+                    it.remove();
+                    invalidations.increment();
+                }
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private static Key key(String view, String category, String sort, String status, int page, int size) {
+        return new Key(view, normalize(category), FeedCursor.normalize(sort), normalize(status), page, size);
+    }
+
+    private static <T> Set<Long> ids(List<T> posts, Function<T, Long> idOf) {
+        return posts.stream().map(idOf).collect(Collectors.toSet());
+    }
+
+    private static String normalize(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+}
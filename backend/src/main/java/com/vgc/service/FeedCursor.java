@@ -0,0 +1,66 @@
+package com.vgc.service;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// 피드 keyset 커서: "정렬키|정렬값|id"를 base64url로 감싼 불투명 문자열
+final class FeedCursor {
+
+    private FeedCursor() {}
+
+    static String normalize(String sort) {
+        if ("popular".equals(sort) || "views".equals(sort) || "comments".equals(sort)) {
+            return sort;
+        }
+        return "latest";
+    }
+
+    static Sort sortOf(String sort) {
+        return Sort.by(Sort.Direction.DESC, property(sort), "id");
+    }
+
+    static ScrollPosition decode(String sort, String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return ScrollPosition.keyset();
+        }
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 3);
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+        if (parts.length != 3 || !parts[0].equals(sort)) {
+            throw new RuntimeException("Invalid cursor");
+        }
+        Map<String, Object> keys = new LinkedHashMap<>();
+        try {
+            keys.put(property(sort), "latest".equals(sort) ? LocalDateTime.parse(parts[1]) : Integer.valueOf(parts[1]));
+            keys.put("id", Long.valueOf(parts[2]));
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+        return ScrollPosition.forward(keys);
+    }
+
+    static String encode(String sort, ScrollPosition position) {
+        Map<String, Object> keys = ((KeysetScrollPosition) position).getKeys();
+        String raw = sort + "|" + keys.get(property(sort)) + "|" + keys.get("id");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String property(String sort) {
+        return switch (sort) {
+            case "popular" -> "likeCount";
+            case "views" -> "viewCount";
+            case "comments" -> "commentCount";
+            default -> "createdAt";
+        };
+    }
+}
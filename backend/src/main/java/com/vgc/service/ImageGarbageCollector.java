@@ -0,0 +1,232 @@
+package com.vgc.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// 저장소 목록을 흘려 읽으며 DB에서 참조되지 않는 이미지를 찾아 삭제
+// - 공용 @Scheduled 스레드를 막지 않도록 전용 단일 스레드(image-gc)에서 스캔과 삭제를 모두 처리
+// - 목록은 chunk-size 단위로 post_images/posts 와 대조 (IN 조회)
+// - 업로드 직후 아직 커밋 전이거나 변환본 기록 전인 파일을 지우지 않도록 grace-period 보다 오래된 것만 대상
+//   (같은 내용을 다시 올리면 저장소가 수정 시각을 갱신하므로 유예 기간이 다시 시작됨)
+// - 삭제는 sleep 없이 다음 허용 시각에 다시 예약해 초당 max-deletes-per-second 로 제한,
+//   차례가 오면 image_leases 행을 잠근 채 lease/수정 시각/참조를 다시 확인한 뒤 삭제 (스캔 이후 재사용된 파일 보호)
+// - 게시글 수정/삭제 시 바로 지우지 않고 이 GC 가 유일한 삭제 경로이므로 기본으로 켜져 있음
+// - dry-run 이면 찾기만 하고 로그/메트릭만 남김
+@Component
+public class ImageGarbageCollector {
+    private static final Logger log = LoggerFactory.getLogger(ImageGarbageCollector.class);
+    // ImageVariantProcessor가 만드는 썸네일/폭별 변환본 이름
+    private static final Pattern DERIVED = Pattern.compile("^(.*)_(thumb|w\\d+)\\.jpg$");
+
+    private final ImageStorageService imageStorageService;
+    private final ImageLeases imageLeases;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final boolean dryRun;
+    private final long initialDelayMs;
+    private final long intervalMs;
+    private final long gracePeriodMs;
+    private final int chunkSize;
+    private final int maxPending;
+    private final long deleteIntervalNanos;
+    private final ScheduledExecutorService executor;
+
+    private final Counter scanned;
+    private final Counter orphaned;
+    private final Counter deleted;
+    private final Counter reprieved;
+
+    // 아래 상태는 executor 스레드에서만 접근
+    private final Deque<String> pending = new ArrayDeque<>();
+    private long nextDeleteAt;
+
+    public ImageGarbageCollector(ImageStorageService imageStorageService, ImageLeases imageLeases,
+                                 JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry,
+                                 @Value("${vgc.image-gc.enabled:true}") boolean enabled,
+                                 @Value("${vgc.image-gc.dry-run:false}") boolean dryRun,
+                                 @Value("${vgc.image-gc.initial-delay-ms:600000}") long initialDelayMs,
+                                 @Value("${vgc.image-gc.interval-ms:86400000}") long intervalMs,
+                                 @Value("${vgc.image-gc.grace-period-ms:86400000}") long gracePeriodMs,
+                                 @Value("${vgc.image-gc.chunk-size:500}") int chunkSize,
+                                 @Value("${vgc.image-gc.max-pending:10000}") int maxPending,
+                                 @Value("${vgc.image-gc.max-deletes-per-second:20}") int maxDeletesPerSecond) {
+        this.imageStorageService = imageStorageService;
+        this.imageLeases = imageLeases;
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.dryRun = dryRun;
+        this.initialDelayMs = initialDelayMs;
+        this.intervalMs = intervalMs;
+        this.gracePeriodMs = gracePeriodMs;
+        this.chunkSize = chunkSize;
+        this.maxPending = maxPending;
+        this.deleteIntervalNanos = maxDeletesPerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / maxDeletesPerSecond : 0L;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "image-gc");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scanned = meterRegistry.counter("vgc.image-gc.scanned");
+        this.orphaned = meterRegistry.counter("vgc.image-gc.orphaned");
+        this.deleted = meterRegistry.counter("vgc.image-gc.deleted");
+        this.reprieved = meterRegistry.counter("vgc.image-gc.reprieved");
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) return;
+        executor.scheduleWithFixedDelay(this::collect, initialDelayMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // 한 번 실행 (테스트/수동 실행용) - 스캔이 끝나면 완료, 삭제는 이후 예약된 순서대로 진행
+    Future<?> collectNow() {
+        return executor.submit(this::collect);
+    }
+
+    private void collect() {
+        // 이전 실행의 삭제가 아직 남아 있으면 같은 대상을 다시 쌓지 않도록 이번 주기는 건너뜀
+        if (!pending.isEmpty()) {
+            log.info("Image GC skipped, {} deletions from the previous run still pending", pending.size());
+            return;
+        }
+
+        Instant cutoff = Instant.now().minusMillis(gracePeriodMs);
+        Run run = new Run();
+        try {
+            imageStorageService.forEachStored(stored -> {
+                if (pending.size() >= maxPending) return;
+                run.scanned++;
+                scanned.increment();
+                if (stored.lastModified().isAfter(cutoff)) return;
+                run.chunk.add(stored.url());
+                if (run.chunk.size() >= chunkSize) {
+                    sweep(run);
+                }
+            });
+            sweep(run);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Image GC stopped after scanning {} objects", run.scanned, e);
+        }
+        log.info("Image GC{} scanned {}, orphaned {}, queued {} for deletion",
+                dryRun ? " (dry-run)" : "", run.scanned, run.orphaned, pending.size());
+        drain();
+    }
+
+    private void sweep(Run run) {
+        if (run.chunk.isEmpty()) return;
+        Set<String> referenced = referenced(run.chunk);
+        for (String url : run.chunk) {
+            if (referenced.contains(url) || referenced.contains(thumbnailOf(url))) continue;
+            run.orphaned++;
+            orphaned.increment();
+            if (dryRun) {
+                log.info("Image GC dry-run: would delete {}", url);
+                continue;
+            }
+            pending.add(url);
+        }
+        run.chunk.clear();
+    }
+
+    // 허용된 만큼만 지우고 남은 것은 다음 허용 시각에 다시 예약 (스레드를 재우지 않음)
+    private void drain() {
+        while (!pending.isEmpty()) {
+            long now = System.nanoTime();
+            if (now < nextDeleteAt) {
+                executor.schedule(this::drain, nextDeleteAt - now, TimeUnit.NANOSECONDS);
+                return;
+            }
+            nextDeleteAt = now + deleteIntervalNanos;
+            delete(pending.poll());
+        }
+    }
+
+    // 업로드 쪽 lease 와 같은 행을 잠근 채 다시 확인하고 삭제 (ImageLeases 참고)
+    private void delete(String url) {
+        Instant cutoff = Instant.now().minusMillis(gracePeriodMs);
+        try {
+            if (imageLeases.deleteIfUnleased(url, cutoff, () -> isDeletable(url, cutoff),
+                    () -> imageStorageService.delete(url))) {
+                deleted.increment();
+            } else {
+                reprieved.increment();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Image GC failed to delete {}", url, e);
+        }
+    }
+
+    // 이미 없거나, 유예 기간 안에 다시 쓰였거나, 참조되면 지우지 않음
+    private boolean isDeletable(String url, Instant cutoff) {
+        try {
+            Instant lastModified = imageStorageService.lastModified(url);
+            return lastModified != null && !lastModified.isAfter(cutoff) && !isReferenced(url);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private boolean isReferenced(String url) {
+        Set<String> referenced = referenced(List.of(url));
+        return referenced.contains(url) || referenced.contains(thumbnailOf(url));
+    }
+
+    // 원본은 image_url, 변환본은 같은 원본의 썸네일이 기록되어 있는지로 판단
+    private Set<String> referenced(List<String> urls) {
+        Set<String> thumbnails = new HashSet<>(urls);
+        for (String url : urls) {
+            String thumbnail = thumbnailOf(url);
+            if (thumbnail != null) thumbnails.add(thumbnail);
+        }
+        Set<String> referenced = new HashSet<>();
+        referenced.addAll(select("SELECT image_url FROM post_images WHERE image_url IN ", urls));
+        referenced.addAll(select("SELECT image_url FROM posts WHERE image_url IN ", urls));
+        referenced.addAll(select("SELECT thumbnail_url FROM post_images WHERE thumbnail_url IN ", new ArrayList<>(thumbnails)));
+        return referenced;
+    }
+
+    private List<String> select(String sql, List<String> values) {
+        String placeholders = String.join(",", Collections.nCopies(values.size(), "?"));
+        return jdbcTemplate.queryForList(sql + "(" + placeholders + ")", String.class, values.toArray());
+    }
+
+    private static String thumbnailOf(String url) {
+        Matcher matcher = DERIVED.matcher(url);
+        return matcher.matches() ? matcher.group(1) + "_thumb.jpg" : null;
+    }
+
+    private static class Run {
+        final List<String> chunk = new ArrayList<>();
+        long scanned;
+        long orphaned;
+    }
+}
@@ -0,0 +1,63 @@
+package com.vgc.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+// 업로드(재사용 포함)와 ImageGarbageCollector 삭제를 image_leases 행 잠금으로 직렬화
+// - 저장소는 객체가 있는지 확인/수정 시각 갱신하기 전에 lease 를 커밋
+// - GC 는 같은 행을 FOR UPDATE 로 잡은 채 lease 시각, 수정 시각, 참조를 확인하고 삭제한 뒤 행을 지움
+// 따라서 "GC 확인 -> 업로드가 재사용 -> GC 삭제" 순서가 생기지 않음:
+// GC 가 먼저 잡았으면 lease 는 삭제가 끝날 때까지 기다린 뒤 객체가 없으므로 다시 올리고,
+// lease 가 먼저면 GC 는 유예 기간 안의 lease 를 보고 건너뜀
+@Component
+public class ImageLeases {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public ImageLeases(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    public void createTable() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS image_leases ("
+                + "url VARCHAR(255) NOT NULL PRIMARY KEY, "
+                + "leased_at TIMESTAMP NOT NULL)");
+    }
+
+    // 객체를 확인/재사용하기 직전에 호출 (호출한 쪽 트랜잭션과 무관하게 바로 커밋)
+    public void lease(String url) {
+        Timestamp now = Timestamp.from(Instant.now());
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(
+                "INSERT INTO image_leases (url, leased_at) VALUES (?, ?) ON DUPLICATE KEY UPDATE leased_at = ?",
+                url, now, now));
+    }
+
+    // lease 가 cutoff 이전이고 deletable 이 true 일 때만 delete 실행 - 잠금은 delete 가 끝날 때까지 유지
+    public boolean deleteIfUnleased(String url, Instant cutoff, BooleanSupplier deletable, Runnable delete) {
+        Boolean deleted = transactionTemplate.execute(status -> {
+            // 행이 없으면 잠글 대상이 없으므로 한 번도 lease 되지 않은 것으로 만들어 둠
+            jdbcTemplate.update("INSERT IGNORE INTO image_leases (url, leased_at) VALUES (?, ?)",
+                    url, Timestamp.from(Instant.EPOCH));
+            List<Timestamp> leasedAt = jdbcTemplate.queryForList(
+                    "SELECT leased_at FROM image_leases WHERE url = ? FOR UPDATE", Timestamp.class, url);
+            if (leasedAt.isEmpty() || leasedAt.get(0).toInstant().isAfter(cutoff) || !deletable.getAsBoolean()) {
+                return false;
+            }
+            delete.run();
+            jdbcTemplate.update("DELETE FROM image_leases WHERE url = ?", url);
+            return true;
+        });
+        return Boolean.TRUE.equals(deleted);
+    }
+}
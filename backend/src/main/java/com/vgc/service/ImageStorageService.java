@@ -3,8 +3,47 @@ package com.vgc.service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 public interface ImageStorageService {
+
+    record Stored(String url, Instant lastModified) {}
+
+    // 클라이언트가 직접 올릴 주소 - 같은 내용이 이미 있으면 exists=true, uploadUrl=null
+    record PresignedUpload(String imageUrl, String uploadUrl, Map<String, String> headers, boolean exists) {}
+
     String upload(MultipartFile file) throws IOException;
+
+    // 여러 장을 올리고 입력 순서대로 URL 반환 - 동시 업로드가 가능한 구현체는 재정의
+    default List<String> uploadAll(List<MultipartFile> files) throws IOException {
+        List<String> urls = new ArrayList<>(files.size());
+        for (MultipartFile file : files) {
+            urls.add(upload(file));
+        }
+        return urls;
+    }
+
+    // 직접 업로드용 서명 URL 발급 - 키는 클라이언트가 계산한 SHA-256으로 정하고 저장소가 내용과 일치하는지 검사
+    PresignedUpload presign(String originalFilename, String contentType, long size, String sha256Hex) throws IOException;
+
+    // 직접 업로드된 이미지가 실제로 있고 크기/형식 조건에 맞는지 확인
+    boolean verifyUploaded(String imageUrl, long maxSize);
+
+    // 서버에서 생성한 파일(썸네일 등) 저장, upload와 같은 형식의 URL 반환
+    String store(String fileName, byte[] data, String contentType) throws IOException;
+
+    InputStream open(String url) throws IOException;
+
+    // 저장된 모든 이미지를 한 건씩 전달 (전체 목록을 메모리에 올리지 않음)
+    void forEachStored(Consumer<Stored> consumer) throws IOException;
+
+    // 현재 수정 시각, 없으면 null (삭제 직전에 그 사이 재사용됐는지 다시 확인)
+    Instant lastModified(String url) throws IOException;
+
     void delete(String key);
 }
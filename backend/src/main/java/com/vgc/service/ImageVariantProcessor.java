@@ -0,0 +1,265 @@
+package com.vgc.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 원본 업로드 후 그리드 썸네일과 폭별 변환본을 만드는 작업자
+// - 요청 스레드가 아닌 제한된 작업자 풀에서 처리, 큐가 가득 차면 건너뜀 (화면은 원본으로 대체)
+// - 원본은 한 번만 디코딩하고 모든 크기를 그 이미지에서 생성
+// - EXIF Orientation 을 적용한 뒤 자르고 줄임 (휴대폰 세로 사진이 눕혀진 썸네일이 되지 않도록)
+// - 디코딩 전에 헤더의 가로/세로로 픽셀 수를 확인해 max-pixels 를 넘으면 건너뜀 (작은 파일이 거대한 비트맵으로 풀리는 경우 방지)
+// - 결과는 post_images.thumbnail_url/srcset, 대표 이미지면 posts.thumbnail_url 에 기록
+@Component
+public class ImageVariantProcessor {
+    private static final Logger log = LoggerFactory.getLogger(ImageVariantProcessor.class);
+
+    private final ImageStorageService imageStorageService;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int thumbnailWidth;
+    private final int thumbnailHeight;
+    private final int[] variantWidths;
+    private final float quality;
+    private final long maxPixels;
+    private final ThreadPoolExecutor executor;
+
+    private final Counter processed;
+    private final Counter failed;
+    private final Counter rejected;
+    private final Counter skipped;
+    private final Timer processTime;
+
+    public ImageVariantProcessor(ImageStorageService imageStorageService, JdbcTemplate jdbcTemplate,
+                                 ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry,
+                                 @Value("${vgc.image.workers:2}") int workers,
+                                 @Value("${vgc.image.queue-capacity:200}") int queueCapacity,
+                                 @Value("${vgc.image.thumbnail-width:480}") int thumbnailWidth,
+                                 @Value("${vgc.image.thumbnail-height:600}") int thumbnailHeight,
+                                 @Value("${vgc.image.variant-widths:640,1280}") String variantWidths,
+                                 @Value("${vgc.image.quality:0.8}") float quality,
+                                 @Value("${vgc.image.max-pixels:40000000}") long maxPixels) {
+        this.imageStorageService = imageStorageService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.thumbnailWidth = thumbnailWidth;
+        this.thumbnailHeight = thumbnailHeight;
+        this.variantWidths = Arrays.stream(variantWidths.split(","))
+                .map(String::trim).filter(s -> !s.isEmpty()).mapToInt(Integer::parseInt).sorted().toArray();
+        this.quality = quality;
+        this.maxPixels = maxPixels;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread t = new Thread(r, "image-variant-" + threadNumber.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+
+        this.processed = meterRegistry.counter("vgc.image.processed");
+        this.failed = meterRegistry.counter("vgc.image.failed");
+        this.rejected = meterRegistry.counter("vgc.image.rejected");
+        this.skipped = meterRegistry.counter("vgc.image.skipped");
+        this.processTime = meterRegistry.timer("vgc.image.process.time");
+        Gauge.builder("vgc.image.queue.size", executor, e -> e.getQueue().size()).register(meterRegistry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onImagesUploaded(ImagesUploadedEvent event) {
+        for (String url : event.imageUrls()) {
+            try {
+                executor.execute(() -> processTime.record(() -> process(url)));
+            } catch (RejectedExecutionException e) {
+                rejected.increment();
+                log.warn("Image variant queue is full, skipping {}", url);
+            }
+        }
+    }
+
+    private void process(String url) {
+        // 같은 내용의 이미지가 이미 변환되어 있으면 (내용 해시 키가 같음) 결과만 복사
+        List<Map<String, Object>> existing = jdbcTemplate.queryForList(
+                "SELECT thumbnail_url, srcset FROM post_images WHERE image_url = ? AND thumbnail_url IS NOT NULL LIMIT 1", url);
+        if (!existing.isEmpty()) {
+            record(url, (String) existing.get(0).get("thumbnail_url"), (String) existing.get(0).get("srcset"));
+            return;
+        }
+
+        BufferedImage source;
+        try (InputStream raw = imageStorageService.open(url);
+             ImageInputStream in = ImageIO.createImageInputStream(raw)) {
+            Iterator<ImageReader> readers = in != null ? ImageIO.getImageReaders(in) : Collections.emptyIterator();
+            if (!readers.hasNext()) {
+                // ImageIO가 읽지 못하는 형식은 원본만 사용
+                log.debug("Unsupported image format, skipping variants for {}", url);
+                return;
+            }
+            ImageReader reader = readers.next();
+            try {
+                // EXIF 방향을 읽어야 하므로 메타데이터는 유지
+                reader.setInput(in, true, false);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    skipped.increment();
+                    log.warn("Image {} has {} pixels (limit {}), skipping variants", url, pixels, maxPixels);
+                    return;
+                }
+                int orientation = ExifOrientation.read(reader.getImageMetadata(0));
+                source = ExifOrientation.apply(reader.read(0), orientation);
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            failed.increment();
+            log.warn("Failed to read image {}", url, e);
+            return;
+        }
+
+        try {
+            String base = url.replaceFirst("^/uploads/", "").replaceFirst("\\.[^./]+$", "");
+            String thumbnailUrl = imageStorageService.store(base + "_thumb.jpg",
+                    encode(cropToFill(source, thumbnailWidth, thumbnailHeight)), "image/jpeg");
+
+            List<String> srcset = new ArrayList<>();
+            for (int width : variantWidths) {
+                if (width >= source.getWidth()) break;
+                String variantUrl = imageStorageService.store(base + "_w" + width + ".jpg",
+                        encode(resizeToWidth(source, width)), "image/jpeg");
+                srcset.add(variantUrl + " " + width + "w");
+            }
+
+            record(url, thumbnailUrl, srcset.isEmpty() ? null : String.join(", ", srcset));
+            processed.increment();
+        } catch (IOException | RuntimeException e) {
+            failed.increment();
+            log.warn("Failed to generate variants for {}", url, e);
+        }
+    }
+
+    private void record(String url, String thumbnailUrl, String srcset) {
+        jdbcTemplate.update("UPDATE post_images SET thumbnail_url = ?, srcset = ? WHERE image_url = ?",
+                thumbnailUrl, srcset, url);
+        // 대표 이미지였다면 피드 카드 썸네일도 갱신하고 캐시 무효화
+        List<Map<String, Object>> covers = jdbcTemplate.queryForList(
+                "SELECT id, category FROM posts WHERE image_url = ?", url);
+        if (!covers.isEmpty()) {
+            jdbcTemplate.update("UPDATE posts SET thumbnail_url = ? WHERE image_url = ?", thumbnailUrl, url);
+            for (Map<String, Object> row : covers) {
+                eventPublisher.publishEvent(new PostChangedEvent(((Number) row.get("id")).longValue(),
+                        (String) row.get("category"), PostChangedEvent.Kind.CONTENT));
+            }
+        }
+    }
+
+    // 가운데를 기준으로 목표 비율로 자른 뒤 축소
+    private BufferedImage cropToFill(BufferedImage source, int width, int height) {
+        double scale = Math.max((double) width / source.getWidth(), (double) height / source.getHeight());
+        int cropWidth = (int) Math.round(width / scale);
+        int cropHeight = (int) Math.round(height / scale);
+        int x = (source.getWidth() - cropWidth) / 2;
+        int y = (source.getHeight() - cropHeight) / 2;
+        BufferedImage cropped = source.getSubimage(Math.max(0, x), Math.max(0, y),
+                Math.min(cropWidth, source.getWidth()), Math.min(cropHeight, source.getHeight()));
+        return scale(cropped, width, height);
+    }
+
+    private BufferedImage resizeToWidth(BufferedImage source, int width) {
+        int height = Math.max(1, (int) Math.round((double) source.getHeight() * width / source.getWidth()));
+        return scale(source, width, height);
+    }
+
+    // 한 번에 크게 줄이면 계단 현상이 생기므로 절반씩 줄인 뒤 마지막에 목표 크기로 맞춤
+    private BufferedImage scale(BufferedImage source, int width, int height) {
+        BufferedImage current = source;
+        int w = source.getWidth();
+        int h = source.getHeight();
+        do {
+            w = Math.max(width, w / 2);
+            h = Math.max(height, h / 2);
+            current = draw(current, w, h);
+        } while (w != width || h != height);
+        return current;
+    }
+
+    // JPEG는 알파를 지원하지 않으므로 흰 배경의 RGB로 그림
+    private static BufferedImage draw(BufferedImage source, int width, int height) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, width, height);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+
+    private byte[] encode(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(ios);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.warn("Dropping {} pending image variant jobs at shutdown", executor.getQueue().size());
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.vgc.service;
+
+import java.util.List;
+
+// 게시글 이미지 원본 업로드 후 발행 - 커밋 뒤 ImageVariantProcessor가 썸네일/변환본 생성
+public record ImagesUploadedEvent(List<String> imageUrls) {}
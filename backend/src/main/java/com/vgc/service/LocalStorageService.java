@@ -2,14 +2,32 @@ package com.vgc.service;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.UUID;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @Profile("local")
@@ -18,15 +36,181 @@ public class LocalStorageService implements ImageStorageService {
     @Value("${file.upload-dir}")
     private String uploadDir;
 
+    @Value("${vgc.upload.presign-ttl-ms:600000}")
+    private long presignTtlMs;
+
+    private final ImageLeases imageLeases;
+    private final String signingSecret;
+
+    // 업로드 서명 키는 JWT 키와 따로 둠 - 한쪽이 새어도 다른 쪽 서명을 만들 수 없도록
+    public LocalStorageService(ImageLeases imageLeases,
+                               @Value("${vgc.upload.signing-secret:}") String signingSecret,
+                               @Value("${jwt.secret}") String jwtSecret) {
+        if (signingSecret.getBytes(StandardCharsets.UTF_8).length < 32) {
+            throw new IllegalStateException("vgc.upload.signing-secret 은 32바이트 이상이어야 합니다.");
+        }
+        if (signingSecret.equals(jwtSecret)) {
+            throw new IllegalStateException("vgc.upload.signing-secret 은 jwt.secret 과 달라야 합니다.");
+        }
+        this.imageLeases = imageLeases;
+        this.signingSecret = signingSecret;
+    }
+
+    // 임시 파일로 복사하면서 해시를 계산하고 내용 해시 이름으로 옮김 - 이미 있으면 임시 파일만 버리고 수정 시각만 갱신
     @Override
     public String upload(MultipartFile file) throws IOException {
         Path uploadPath = Paths.get(uploadDir);
         Files.createDirectories(uploadPath);
-        String fileName = UUID.randomUUID() + "_" + file.getOriginalFilename();
-        Files.copy(file.getInputStream(), uploadPath.resolve(fileName));
+        Path temp = Files.createTempFile(uploadPath, "upload-", ".tmp");
+        try {
+            MessageDigest digest = ContentKeys.sha256();
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+                Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String fileName = ContentKeys.fileName(digest, file.getOriginalFilename());
+            imageLeases.lease("/uploads/" + fileName);
+            moveIntoPlace(temp, uploadPath.resolve(fileName));
+            return "/uploads/" + fileName;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void moveIntoPlace(Path temp, Path target) throws IOException {
+        if (touch(target)) return;
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // 같은 사진이 동시에 올라온 경우 - 먼저 옮겨진 파일 사용
+            touch(target);
+        }
+    }
+
+    // 이미 있는 파일을 재사용할 때 수정 시각을 갱신해 ImageGarbageCollector의 유예 기간이 다시 시작되게 함
+    // (참조 행이 커밋되기 전에 "오래된 미참조 파일"로 지워지지 않도록 - 호출 전에 lease 를 먼저 기록해 GC 삭제와 겹치지 않게 함)
+    private static boolean touch(Path target) throws IOException {
+        try {
+            Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+            return true;
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    // S3 presigned PUT과 같은 흐름을 로컬에서 쓰도록 HMAC 서명된 업로드 주소 발급 (UploadController가 받음)
+    @Override
+    public PresignedUpload presign(String originalFilename, String contentType, long size, String sha256Hex) throws IOException {
+        String fileName = ContentKeys.fileName(sha256Hex, originalFilename);
+        imageLeases.lease("/uploads/" + fileName);
+        if (touch(Paths.get(uploadDir).resolve(fileName))) {
+            return new PresignedUpload("/uploads/" + fileName, null, Map.of(), true);
+        }
+        long expires = System.currentTimeMillis() + presignTtlMs;
+        String uploadUrl = "/api/uploads/local/" + fileName
+                + "?contentType=" + URLEncoder.encode(contentType, StandardCharsets.UTF_8)
+                + "&size=" + size
+                + "&expires=" + expires
+                + "&signature=" + sign(fileName, contentType, size, expires);
+        return new PresignedUpload("/uploads/" + fileName, uploadUrl, Map.of("Content-Type", contentType), false);
+    }
+
+    // 서명 URL로 올라온 본문 저장 - 서명/만료/크기/내용 해시가 모두 맞아야 저장
+    public void receive(String fileName, String contentType, long size, long expires, String signature,
+                        InputStream body) throws IOException {
+        if (expires < System.currentTimeMillis() || signature == null
+                || !MessageDigest.isEqual(sign(fileName, contentType, size, expires).getBytes(StandardCharsets.US_ASCII),
+                        signature.getBytes(StandardCharsets.US_ASCII))) {
+            throw new RuntimeException("유효하지 않은 업로드 주소입니다.");
+        }
+        Path uploadPath = Paths.get(uploadDir);
+        Files.createDirectories(uploadPath);
+        Path temp = Files.createTempFile(uploadPath, "upload-", ".tmp");
+        try {
+            MessageDigest digest = ContentKeys.sha256();
+            long written = 0;
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                byte[] buffer = new byte[8192];
+                int read;
+                while ((read = body.read(buffer)) != -1) {
+                    written += read;
+                    if (written > size) {
+                        throw new RuntimeException("업로드 크기가 요청과 다릅니다.");
+                    }
+                    digest.update(buffer, 0, read);
+                    out.write(buffer, 0, read);
+                }
+            }
+            if (written != size) {
+                throw new RuntimeException("업로드 크기가 요청과 다릅니다.");
+            }
+            if (!ContentKeys.fileName(digest, fileName).equals(fileName)) {
+                throw new RuntimeException("업로드 내용이 요청한 해시와 다릅니다.");
+            }
+            imageLeases.lease("/uploads/" + fileName);
+            moveIntoPlace(temp, uploadPath.resolve(fileName));
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public boolean verifyUploaded(String imageUrl, long maxSize) {
+        Path file = Paths.get(uploadDir).resolve(imageUrl.replaceFirst("^/uploads/", ""));
+        try {
+            return Files.isRegularFile(file) && Files.size(file) <= maxSize
+                    && MediaTypeFactory.getMediaType(file.getFileName().toString())
+                            .map(type -> "image".equals(type.getType())).orElse(false);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private String sign(String fileName, String contentType, long size, long expires) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(signingSecret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            byte[] signature = mac.doFinal((fileName + "\n" + contentType + "\n" + size + "\n" + expires)
+                    .getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public String store(String fileName, byte[] data, String contentType) throws IOException {
+        Path uploadPath = Paths.get(uploadDir);
+        Files.createDirectories(uploadPath);
+        Files.write(uploadPath.resolve(fileName), data);
         return "/uploads/" + fileName;
     }
 
+    @Override
+    public InputStream open(String url) throws IOException {
+        return Files.newInputStream(Paths.get(uploadDir).resolve(url.replaceFirst("^/uploads/", "")));
+    }
+
+    @Override
+    public void forEachStored(Consumer<Stored> consumer) throws IOException {
+        Path uploadPath = Paths.get(uploadDir);
+        if (!Files.isDirectory(uploadPath)) return;
+        try (Stream<Path> paths = Files.walk(uploadPath)) {
+            for (Path path : (Iterable<Path>) paths.filter(Files::isRegularFile)::iterator) {
+                String relative = uploadPath.relativize(path).toString().replace('\\', '/');
+                consumer.accept(new Stored("/uploads/" + relative, Files.getLastModifiedTime(path).toInstant()));
+            }
+        }
+    }
+
+    @Override
+    public Instant lastModified(String url) throws IOException {
+        try {
+            return Files.getLastModifiedTime(Paths.get(uploadDir).resolve(url.replaceFirst("^/uploads/", ""))).toInstant();
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
     @Override
     public void delete(String key) {
         try {
@@ -0,0 +1,23 @@
+package com.vgc.service;
+
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+// 대화별 토픽 대신 참여자 각자의 사용자 큐로 메시지 전달
+@Component
+public class MessageNotifier {
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    public MessageNotifier(SimpMessagingTemplate messagingTemplate) {
+        this.messagingTemplate = messagingTemplate;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMessageSent(MessageSentEvent event) {
+        for (String email : event.getRecipientEmails()) {
+            messagingTemplate.convertAndSendToUser(email, "/queue/messages", event.getMessage());
+        }
+    }
+}
@@ -0,0 +1,481 @@
+package com.vgc.service;
+
+import com.vgc.dto.MessageResponse;
+import com.vgc.entity.Conversation;
+import com.vgc.entity.Message;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedRuntimeException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// vgc.chat.persistence=async 일 때 사용하는 메시지 저장 파이프라인
+// - 검증된 메시지에 id/시각을 미리 부여하고 즉시 전달, DB 반영은 단일 writer 스레드가 배치로 처리
+// - 큐가 가득 차면 offer-timeout 동안 기다린 뒤 전송 실패로 응답 (backpressure)
+// - writer가 하나라 큐 순서 = 저장 순서, 대화별 순서도 그대로 유지
+// - 배치는 한 트랜잭션으로 쓰고 실패하면 max-attempts 까지 재시도, id가 미리 정해져 있어 INSERT IGNORE로 중복 없이 재시도 가능
+// - 그래도 실패하면 배치를 반으로 나눠 다시 쓰고, 한 건만 남아도 실패하면 message_dead_letters 에 남기고 넘어감
+//   (삭제된 대화로 가는 메시지 같은 한 건이 파이프라인 전체를 막지 않도록)
+// - 전달 보장은 at-most-once: 접수 즉시 응답하고 메모리 큐에만 있으므로 DB 반영 전에 프로세스가 죽으면 유실됨
+//   종료 시에는 shutdown-timeout 동안 큐를 비움. 유실이 허용되지 않으면 기본값인 sync 모드를 사용
+// - id는 message_id_allocator 테이블에서 블록 단위로 받으므로 모든 노드가 같은 모드로 동작해야 함
+// - 다음 블록은 전용 스레드가 미리 받아 두므로 전송 경로는 메모리 카운터만 잠그고 호출자 트랜잭션 밖에서 커넥션을 더 쓰지 않음
+@Component
+public class MessagePipeline {
+    private static final Logger log = LoggerFactory.getLogger(MessagePipeline.class);
+
+    private static final String INSERT_SQL =
+            "INSERT IGNORE INTO messages (id, conversation_id, sender_id, content, system_message, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String LAST_MESSAGE_SQL =
+            "UPDATE conversations SET updated_at = ?, last_message_preview = ?, last_message_at = ?, last_sender_id = ?, last_message_id = ? " +
+            "WHERE id = ? AND (last_message_id IS NULL OR last_message_id < ?)";
+    // 이미 해당 메시지까지 읽음 처리됐거나 수신자가 나간 대화는 증가시키지 않음
+    private static final String USER1_UNREAD_SQL =
+            "UPDATE conversations SET user1unread_count = user1unread_count + ? " +
+            "WHERE id = ? AND user1left = false AND (user1last_read_message_id IS NULL OR user1last_read_message_id < ?)";
+    private static final String USER2_UNREAD_SQL =
+            "UPDATE conversations SET user2unread_count = user2unread_count + ? " +
+            "WHERE id = ? AND user2left = false AND (user2last_read_message_id IS NULL OR user2last_read_message_id < ?)";
+    // 사용자 합계는 대화 카운터와 같은 조건일 때만 같은 만큼 증가 (대화 행은 위 UPDATE 로 이미 잠겨 있음)
+    private static final String USER1_TOTAL_SQL =
+            "UPDATE users SET unread_total = unread_total + ? WHERE id = ? AND EXISTS (SELECT 1 FROM conversations " +
+            "WHERE id = ? AND user1left = false AND (user1last_read_message_id IS NULL OR user1last_read_message_id < ?))";
+    private static final String USER2_TOTAL_SQL =
+            "UPDATE users SET unread_total = unread_total + ? WHERE id = ? AND EXISTS (SELECT 1 FROM conversations " +
+            "WHERE id = ? AND user2left = false AND (user2last_read_message_id IS NULL OR user2last_read_message_id < ?))";
+    private static final String DEAD_LETTER_SQL =
+            "INSERT IGNORE INTO message_dead_letters (id, conversation_id, sender_id, content, system_message, created_at, error, failed_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    record Pending(long seq, long id, Long conversationId, Long senderId, String content, boolean system,
+                   LocalDateTime createdAt, boolean recipientIsUser1, Long recipientId, String recipientEmail) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate batchTransaction;
+    private final TransactionTemplate allocatorTransaction;
+    private final ExecutorService allocator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long offerTimeoutMs;
+    private final long retryBackoffMs;
+    private final int maxAttempts;
+    private final long shutdownTimeoutMs;
+    private final int idBlockSize;
+    private final BlockingQueue<Pending> queue;
+
+    private final Counter written;
+    private final Counter rejected;
+    private final Counter failures;
+    private final Counter deadLettered;
+
+    // submitLock: id 할당과 큐 삽입 순서 보장, writtenLock: writtenSeq 대기/통지
+    // 가상 스레드에서 호출돼도 캐리어 스레드가 고정되지 않도록 synchronized 대신 ReentrantLock 사용
+    private final ReentrantLock submitLock = new ReentrantLock();
+    private final Condition spareReady = submitLock.newCondition();
+    private final ReentrantLock writtenLock = new ReentrantLock();
+    private final Condition writtenAdvanced = writtenLock.newCondition();
+    // 현재 블록 [nextId, blockEnd), 미리 받아 둔 다음 블록 시작값 (없으면 -1) - submitLock 으로 보호
+    private long nextId = 0;
+    private long blockEnd = 0;
+    private long spareStart = -1;
+    private boolean refilling = false;
+    private volatile long acceptedSeq = 0;
+    private volatile long acceptedId = 0;
+    private long writtenSeq = 0;
+    private long writtenId = 0;
+    private volatile boolean running = false;
+    private Thread writer;
+
+    public MessagePipeline(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                           ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry,
+                           @Value("${vgc.chat.persistence:sync}") String persistenceMode,
+                           @Value("${vgc.chat.pipeline.queue-capacity:10000}") int queueCapacity,
+                           @Value("${vgc.chat.pipeline.batch-size:200}") int batchSize,
+                           @Value("${vgc.chat.pipeline.offer-timeout-ms:200}") long offerTimeoutMs,
+                           @Value("${vgc.chat.pipeline.retry-backoff-ms:1000}") long retryBackoffMs,
+                           @Value("${vgc.chat.pipeline.max-attempts:3}") int maxAttempts,
+                           @Value("${vgc.chat.pipeline.shutdown-timeout-ms:10000}") long shutdownTimeoutMs,
+                           @Value("${vgc.chat.pipeline.id-block-size:1000}") int idBlockSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.allocatorTransaction = new TransactionTemplate(transactionManager);
+        this.allocator = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "chat-id-allocator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.eventPublisher = eventPublisher;
+        this.enabled = "async".equals(persistenceMode);
+        this.batchSize = batchSize;
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.retryBackoffMs = retryBackoffMs;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+        this.idBlockSize = idBlockSize;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.written = meterRegistry.counter("vgc.chat.pipeline.written");
+        this.rejected = meterRegistry.counter("vgc.chat.pipeline.rejected");
+        this.failures = meterRegistry.counter("vgc.chat.pipeline.failures");
+        this.deadLettered = meterRegistry.counter("vgc.chat.pipeline.dead-lettered");
+        Gauge.builder("vgc.chat.pipeline.queue.size", queue, BlockingQueue::size).register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS message_id_allocator (id INT PRIMARY KEY, next_id BIGINT NOT NULL)");
+        jdbcTemplate.update("INSERT IGNORE INTO message_id_allocator (id, next_id) VALUES (1, 1)");
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS message_dead_letters (id BIGINT PRIMARY KEY, conversation_id BIGINT, " +
+                "sender_id BIGINT, content TEXT, system_message BOOLEAN, created_at TIMESTAMP(6), error VARCHAR(1000), failed_at TIMESTAMP(6))");
+        // 동기 모드에서 AUTO_INCREMENT로 저장된 id 이후부터 할당
+        jdbcTemplate.update("UPDATE message_id_allocator SET next_id = GREATEST(next_id, (SELECT COALESCE(MAX(id), 0) + 1 FROM messages)) WHERE id = 1");
+        nextId = reserveBlock();
+        blockEnd = nextId + idBlockSize;
+
+        running = true;
+        writer = new Thread(this::runWriter, "chat-message-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // id/생성 시각을 부여하고 큐에 넣은 뒤 바로 응답을 돌려줌
+    public MessageResponse submit(Message message, boolean recipientIsUser1, Long recipientId, String recipientEmail) {
+        if (!running) {
+            throw new RuntimeException("메시지를 저장할 수 없는 상태입니다.");
+        }
+        // 배치 전체를 실패시키지 않도록 DB 제약(NOT NULL, 길이)에 걸릴 내용은 접수 전에 거절
+        String content = message.getContent();
+        if (content == null || content.isBlank()) {
+            throw new RuntimeException("메시지 내용을 입력해주세요.");
+        }
+        if (content.length() > Message.MAX_CONTENT_LENGTH) {
+            throw new RuntimeException("메시지는 " + Message.MAX_CONTENT_LENGTH + "자까지 보낼 수 있습니다.");
+        }
+        Pending pending;
+        submitLock.lock();
+        try {
+            // allocateId 가 새 블록을 기다리는 동안 락이 풀리므로 seq 와 시각은 id 를 받은 뒤에 정함 (id 순서 = 시각 순서)
+            message.setId(allocateId());
+            long seq = acceptedSeq + 1;
+            LocalDateTime now = LocalDateTime.now();
+            message.setCreatedAt(now);
+            pending = new Pending(seq, message.getId(), message.getConversation().getId(),
+                    message.getSender() != null ? message.getSender().getId() : null,
+                    message.getContent(), message.isSystemMessage(), now,
+                    recipientIsUser1, recipientId, recipientEmail);
+            try {
+                // 큐 순서와 seq 순서가 같도록 락을 잡은 채로 넣음
+                if (!queue.offer(pending, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                    rejected.increment();
+                    throw new RuntimeException("메시지 전송이 지연되고 있습니다. 잠시 후 다시 시도해주세요.");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("메시지 전송이 중단되었습니다.");
+            }
+            acceptedId = message.getId();
+            acceptedSeq = seq;
+        } finally {
+            submitLock.unlock();
+        }
+        return MessageResponse.from(message);
+    }
+
+    // 지금까지 접수된 메시지가 모두 DB에 반영될 때까지 대기 (대화 삭제 전 등)
+    public void awaitWritten() {
+        if (!enabled) {
+            return;
+        }
+        long deadline = System.currentTimeMillis() + shutdownTimeoutMs;
+        long target = acceptedSeq;
+        writtenLock.lock();
+        try {
+            while (writtenSeq < target) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    throw new RuntimeException("메시지 저장이 지연되고 있습니다. 잠시 후 다시 시도해주세요.");
+                }
+                try {
+                    writtenAdvanced.await(remaining, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("메시지 저장 대기가 중단되었습니다.");
+                }
+            }
+        } finally {
+            writtenLock.unlock();
+        }
+    }
+
+    // 이 노드에서 접수됐지만 아직 쓰이지 않은 메시지면 반영될 때까지 대기
+    // 이미 쓰였거나 이 노드가 접수하지 않은 id(다른 노드, 잘못된 값)면 기다리지 않고 바로 반환
+    public void awaitWritten(long messageId) {
+        if (!enabled || messageId > acceptedId) {
+            return;
+        }
+        long deadline = System.currentTimeMillis() + shutdownTimeoutMs;
+        writtenLock.lock();
+        try {
+            while (writtenId < messageId) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    throw new RuntimeException("메시지 저장이 지연되고 있습니다. 잠시 후 다시 시도해주세요.");
+                }
+                try {
+                    writtenAdvanced.await(remaining, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("메시지 저장 대기가 중단되었습니다.");
+                }
+            }
+        } finally {
+            writtenLock.unlock();
+        }
+    }
+
+    // submitLock 을 잡은 상태에서 호출 - 블록이 절반 이하로 남으면 다음 블록을 미리 요청
+    private long allocateId() {
+        if (nextId >= blockEnd) {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(offerTimeoutMs);
+            while (spareStart < 0) {
+                requestRefill();
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    rejected.increment();
+                    throw new RuntimeException("메시지 전송이 지연되고 있습니다. 잠시 후 다시 시도해주세요.");
+                }
+                try {
+                    spareReady.awaitNanos(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("메시지 전송이 중단되었습니다.");
+                }
+            }
+            nextId = spareStart;
+            blockEnd = spareStart + idBlockSize;
+            spareStart = -1;
+        }
+        if (spareStart < 0 && blockEnd - nextId <= Math.max(1, idBlockSize / 2)) {
+            requestRefill();
+        }
+        return nextId++;
+    }
+
+    private void requestRefill() {
+        if (refilling) {
+            return;
+        }
+        refilling = true;
+        allocator.execute(() -> {
+            Long start = null;
+            try {
+                start = reserveBlock();
+            } catch (RuntimeException e) {
+                log.warn("Failed to reserve chat message id block", e);
+            }
+            submitLock.lock();
+            try {
+                refilling = false;
+                if (start != null) {
+                    spareStart = start;
+                    spareReady.signalAll();
+                }
+            } finally {
+                submitLock.unlock();
+            }
+        });
+    }
+
+    // 할당 테이블에서 블록 하나를 예약 (allocator 스레드/시작 시에만 호출되므로 요청 트랜잭션과 섞이지 않음)
+    private long reserveBlock() {
+        return allocatorTransaction.execute(status -> {
+            Long current = jdbcTemplate.queryForObject(
+                    "SELECT next_id FROM message_id_allocator WHERE id = 1 FOR UPDATE", Long.class);
+            jdbcTemplate.update("UPDATE message_id_allocator SET next_id = ? WHERE id = 1", current + idBlockSize);
+            return current;
+        });
+    }
+
+    private void runWriter() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                writeWithRetry(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+    }
+
+    private void writeWithRetry(List<Pending> batch) throws InterruptedException {
+        persist(batch);
+        written.increment(batch.size());
+        writtenLock.lock();
+        try {
+            Pending last = batch.get(batch.size() - 1);
+            writtenSeq = last.seq();
+            writtenId = last.id();
+            writtenAdvanced.signalAll();
+        } finally {
+            writtenLock.unlock();
+        }
+        // 안 읽은 수는 DB 반영 후에 푸시
+        Map<String, UnreadChangedEvent> unread = new LinkedHashMap<>();
+        for (Pending p : batch) {
+            unread.putIfAbsent(p.conversationId() + ":" + p.recipientId(),
+                    new UnreadChangedEvent(p.recipientId(), p.recipientEmail(), p.conversationId()));
+        }
+        unread.values().forEach(eventPublisher::publishEvent);
+    }
+
+    // max-attempts 번 실패하면 반씩 나눠 다시 쓰고, 한 건만 남으면 dead letter 로 옮김 (앞쪽 절반부터 써서 순서 유지)
+    private void persist(List<Pending> batch) throws InterruptedException {
+        RuntimeException error = null;
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                batchTransaction.executeWithoutResult(status -> write(batch));
+                return;
+            } catch (RuntimeException e) {
+                error = e;
+                failures.increment();
+                log.warn("Failed to persist {} chat messages (attempt {}/{})", batch.size(), attempt, maxAttempts, e);
+                if (attempt < maxAttempts) {
+                    Thread.sleep(retryBackoffMs);
+                }
+            }
+        }
+        if (batch.size() == 1) {
+            deadLetter(batch.get(0), error);
+            return;
+        }
+        int half = batch.size() / 2;
+        persist(batch.subList(0, half));
+        persist(batch.subList(half, batch.size()));
+    }
+
+    // dead letter 기록도 실패하면(DB 장애) 메시지를 버리지 않고 기록될 때까지 재시도
+    private void deadLetter(Pending p, RuntimeException error) throws InterruptedException {
+        String reason = error instanceof NestedRuntimeException nested
+                ? String.valueOf(nested.getMostSpecificCause()) : String.valueOf(error);
+        String truncated = reason.length() > 1000 ? reason.substring(0, 1000) : reason;
+        while (true) {
+            try {
+                jdbcTemplate.update(DEAD_LETTER_SQL, p.id(), p.conversationId(), p.senderId(), p.content(), p.system(),
+                        Timestamp.valueOf(p.createdAt()), truncated, Timestamp.valueOf(LocalDateTime.now()));
+                deadLettered.increment();
+                log.error("Moved chat message {} of conversation {} to message_dead_letters: {}", p.id(), p.conversationId(), truncated);
+                return;
+            } catch (RuntimeException e) {
+                failures.increment();
+                log.warn("Failed to dead-letter chat message {}, retrying in {}ms", p.id(), retryBackoffMs, e);
+                Thread.sleep(retryBackoffMs);
+            }
+        }
+    }
+
+    // 커밋 후 실패로 보고돼 같은 배치를 다시 써도 결과가 같도록, 카운터는 이번에 실제로 삽입된 메시지만 반영
+    void write(List<Pending> batch) {
+        List<Object[]> inserts = new ArrayList<>(batch.size());
+        for (Pending p : batch) {
+            inserts.add(new Object[]{p.id(), p.conversationId(), p.senderId(), p.content(), p.system(), Timestamp.valueOf(p.createdAt())});
+        }
+        int[] inserted = jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+
+        Map<Long, Pending> lastByConversation = new LinkedHashMap<>();
+        Map<Long, long[]> user1Unread = new LinkedHashMap<>();
+        Map<Long, long[]> user2Unread = new LinkedHashMap<>();
+        for (int i = 0; i < batch.size(); i++) {
+            Pending p = batch.get(i);
+            lastByConversation.put(p.conversationId(), p);
+            // 0 = INSERT IGNORE 로 건너뜀 (이전 시도에서 이미 저장), 드라이버가 개수를 주지 않으면(음수) 삽입으로 간주
+            if (inserted[i] == 0) {
+                continue;
+            }
+            // {증가분, 배치 내 마지막 메시지 id, 수신자 id}
+            long[] counter = (p.recipientIsUser1() ? user1Unread : user2Unread)
+                    .computeIfAbsent(p.conversationId(), id -> new long[]{0, 0, p.recipientId()});
+            counter[0]++;
+            counter[1] = p.id();
+        }
+
+        // 대화별로 한 번만 갱신
+        List<Object[]> lastMessages = new ArrayList<>(lastByConversation.size());
+        for (Pending p : lastByConversation.values()) {
+            String preview = Conversation.preview(p.content());
+            Timestamp at = Timestamp.valueOf(p.createdAt());
+            lastMessages.add(new Object[]{at, preview, at, p.senderId(), p.id(), p.conversationId(), p.id()});
+        }
+        jdbcTemplate.batchUpdate(LAST_MESSAGE_SQL, lastMessages);
+        jdbcTemplate.batchUpdate(USER1_UNREAD_SQL, unreadArgs(user1Unread));
+        jdbcTemplate.batchUpdate(USER2_UNREAD_SQL, unreadArgs(user2Unread));
+        jdbcTemplate.batchUpdate(USER1_TOTAL_SQL, totalArgs(user1Unread));
+        jdbcTemplate.batchUpdate(USER2_TOTAL_SQL, totalArgs(user2Unread));
+    }
+
+    private List<Object[]> unreadArgs(Map<Long, long[]> counters) {
+        List<Object[]> args = new ArrayList<>(counters.size());
+        counters.forEach((conversationId, c) -> args.add(new Object[]{c[0], conversationId, c[1]}));
+        return args;
+    }
+
+    private List<Object[]> totalArgs(Map<Long, long[]> counters) {
+        List<Object[]> args = new ArrayList<>(counters.size());
+        counters.forEach((conversationId, c) -> args.add(new Object[]{c[0], c[2], conversationId, c[1]}));
+        return args;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        allocator.shutdownNow();
+        if (!enabled || writer == null) {
+            return;
+        }
+        running = false;
+        try {
+            writer.join(shutdownTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty()) {
+            log.warn("Dropping {} unsaved chat messages after shutdown timeout", queue.size());
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.vgc.service;
+
+import com.vgc.dto.MessageResponse;
+
+import java.util.List;
+
+// 메시지 저장 후 발행 - 커밋 후 참여자별 /user/queue/messages 로 전달
+public class MessageSentEvent {
+
+    private final MessageResponse message;
+    private final List<String> recipientEmails;
+
+    public MessageSentEvent(MessageResponse message, List<String> recipientEmails) {
+        this.message = message;
+        this.recipientEmails = recipientEmails;
+    }
+
+    public MessageResponse getMessage() { return message; }
+    public List<String> getRecipientEmails() { return recipientEmails; }
+}
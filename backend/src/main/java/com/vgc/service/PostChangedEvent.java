@@ -0,0 +1,33 @@
+package com.vgc.service;
+
+// 피드 캐시 무효화를 위해 게시글 변경 시 발행되는 이벤트
+public class PostChangedEvent {
+
+    public enum Kind {
+        MEMBERSHIP, // 생성, 삭제, 상태/카테고리 변경 - 피드 구성 자체가 바뀜
+        CONTENT,    // 제목, 이미지 등 표시 내용 변경
+        LIKES,      // 좋아요 수 변경 - popular 정렬 순서에도 영향
+        COMMENTS    // 댓글 수 변경
+    }
+
+    private final Long postId;
+    private final String category;
+    private final String previousCategory;
+    private final Kind kind;
+
+    public PostChangedEvent(Long postId, String category, Kind kind) {
+        this(postId, category, category, kind);
+    }
+
+    public PostChangedEvent(Long postId, String category, String previousCategory, Kind kind) {
+        this.postId = postId;
+        this.category = category;
+        this.previousCategory = previousCategory;
+        this.kind = kind;
+    }
+
+    public Long getPostId() { return postId; }
+    public String getCategory() { return category; }
+    public String getPreviousCategory() { return previousCategory; }
+    public Kind getKind() { return kind; }
+}
@@ -1,10 +1,13 @@
 package com.vgc.service;
 
+import com.vgc.dto.InteractionStateResponse;
+import com.vgc.dto.LikeResponse;
+import com.vgc.dto.PostCardResponse;
 import com.vgc.dto.PostRequest;
 import com.vgc.dto.PostResponse;
+import com.vgc.dto.SliceResponse;
 import com.vgc.entity.Post;
 import com.vgc.entity.PostImage;
-import com.vgc.entity.PostLike;
 import com.vgc.entity.PostStatus;
 import com.vgc.entity.User;
 import com.vgc.repository.BookmarkRepository;
@@ -13,16 +16,22 @@ import com.vgc.repository.CommentRepository;
 import com.vgc.repository.PostImageRepository;
 import com.vgc.repository.PostLikeRepository;
 import com.vgc.repository.PostRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -34,8 +43,11 @@ public class PostService {
     private final BookmarkRepository bookmarkRepository;
     private final CategoryRepository categoryRepository;
     private final ImageStorageService imageStorageService;
+    private final DirectUploadService directUploadService;
+    private final PostViewCounter postViewCounter;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public PostService(PostRepository postRepository, CommentRepository commentRepository, PostLikeRepository postLikeRepository, PostImageRepository postImageRepository, BookmarkRepository bookmarkRepository, CategoryRepository categoryRepository, ImageStorageService imageStorageService) {
+    public PostService(PostRepository postRepository, CommentRepository commentRepository, PostLikeRepository postLikeRepository, PostImageRepository postImageRepository, BookmarkRepository bookmarkRepository, CategoryRepository categoryRepository, ImageStorageService imageStorageService, DirectUploadService directUploadService, PostViewCounter postViewCounter, ApplicationEventPublisher eventPublisher) {
         this.postRepository = postRepository;
         this.commentRepository = commentRepository;
         this.postLikeRepository = postLikeRepository;
@@ -43,45 +55,106 @@ public class PostService {
         this.bookmarkRepository = bookmarkRepository;
         this.categoryRepository = categoryRepository;
         this.imageStorageService = imageStorageService;
+        this.directUploadService = directUploadService;
+        this.postViewCounter = postViewCounter;
+        this.eventPublisher = eventPublisher;
     }
 
     public Page<PostResponse> getAllPosts(String category, String sort, String status, int page, int size) {
-        Sort sortOrder = switch (sort) {
-            case "popular" -> Sort.by(Sort.Direction.DESC, "likeCount");
-            case "views" -> Sort.by(Sort.Direction.DESC, "viewCount");
-            default -> Sort.by(Sort.Direction.DESC, "createdAt");
-        };
+        PageRequest pageRequest = PageRequest.of(page, size, feedSort(sort));
 
-        PageRequest pageRequest = PageRequest.of(page, size, sortOrder);
+        Page<Long> ids;
+        if (category != null && !category.isEmpty()) {
+            if (status != null && !status.isEmpty()) {
+                PostStatus postStatus = PostStatus.valueOf(status);
+                ids = postRepository.findPageIdsByCategoryAndStatus(category, postStatus, pageRequest);
+            } else {
+                ids = postRepository.findPageIdsByCategory(category, pageRequest);
+            }
+        } else {
+            ids = postRepository.findPageIds(pageRequest);
+        }
+        return postRepository.fetchPage(ids).map(PostResponse::from);
+    }
+
+    public Page<PostCardResponse> getAllPostCards(String category, String sort, String status, int page, int size) {
+        PageRequest pageRequest = PageRequest.of(page, size, feedSort(sort));
+
+        Page<PostCardResponse> cards;
+        if (category != null && !category.isEmpty()) {
+            if (status != null && !status.isEmpty()) {
+                PostStatus postStatus = PostStatus.valueOf(status);
+                cards = postRepository.findCardsByCategoryAndStatus(category, postStatus, pageRequest);
+            } else {
+                cards = postRepository.findCardsByCategory(category, pageRequest);
+            }
+        } else {
+            cards = postRepository.findCards(pageRequest);
+        }
+        return cards;
+    }
+
+    public Page<PostCardResponse> getPostCardsByAuthor(Long authorId, int page, int size) {
+        return postRepository.findCardsByAuthorId(authorId, PageRequest.of(page, size));
+    }
+
+    private Sort feedSort(String sort) {
+        return FeedCursor.sortOf(FeedCursor.normalize(sort));
+    }
 
-        Page<Post> posts;
+    public SliceResponse<PostResponse> getFeed(String category, String sort, String status, String cursor, int size) {
+        String sortKey = FeedCursor.normalize(sort);
+        Sort sortOrder = FeedCursor.sortOf(sortKey);
+        ScrollPosition position = FeedCursor.decode(sortKey, cursor);
+        Limit limit = Limit.of(size);
+
+        Window<Post> window;
         if (category != null && !category.isEmpty()) {
             if (status != null && !status.isEmpty()) {
                 PostStatus postStatus = PostStatus.valueOf(status);
-                posts = postRepository.findByCategoryAndStatus(category, postStatus, pageRequest);
+                window = postRepository.findByCategoryAndStatus(category, postStatus, position, sortOrder, limit);
             } else {
-                posts = postRepository.findByCategory(category, pageRequest);
+                window = postRepository.findByCategory(category, position, sortOrder, limit);
             }
         } else {
-            posts = postRepository.findAll(pageRequest);
+            window = postRepository.findAllBy(position, sortOrder, limit);
         }
+        return toSlice(window.map(PostResponse::from), sortKey);
+    }
 
-        List<Long> postIds = posts.getContent().stream().map(Post::getId).collect(Collectors.toList());
-        Map<Long, Long> commentCountMap = commentRepository.countByPostIdIn(postIds).stream()
-                .collect(Collectors.toMap(row -> (Long) row[0], row -> (Long) row[1]));
+    public SliceResponse<PostCardResponse> getFeedCards(String category, String sort, String status, String cursor, int size) {
+        String sortKey = FeedCursor.normalize(sort);
+        Sort sortOrder = FeedCursor.sortOf(sortKey);
+        ScrollPosition position = FeedCursor.decode(sortKey, cursor);
+        Limit limit = Limit.of(size);
+
+        String categoryFilter = category != null && !category.isEmpty() ? category : null;
+        PostStatus statusFilter = categoryFilter != null && status != null && !status.isEmpty()
+                ? PostStatus.valueOf(status) : null;
+        Window<PostCardResponse> window = postRepository.findCardWindow(categoryFilter, statusFilter,
+                position, sortOrder, limit);
+        return toSlice(window, sortKey);
+    }
 
-        return posts.map(post -> PostResponse.from(post, commentCountMap.getOrDefault(post.getId(), 0L).intValue()));
+    private <T> SliceResponse<T> toSlice(Window<T> window, String sortKey) {
+        String nextCursor = window.hasNext() && !window.isEmpty()
+                ? FeedCursor.encode(sortKey, window.positionAt(window.size() - 1))
+                : null;
+        return new SliceResponse<>(window.getContent(), nextCursor, nextCursor != null);
     }
 
     public PostResponse getPost(Long id) {
         Post post = postRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Post not found"));
-        post.setViewCount(post.getViewCount() + 1);
-        postRepository.save(post);
-        return PostResponse.from(post, commentRepository.countByPostId(post.getId()));
+        // 조회수는 메모리에 누적 후 PostViewCounter가 주기적으로 일괄 반영
+        long pendingViews = postViewCounter.increment(post.getId());
+        PostResponse response = PostResponse.from(post);
+        response.setViewCount((int) (post.getViewCount() + pendingViews));
+        return response;
     }
 
-    public PostResponse createPost(PostRequest request, List<MultipartFile> images, User author) throws IOException {
+    public PostResponse createPost(PostRequest request, List<MultipartFile> images, List<String> uploadedImageUrls, User author) throws IOException {
+        checkImageCount(images, uploadedImageUrls, 0);
         Post post = new Post();
         post.setTitle(request.getTitle());
         post.setContent(request.getContent());
@@ -98,18 +171,17 @@ public class PostService {
         });
 
         Post saved = postRepository.save(post);
-        saveImages(saved, images);
-        return PostResponse.from(saved, 0);
+        saveImages(saved, images, uploadedImageUrls);
+        eventPublisher.publishEvent(new PostChangedEvent(saved.getId(), saved.getCategory(), PostChangedEvent.Kind.MEMBERSHIP));
+        return PostResponse.from(saved);
     }
 
-    private void saveImages(Post post, List<MultipartFile> images) throws IOException {
-        if (images == null || images.isEmpty()) return;
+    private void saveImages(Post post, List<MultipartFile> images, List<String> uploadedImageUrls) throws IOException {
+        List<String> urls = newImageUrls(images, uploadedImageUrls);
+        if (urls.isEmpty()) return;
 
         int order = 0;
-        for (MultipartFile image : images) {
-            if (image == null || image.isEmpty()) continue;
-            String url = imageStorageService.upload(image);
-
+        for (String url : urls) {
             PostImage postImage = new PostImage(post, url, order);
             post.getImages().add(postImage);
 
@@ -119,33 +191,49 @@ public class PostService {
             order++;
         }
         postRepository.save(post);
+        eventPublisher.publishEvent(new ImagesUploadedEvent(urls));
     }
 
-    @Transactional
-    public PostResponse toggleLike(Long id, User user) {
-        Post post = postRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Post not found"));
+    // 장수 제한은 멀티파트, 직접 업로드, 유지되는 기존 이미지를 합쳐 아무것도 올리거나 저장하기 전에 확인
+    private void checkImageCount(List<MultipartFile> images, List<String> uploadedImageUrls, int keptCount) {
+        directUploadService.checkImageCount(keptCount + nonEmpty(images).size()
+                + (uploadedImageUrls != null ? uploadedImageUrls.size() : 0));
+    }
 
-        boolean alreadyLiked = postLikeRepository.existsByUserIdAndPostId(user.getId(), post.getId());
-        if (alreadyLiked) {
-            postLikeRepository.deleteByUserIdAndPostId(user.getId(), post.getId());
-            post.setLikeCount(Math.max(0, post.getLikeCount() - 1));
-        } else {
-            PostLike postLike = new PostLike();
-            postLike.setUser(user);
-            postLike.setPost(post);
-            postLikeRepository.save(postLike);
-            post.setLikeCount(post.getLikeCount() + 1);
+    // 멀티파트로 받은 이미지는 동시에 업로드, 직접 업로드된 이미지는 저장소 확인 후 뒤에 이어 붙임
+    private List<String> newImageUrls(List<MultipartFile> images, List<String> uploadedImageUrls) throws IOException {
+        List<String> verified = directUploadService.verify(uploadedImageUrls);
+        List<MultipartFile> files = nonEmpty(images);
+        if (files.isEmpty()) return verified;
+        List<String> urls = new ArrayList<>(imageStorageService.uploadAll(files));
+        urls.addAll(verified);
+        return urls;
+    }
+
+    private static List<MultipartFile> nonEmpty(List<MultipartFile> images) {
+        if (images == null) return List.of();
+        return images.stream().filter(f -> f != null && !f.isEmpty()).toList();
+    }
+
+    @Transactional
+    public LikeResponse toggleLike(Long id, User user) {
+        // 게시글 행 잠금을 먼저 잡아 post_likes FK 검사(공유 잠금)와의 교착을 피함 - 좋아요로 가정 후 보정
+        if (postRepository.addLikeCount(id, 1) == 0) {
+            throw new RuntimeException("Post not found");
+        }
+        boolean liked = postLikeRepository.insertIgnore(user.getId(), id) == 1;
+        if (!liked) {
+            int removed = postLikeRepository.deleteLike(user.getId(), id);
+            postRepository.addLikeCount(id, -1 - removed);
         }
 
-        postRepository.save(post);
-        PostResponse response = PostResponse.from(post, commentRepository.countByPostId(post.getId()));
-        response.setLiked(!alreadyLiked);
-        return response;
+        Object[] row = postRepository.findLikeCountAndCategoryById(id).get(0);
+        eventPublisher.publishEvent(new PostChangedEvent(id, (String) row[1], PostChangedEvent.Kind.LIKES));
+        return new LikeResponse(liked, (Integer) row[0]);
     }
 
     @Transactional
-    public PostResponse updatePost(Long id, PostRequest request, List<MultipartFile> images, List<String> existingImageUrls, User user) throws IOException {
+    public PostResponse updatePost(Long id, PostRequest request, List<MultipartFile> images, List<String> uploadedImageUrls, List<String> existingImageUrls, User user) throws IOException {
         Post post = postRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Post not found"));
 
@@ -153,6 +241,7 @@ public class PostService {
             throw new RuntimeException("본인이 작성한 글만 수정할 수 있습니다.");
         }
 
+        String previousCategory = post.getCategory();
         post.setTitle(request.getTitle());
         post.setContent(request.getContent());
         if (!categoryRepository.existsByName(request.getCategory())) {
@@ -160,10 +249,9 @@ public class PostService {
         }
         post.setCategory(request.getCategory());
 
-        boolean hasNewImages = images != null && !images.isEmpty() && images.stream().anyMatch(f -> f != null && !f.isEmpty());
         List<String> keepUrls = existingImageUrls != null ? existingImageUrls : List.of();
 
-        // 프론트가 보낸 유지 목록에 없는 기존 이미지만 제거
+        // 프론트가 보낸 유지 목록에 없는 기존 이미지만 제거 (참조가 없어진 파일은 ImageGarbageCollector가 유예 기간 뒤 정리)
         post.getImages().removeIf(img -> !keepUrls.contains(img.getImageUrl()));
 
         // 유지된 이미지 순서 재정렬
@@ -178,24 +266,28 @@ public class PostService {
         }
 
         // 새 이미지 추가
-        if (hasNewImages) {
-            for (MultipartFile image : images) {
-                if (image == null || image.isEmpty()) continue;
-                String url = imageStorageService.upload(image);
+        checkImageCount(images, uploadedImageUrls, post.getImages().size());
+        List<String> urls = newImageUrls(images, uploadedImageUrls);
+        if (!urls.isEmpty()) {
+            for (String url : urls) {
                 PostImage postImage = new PostImage(post, url, order++);
                 post.getImages().add(postImage);
             }
+            eventPublisher.publishEvent(new ImagesUploadedEvent(urls));
         }
 
-        // 썸네일 갱신
-        post.setImageUrl(post.getImages().isEmpty() ? null : post.getImages().stream()
+        // 대표 이미지 갱신 (새 이미지의 썸네일은 변환이 끝나면 ImageVariantProcessor가 채움)
+        PostImage cover = post.getImages().stream()
                 .min((a, b) -> Integer.compare(a.getSortOrder(), b.getSortOrder()))
-                .map(PostImage::getImageUrl).orElse(null));
+                .orElse(null);
+        post.setImageUrl(cover != null ? cover.getImageUrl() : null);
+        post.setThumbnailUrl(cover != null ? cover.getThumbnailUrl() : null);
 
         postRepository.save(post);
+        eventPublisher.publishEvent(new PostChangedEvent(post.getId(), post.getCategory(), previousCategory, PostChangedEvent.Kind.CONTENT));
 
         Post saved = postRepository.findById(id).orElseThrow();
-        return PostResponse.from(saved, commentRepository.countByPostId(saved.getId()));
+        return PostResponse.from(saved);
     }
 
     @Transactional
@@ -209,7 +301,8 @@ public class PostService {
 
         post.setStatus(status);
         postRepository.save(post);
-        return PostResponse.from(post, commentRepository.countByPostId(post.getId()));
+        eventPublisher.publishEvent(new PostChangedEvent(post.getId(), post.getCategory(), PostChangedEvent.Kind.MEMBERSHIP));
+        return PostResponse.from(post);
     }
 
     @Transactional
@@ -225,6 +318,17 @@ public class PostService {
         postLikeRepository.deleteByPostId(id);
         commentRepository.deleteByPostId(id);
         postRepository.delete(post);
+        eventPublisher.publishEvent(new PostChangedEvent(id, post.getCategory(), PostChangedEvent.Kind.MEMBERSHIP));
+    }
+
+    // 한 페이지 분량의 좋아요/북마크 여부를 각각 한 번의 쿼리로 조회
+    public InteractionStateResponse getInteractionState(Long userId, List<Long> postIds) {
+        if (postIds == null || postIds.isEmpty()) {
+            return new InteractionStateResponse(Set.of(), Set.of());
+        }
+        return new InteractionStateResponse(
+                new HashSet<>(postLikeRepository.findPostIdsByUserIdAndPostIdIn(userId, postIds)),
+                new HashSet<>(bookmarkRepository.findPostIdsByUserIdAndPostIdIn(userId, postIds)));
     }
 
     public boolean isLiked(Long userId, Long postId) {
@@ -0,0 +1,123 @@
+package com.vgc.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+public class PostViewCounter {
+    private static final Logger log = LoggerFactory.getLogger(PostViewCounter.class);
+    private static final String FLUSH_SQL = "UPDATE posts SET view_count = view_count + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long shutdownTimeoutMs;
+    private final ConcurrentHashMap<Long, LongAdder> pending = new ConcurrentHashMap<>();
+
+    public PostViewCounter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                           @Value("${vgc.view-count.batch-size:500}") int batchSize,
+                           @Value("${vgc.view-count.shutdown-timeout-ms:5000}") long shutdownTimeoutMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+    }
+
+    // 조회수 1 증가 후 아직 DB에 반영되지 않은 누적값 반환
+    // (같은 글에 몰리는 조회가 한 CAS 에서 경합하지 않도록 LongAdder 로 셈)
+    public long increment(Long postId) {
+        return add(postId, 1).sum();
+    }
+
+    // flush 가 비어 있던 항목을 지우는 사이에 더해졌으면 지워진 adder 에서 되찾아 새 항목에 다시 더함
+    // (지운 쪽도 제거 뒤에 남은 값을 옮기므로 각 증가분은 둘 중 한 번만 옮겨짐)
+    private LongAdder add(Long postId, long delta) {
+        while (true) {
+            LongAdder adder = pending.computeIfAbsent(postId, id -> new LongAdder());
+            adder.add(delta);
+            if (pending.get(postId) == adder) return adder;
+            delta = adder.sumThenReset();
+            if (delta == 0) return pending.computeIfAbsent(postId, id -> new LongAdder());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${vgc.view-count.flush-interval-ms:5000}")
+    public void flush() {
+        List<Object[]> batch = new ArrayList<>();
+        for (Map.Entry<Long, LongAdder> entry : pending.entrySet()) {
+            Long postId = entry.getKey();
+            // 항목은 그대로 두고 값만 비움 - 그 사이 들어온 증가분은 같은 adder 에 쌓여 다음 주기에 반영됨
+            long delta = entry.getValue().sumThenReset();
+            if (delta == 0) {
+                evictIdle(postId, entry.getValue());
+                continue;
+            }
+            batch.add(new Object[]{delta, postId});
+            if (batch.size() >= batchSize) {
+                write(batch);
+                batch = new ArrayList<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+    }
+
+    // 한 주기 동안 조회가 없던 글의 항목 정리 - 지우는 사이 더해진 값은 다시 넣음
+    private void evictIdle(Long postId, LongAdder adder) {
+        if (!pending.remove(postId, adder)) return;
+        long late = adder.sumThenReset();
+        if (late != 0) {
+            add(postId, late);
+        }
+    }
+
+    private boolean hasPending() {
+        return pending.values().stream().anyMatch(adder -> adder.sum() != 0);
+    }
+
+    private void write(List<Object[]> batch) {
+        try {
+            // 배치 전체를 한 트랜잭션으로 - 실패 시 일부만 반영된 채 다시 더해지는 일이 없도록
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(FLUSH_SQL, batch));
+        } catch (RuntimeException e) {
+            // 실패한 증가분은 다음 주기에 다시 반영
+            for (Object[] row : batch) {
+                add((Long) row[1], (Long) row[0]);
+            }
+            log.warn("Failed to flush {} view count deltas, will retry", batch.size(), e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        long deadline = System.currentTimeMillis() + shutdownTimeoutMs;
+        while (hasPending() && System.currentTimeMillis() < deadline) {
+            flush();
+            if (hasPending()) {
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        if (hasPending()) {
+            log.warn("Dropping view counts for {} posts after shutdown timeout", pending.size());
+        }
+    }
+}
@@ -1,23 +1,66 @@
 package com.vgc.service;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.EnvironmentVariableCredentialsProvider;
-import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
 import software.amazon.awssdk.regions.Region;
-import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3AsyncClientBuilder;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.MetadataDirective;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Object;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
 
 import jakarta.annotation.PostConstruct;
 import java.io.IOException;
-import java.util.UUID;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
+// 업로드는 S3AsyncClient(Netty)로 동시에 보내고, 멀티파트 임시 파일은 스트림으로 읽어 전체를 메모리에 올리지 않음
+// - 키는 내용 해시(ContentKeys)라 같은 사진은 한 번만 저장, 재사용할 때는 자기 자신으로 복사해 LastModified를 갱신
+//   (ImageGarbageCollector는 유예 기간이 지난 미참조 객체만 지우므로 참조 행이 커밋되기 전에 지워지지 않음,
+//    확인 전에 ImageLeases 에 기록해 GC 의 확인-삭제 사이에 재사용되는 경우도 막음)
+// - 요청당 동시 업로드 수(per-request-concurrency)와 서버 전체 동시 업로드 수(max-concurrency)를 각각 제한
 @Service
 @Profile("prd")
 public class S3Service implements ImageStorageService {
+    private static final Logger log = LoggerFactory.getLogger(S3Service.class);
 
     @Value("${cloud.aws.s3.bucket}")
     private String bucket;
@@ -25,32 +68,307 @@ public class S3Service implements ImageStorageService {
     @Value("${cloud.aws.region}")
     private String region;
 
-    private S3Client s3Client;
+    // MinIO 등 S3 호환 저장소로 테스트할 때만 지정
+    @Value("${cloud.aws.s3.endpoint:}")
+    private String endpoint;
+
+    @Value("${vgc.upload.max-concurrency:32}")
+    private int maxConcurrency;
+
+    @Value("${vgc.upload.per-request-concurrency:5}")
+    private int perRequestConcurrency;
+
+    @Value("${vgc.upload.acquire-timeout-ms:10000}")
+    private long acquireTimeoutMs;
+
+    @Value("${vgc.upload.presign-ttl-ms:600000}")
+    private long presignTtlMs;
+
+    private final Counter deduplicated;
+    private final ImageLeases imageLeases;
+
+    private S3AsyncClient s3Client;
+    private S3Presigner presigner;
+    private Semaphore globalPermits;
+    // 멀티파트 InputStream -> 요청 본문으로 옮기는 스레드 (업로드 수만큼만 필요)
+    private ExecutorService streamExecutor;
+
+    public S3Service(MeterRegistry meterRegistry, ImageLeases imageLeases) {
+        this.deduplicated = meterRegistry.counter("vgc.upload.deduplicated");
+        this.imageLeases = imageLeases;
+    }
 
     @PostConstruct
     public void init() {
-        this.s3Client = S3Client.builder()
+        init(EnvironmentVariableCredentialsProvider.create());
+    }
+
+    // 테스트는 로컬 S3 대용 서버(endpoint)와 고정 자격 증명으로 초기화
+    void init(AwsCredentialsProvider credentials) {
+        S3AsyncClientBuilder builder = S3AsyncClient.builder()
                 .region(Region.of(region))
-                .credentialsProvider(EnvironmentVariableCredentialsProvider.create())
-                .build();
+                .credentialsProvider(credentials)
+                .httpClientBuilder(NettyNioAsyncHttpClient.builder().maxConcurrency(maxConcurrency));
+        if (!endpoint.isBlank()) {
+            builder.endpointOverride(URI.create(endpoint)).forcePathStyle(true);
+        }
+        this.s3Client = builder.build();
+        S3Presigner.Builder presignerBuilder = S3Presigner.builder()
+                .region(Region.of(region))
+                .credentialsProvider(credentials);
+        if (!endpoint.isBlank()) {
+            presignerBuilder.endpointOverride(URI.create(endpoint))
+                    .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(true).build());
+        }
+        this.presigner = presignerBuilder.build();
+        this.globalPermits = new Semaphore(maxConcurrency);
+        this.streamExecutor = Executors.newFixedThreadPool(maxConcurrency, r -> {
+            Thread t = new Thread(r, "s3-upload-stream");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        streamExecutor.shutdown();
+        presigner.close();
+        s3Client.close();
     }
 
     @Override
     public String upload(MultipartFile file) throws IOException {
-        String fileName = UUID.randomUUID() + "_" + file.getOriginalFilename();
-        String key = "uploads/" + fileName;
+        return uploadAll(List.of(file)).get(0);
+    }
 
+    // 모두 끝날 때까지 기다리므로 지연 시간은 가장 느린 한 장 기준, 하나라도 실패하면 실패 처리
+    // 키는 내용 해시 - 이미 있는 객체면 업로드 자체를 건너뜀
+    @Override
+    public List<String> uploadAll(List<MultipartFile> files) throws IOException {
+        Semaphore requestPermits = new Semaphore(perRequestConcurrency);
+        List<String> urls = new ArrayList<>(files.size());
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>(files.size());
+        try {
+            for (MultipartFile file : files) {
+                // 멀티파트는 이미 로컬에 받아져 있으므로 해시 계산은 디스크/메모리 읽기 한 번
+                String fileName;
+                try (InputStream in = file.getInputStream()) {
+                    fileName = ContentKeys.fileName(ContentKeys.digest(in), file.getOriginalFilename());
+                }
+                // 있는지 확인/재사용하기 전에 lease - GC 가 같은 객체를 지우는 중이면 끝날 때까지 기다림
+                imageLeases.lease("/uploads/" + fileName);
+                acquire(requestPermits);
+                try {
+                    acquire(globalPermits);
+                } catch (IOException e) {
+                    requestPermits.release();
+                    throw e;
+                }
+                urls.add("/uploads/" + fileName);
+                futures.add(putIfAbsent("uploads/" + fileName, file).whenComplete((r, e) -> {
+                    globalPermits.release();
+                    requestPermits.release();
+                }));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+            return urls;
+        } catch (IOException | CompletionException e) {
+            cleanup(futures);
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            throw cause instanceof IOException io ? io : new IOException("Failed to upload images", cause);
+        }
+    }
+
+    // 새로 올렸으면 true, 같은 내용이 이미 있으면 false - 갱신(touch)에 실패하면 다시 올림
+    private CompletableFuture<Boolean> putIfAbsent(String key, MultipartFile file) {
+        return head(key)
+                .thenCompose(head -> head == null
+                        ? CompletableFuture.completedFuture(false)
+                        : touch(key, head).handle((r, e) -> e == null))
+                .thenCompose(touched -> {
+                    if (touched) {
+                        deduplicated.increment();
+                        return CompletableFuture.completedFuture(false);
+                    }
+                    return put(key, file).thenApply(r -> true);
+                });
+    }
+
+    // 없으면 null
+    private CompletableFuture<HeadObjectResponse> head(String key) {
+        HeadObjectRequest headRequest = HeadObjectRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .build();
+        return s3Client.headObject(headRequest).handle((r, e) -> e == null ? r : null);
+    }
+
+    // S3는 같은 키로 복사할 때 메타데이터를 바꾸지 않으면 거부하므로 REPLACE로 기존 값을 그대로 다시 지정
+    private CompletableFuture<?> touch(String key, HeadObjectResponse head) {
+        CopyObjectRequest copyRequest = CopyObjectRequest.builder()
+                .sourceBucket(bucket)
+                .sourceKey(key)
+                .destinationBucket(bucket)
+                .destinationKey(key)
+                .metadataDirective(MetadataDirective.REPLACE)
+                .contentType(head.contentType())
+                .cacheControl(head.cacheControl())
+                .metadata(head.metadata())
+                .build();
+        return s3Client.copyObject(copyRequest);
+    }
+
+    private CompletableFuture<?> put(String key, MultipartFile file) {
+        InputStream in;
+        try {
+            in = file.getInputStream();
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
         PutObjectRequest putRequest = PutObjectRequest.builder()
                 .bucket(bucket)
                 .key(key)
                 .contentType(file.getContentType())
+                .contentLength(file.getSize())
                 .build();
+        return s3Client.putObject(putRequest, AsyncRequestBody.fromInputStream(in, file.getSize(), streamExecutor))
+                .whenComplete((r, e) -> {
+                    try {
+                        in.close();
+                    } catch (IOException ignored) {
+                    }
+                });
+    }
 
-        s3Client.putObject(putRequest, RequestBody.fromInputStream(file.getInputStream(), file.getSize()));
+    private void acquire(Semaphore permits) throws IOException {
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new IOException("이미지 업로드가 지연되고 있습니다. 잠시 후 다시 시도해주세요.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("이미지 업로드가 중단되었습니다.", e);
+        }
+    }
 
+    // 이미 시작된 업로드가 끝나기만 기다림 - 새로 올린 객체도 바로 지우지 않음
+    // (같은 내용을 동시에 올린 다른 요청이 이미 참조했을 수 있으므로 미참조 객체는 ImageGarbageCollector가 정리)
+    private void cleanup(List<CompletableFuture<Boolean>> futures) {
+        for (CompletableFuture<Boolean> future : futures) {
+            try {
+                future.join();
+            } catch (CompletionException e) {
+                log.debug("Upload failed while aborting request", e.getCause());
+            }
+        }
+    }
+
+    // 서명에 x-amz-checksum-sha256을 포함해 S3가 올라온 내용이 키의 해시와 같은지 검사하게 함
+    @Override
+    public PresignedUpload presign(String originalFilename, String contentType, long size, String sha256Hex) throws IOException {
+        String fileName = ContentKeys.fileName(sha256Hex, originalFilename);
+        String key = "uploads/" + fileName;
+        imageLeases.lease("/uploads/" + fileName);
+        HeadObjectResponse existing = head(key).join();
+        if (existing != null && touch(key, existing).handle((r, e) -> e == null).join()) {
+            deduplicated.increment();
+            return new PresignedUpload("/uploads/" + fileName, null, Map.of(), true);
+        }
+
+        PutObjectRequest putRequest = PutObjectRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .contentType(contentType)
+                .contentLength(size)
+                .checksumSHA256(Base64.getEncoder().encodeToString(HexFormat.of().parseHex(sha256Hex)))
+                .build();
+        PresignedPutObjectRequest presigned = presigner.presignPutObject(PutObjectPresignRequest.builder()
+                .signatureDuration(Duration.ofMillis(presignTtlMs))
+                .putObjectRequest(putRequest)
+                .build());
+
+        // host, content-length는 브라우저가 직접 설정하므로 제외
+        Map<String, String> headers = new LinkedHashMap<>();
+        presigned.signedHeaders().forEach((name, values) -> {
+            if (!name.equalsIgnoreCase("host") && !name.equalsIgnoreCase("content-length")) {
+                headers.put(name, String.join(",", values));
+            }
+        });
+        return new PresignedUpload("/uploads/" + fileName, presigned.url().toString(), headers, false);
+    }
+
+    @Override
+    public boolean verifyUploaded(String imageUrl, long maxSize) {
+        HeadObjectRequest headRequest = HeadObjectRequest.builder()
+                .bucket(bucket)
+                .key(imageUrl.replaceFirst("^/", ""))
+                .build();
+        try {
+            HeadObjectResponse head = s3Client.headObject(headRequest).join();
+            return head.contentLength() != null && head.contentLength() <= maxSize
+                    && head.contentType() != null && head.contentType().startsWith("image/");
+        } catch (CompletionException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public String store(String fileName, byte[] data, String contentType) throws IOException {
+        PutObjectRequest putRequest = PutObjectRequest.builder()
+                .bucket(bucket)
+                .key("uploads/" + fileName)
+                .contentType(contentType)
+                .build();
+        try {
+            s3Client.putObject(putRequest, AsyncRequestBody.fromBytes(data)).join();
+        } catch (CompletionException e) {
+            throw new IOException("Failed to store " + fileName, e.getCause());
+        }
         return "/uploads/" + fileName;
     }
 
+    @Override
+    public InputStream open(String url) throws IOException {
+        GetObjectRequest getRequest = GetObjectRequest.builder()
+                .bucket(bucket)
+                .key(url.replaceFirst("^/", ""))
+                .build();
+        try {
+            return s3Client.getObject(getRequest, AsyncResponseTransformer.toBlockingInputStream()).join();
+        } catch (CompletionException e) {
+            throw new IOException("Failed to read " + url, e.getCause());
+        }
+    }
+
+    // ListObjectsV2를 페이지 단위로 받아 전달
+    @Override
+    public void forEachStored(Consumer<Stored> consumer) throws IOException {
+        String continuationToken = null;
+        do {
+            ListObjectsV2Request listRequest = ListObjectsV2Request.builder()
+                    .bucket(bucket)
+                    .prefix("uploads/")
+                    .continuationToken(continuationToken)
+                    .build();
+            ListObjectsV2Response page;
+            try {
+                page = s3Client.listObjectsV2(listRequest).join();
+            } catch (CompletionException e) {
+                throw new IOException("Failed to list uploads", e.getCause());
+            }
+            for (S3Object object : page.contents()) {
+                consumer.accept(new Stored("/" + object.key(), object.lastModified()));
+            }
+            continuationToken = page.isTruncated() ? page.nextContinuationToken() : null;
+        } while (continuationToken != null);
+    }
+
+    @Override
+    public Instant lastModified(String url) {
+        HeadObjectResponse head = head(url.replaceFirst("^/", "")).join();
+        return head != null ? head.lastModified() : null;
+    }
+
     @Override
     public void delete(String key) {
         String s3Key = key.replaceFirst("^/", "");
@@ -58,6 +376,6 @@ public class S3Service implements ImageStorageService {
                 .bucket(bucket)
                 .key(s3Key)
                 .build();
-        s3Client.deleteObject(deleteRequest);
+        s3Client.deleteObject(deleteRequest).join();
     }
 }
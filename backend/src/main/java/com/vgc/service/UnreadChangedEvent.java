@@ -0,0 +1,19 @@
+package com.vgc.service;
+
+// 대화의 안 읽은 메시지 수가 바뀌었을 때 발행 - 커밋 후 해당 사용자 큐로 전송
+public class UnreadChangedEvent {
+
+    private final Long userId;
+    private final String userEmail;
+    private final Long conversationId;
+
+    public UnreadChangedEvent(Long userId, String userEmail, Long conversationId) {
+        this.userId = userId;
+        this.userEmail = userEmail;
+        this.conversationId = conversationId;
+    }
+
+    public Long getUserId() { return userId; }
+    public String getUserEmail() { return userEmail; }
+    public Long getConversationId() { return conversationId; }
+}
@@ -0,0 +1,34 @@
+package com.vgc.service;
+
+import com.vgc.repository.ConversationRepository;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+
+// 안 읽은 메시지 수를 /user/queue/unread 로 푸시 (대화별 개수 + 전체 합계)
+@Component
+public class UnreadNotifier {
+
+    private final ConversationRepository conversationRepository;
+    private final ConversationService conversationService;
+    private final SimpMessagingTemplate messagingTemplate;
+
+    public UnreadNotifier(ConversationRepository conversationRepository, ConversationService conversationService,
+                          SimpMessagingTemplate messagingTemplate) {
+        this.conversationRepository = conversationRepository;
+        this.conversationService = conversationService;
+        this.messagingTemplate = messagingTemplate;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUnreadChanged(UnreadChangedEvent event) {
+        Integer unread = conversationRepository.findUnreadCount(event.getConversationId(), event.getUserId());
+        long total = conversationService.getUnreadTotal(event.getUserId());
+        messagingTemplate.convertAndSendToUser(event.getUserEmail(), "/queue/unread", Map.of(
+                "conversationId", event.getConversationId(),
+                "unreadCount", unread != null ? unread : 0,
+                "totalUnread", total));
+    }
+}
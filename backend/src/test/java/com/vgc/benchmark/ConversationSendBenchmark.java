@@ -0,0 +1,80 @@
+package com.vgc.benchmark;
+
+import com.vgc.VgcApplication;
+import com.vgc.dto.MessageResponse;
+import com.vgc.entity.Conversation;
+import com.vgc.entity.User;
+import com.vgc.repository.UserRepository;
+import com.vgc.service.ConversationService;
+import com.vgc.support.Fixtures;
+import com.vgc.support.SqlCapture;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+// 한 스레드(코어 하나)에서 sendMessage 초당 처리량 - 대화 상태 캐시를 끈 경우(매 전송마다 대화/사용자 조회) vs 켠 경우
+// 테스트 프로필(H2 MySQL 모드) 컨텍스트를 띄워 서비스 경로 전체를 측정 (동기 저장 모드)
+// 서비스 경로 전체라 JIT 가 안정될 때까지 오래 걸리므로 워밍업을 길게 둠
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 10, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+public class ConversationSendBenchmark {
+
+    @Param({"0", "10000"})
+    public int cacheEntries;
+
+    private ConfigurableApplicationContext context;
+    private ConversationService conversationService;
+    private User sender;
+    private Long conversationId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(VgcApplication.class)
+                .profiles("local", "test")
+                .run("--vgc.conversation-cache.max-entries=" + cacheEntries,
+                        "--vgc.chat.persistence=sync",
+                        "--logging.level.root=WARN");
+        conversationService = context.getBean(ConversationService.class);
+        Fixtures fixtures = new Fixtures(context.getBean(UserRepository.class));
+        sender = fixtures.user();
+        User recipient = fixtures.user();
+        Conversation conversation = conversationService.startConversation(sender, recipient.getNickname());
+        conversationId = conversation.getId();
+    }
+
+    // 테스트 설정의 SqlCapture 가 문장을 계속 쌓지 않도록 반복마다 비움
+    @Setup(Level.Iteration)
+    public void clearCapturedSql() {
+        SqlCapture.clear();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MessageResponse send() {
+        return conversationService.sendMessage(conversationId, sender, "benchmark");
+    }
+}
@@ -0,0 +1,105 @@
+package com.vgc.benchmark;
+
+import com.vgc.service.ImageVariantProcessor;
+import com.vgc.service.ImagesUploadedEvent;
+import com.vgc.support.InMemoryImageStorage;
+import com.vgc.support.TestImages;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// 원본 한 장의 썸네일 + 폭별 변환본 생성 시간 (작업자 1개, 기본 설정값)
+// - 12MP 는 픽셀 한도(기본 40MP) 안이라 디코딩/변환, 48MP 는 헤더만 읽고 건너뜀
+// - 원본/썸네일/변환본 크기(바이트)는 보조 결과(@AuxCounters)로 함께 보고
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ImageVariantProcessorBenchmark {
+    private static final String URL = "/uploads/source.jpg";
+
+    @Param({"1200x900", "4000x3000", "8000x6000"})
+    public String size;
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final InMemoryImageStorage storage = new InMemoryImageStorage();
+    private JdbcTemplate jdbcTemplate;
+    private ImageVariantProcessor processor;
+
+    @Setup
+    public void setUp() {
+        String[] dims = size.split("x");
+        storage.put("source.jpg", TestImages.jpeg(Integer.parseInt(dims[0]), Integer.parseInt(dims[1])));
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:image-bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS post_images (image_url VARCHAR(255), thumbnail_url VARCHAR(255), srcset VARCHAR(1000))");
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS posts (id BIGINT, category VARCHAR(50), image_url VARCHAR(255), thumbnail_url VARCHAR(255))");
+        jdbcTemplate.update("DELETE FROM post_images");
+        jdbcTemplate.update("INSERT INTO post_images (image_url) VALUES (?)", URL);
+        processor = new ImageVariantProcessor(storage, jdbcTemplate, event -> {}, registry,
+                1, 10, 480, 600, "640,1280", 0.8f, 40_000_000L);
+    }
+
+    // 같은 내용의 변환 결과를 복사하는 경로를 타지 않도록 매번 초기화
+    @Setup(Level.Invocation)
+    public void reset() {
+        jdbcTemplate.update("UPDATE post_images SET thumbnail_url = NULL, srcset = NULL");
+    }
+
+    // 마지막 호출의 결과물 크기 - 합산이 아니라 값을 덮어쓰므로 반복 단위로 그대로 보고됨
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class OutputBytes {
+        public long sourceBytes;
+        public long thumbnailBytes;
+        public long variantBytes;
+    }
+
+    @Benchmark
+    public void process(OutputBytes bytes) {
+        double before = completed();
+        processor.onImagesUploaded(new ImagesUploadedEvent(List.of(URL)));
+        while (completed() == before) {
+            Thread.onSpinWait();
+        }
+        bytes.sourceBytes = storage.objects().get(URL).length;
+        bytes.thumbnailBytes = sizeOf("/uploads/source_thumb.jpg");
+        bytes.variantBytes = sizeOf("/uploads/source_w640.jpg") + sizeOf("/uploads/source_w1280.jpg");
+    }
+
+    @TearDown
+    public void tearDown() {
+        processor.shutdown();
+    }
+
+    private long sizeOf(String url) {
+        byte[] data = storage.objects().get(url);
+        return data != null ? data.length : 0;
+    }
+
+    private double completed() {
+        return registry.counter("vgc.image.processed").count()
+                + registry.counter("vgc.image.skipped").count()
+                + registry.counter("vgc.image.failed").count();
+    }
+}
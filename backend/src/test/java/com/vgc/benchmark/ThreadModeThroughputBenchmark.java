@@ -0,0 +1,107 @@
+package com.vgc.benchmark;
+
+import com.vgc.VgcApplication;
+import com.vgc.entity.User;
+import com.vgc.repository.UserRepository;
+import com.vgc.security.JwtUtil;
+import com.vgc.support.Fixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// vgc.threads=platform vs virtual - 요청마다 1초를 블로킹으로 기다리는(느린 S3 업로드/DB 대기 대용) 인증 API 에
+// 동시 요청 800개를 보내고 모두 끝날 때까지의 초당 처리 요청 수
+// platform 은 Tomcat 최대 스레드(200)만큼만 동시에 기다리고, virtual 은 요청마다 가상 스레드라 한꺼번에 기다림
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ThreadModeThroughputBenchmark {
+    private static final int CONCURRENCY = 800;
+    private static final long BLOCKING_MS = 1000;
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    private ConfigurableApplicationContext context;
+    private ExecutorService clientExecutor;
+    private HttpClient http;
+    private HttpRequest request;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(VgcApplication.class, BlockingEndpoint.class)
+                .profiles("local", "test")
+                .run("--vgc.threads=" + threads,
+                        "--server.port=0",
+                        "--server.tomcat.threads.max=200",
+                        "--logging.level.root=WARN");
+        User user = new Fixtures(context.getBean(UserRepository.class)).user();
+        String token = context.getBean(JwtUtil.class).generateToken(user);
+        int port = Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+
+        clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        http = HttpClient.newBuilder().executor(clientExecutor).build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/benchmark/blocking"))
+                .header("Authorization", "Bearer " + token)
+                .GET().build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        clientExecutor.shutdownNow();
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CONCURRENCY)
+    public void concurrentRequests() {
+        CompletableFuture<?>[] responses = new CompletableFuture<?>[CONCURRENCY];
+        for (int i = 0; i < CONCURRENCY; i++) {
+            responses[i] = http.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .thenApply(response -> {
+                        if (response.statusCode() != 200) {
+                            throw new IllegalStateException("status " + response.statusCode());
+                        }
+                        return response;
+                    });
+        }
+        CompletableFuture.allOf(responses).join();
+    }
+
+    // 인증 필터/디스패처는 실제 경로 그대로 거치고 처리 본문만 블로킹 대기로 바꾼 엔드포인트
+    @RestController
+    public static class BlockingEndpoint {
+
+        @GetMapping("/api/benchmark/blocking")
+        public String blocking() throws InterruptedException {
+            Thread.sleep(BLOCKING_MS);
+            return "ok";
+        }
+    }
+}
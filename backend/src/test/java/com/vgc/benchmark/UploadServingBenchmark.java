@@ -0,0 +1,129 @@
+package com.vgc.benchmark;
+
+import com.vgc.VgcApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.annotation.web.configuration.WebSecurityCustomizer;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HexFormat;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// local 프로필 업로드 서빙 - UploadController(sendfile/transferTo) vs 이전 ResourceHttpRequestHandler
+// 실제 Tomcat 에 붙여 같은 파일을 전체(200) 또는 앞 16KB 범위(206)로 받는 초당 요청 수 (클라이언트 4개)
+// 이전 핸들러는 /uploads-legacy/** 에 예전 FileStorageConfig 와 같은 설정으로 올리고 둘 다 보안 필터를 거치지 않음
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class UploadServingBenchmark {
+
+    @Param({"controller", "resource-handler"})
+    public String handler;
+
+    @Param({"65536", "4194304"})
+    public int size;
+
+    @Param({"full", "range"})
+    public String request;
+
+    private Path uploadDir;
+    private ConfigurableApplicationContext context;
+    private HttpClient http;
+    private HttpRequest get;
+    private int expectedStatus;
+
+    @Setup
+    public void setUp() throws IOException {
+        uploadDir = Files.createTempDirectory("upload-bench");
+        byte[] data = new byte[size];
+        ThreadLocalRandom.current().nextBytes(data);
+        // 컨트롤러는 내용 해시 이름만 서빙하므로 같은 형식의 이름 사용
+        String fileName = HexFormat.of().formatHex(data, 0, 32) + ".jpg";
+        Files.write(uploadDir.resolve(fileName), data);
+
+        context = new SpringApplicationBuilder(VgcApplication.class, LegacyUploadHandler.class)
+                .profiles("local", "test")
+                .run("--file.upload-dir=" + uploadDir,
+                        "--server.port=0",
+                        "--logging.level.root=WARN");
+        int port = Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+
+        String prefix = "controller".equals(handler) ? "/uploads/" : "/uploads-legacy/";
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + prefix + fileName)).GET();
+        if ("range".equals(request)) {
+            builder.header("Range", "bytes=0-16383");
+        }
+        get = builder.build();
+        expectedStatus = "range".equals(request) ? 206 : 200;
+        http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        context.close();
+        try (Stream<Path> files = Files.list(uploadDir)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(uploadDir);
+    }
+
+    @Benchmark
+    public long serve() throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = http.send(get, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != expectedStatus) {
+            throw new IllegalStateException("status " + response.statusCode());
+        }
+        return response.body().length;
+    }
+
+    // UploadController 도입 전 FileStorageConfig 의 리소스 핸들러
+    @Configuration
+    public static class LegacyUploadHandler implements WebMvcConfigurer {
+
+        @Value("${file.upload-dir}")
+        private String uploadDir;
+
+        @Override
+        public void addResourceHandlers(ResourceHandlerRegistry registry) {
+            registry.addResourceHandler("/uploads-legacy/**")
+                    .addResourceLocations("file:" + uploadDir + "/");
+        }
+
+        @Bean
+        public WebSecurityCustomizer legacyUploadsIgnored() {
+            return web -> web.ignoring().requestMatchers("/uploads-legacy/**");
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.vgc.benchmark;
+
+import com.vgc.config.WebSocketChannelExecutors;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+// STOMP inbound 실행기에 DB 대기(2ms)가 있는 핸들러 200개를 한꺼번에 넣고 모두 끝날 때까지의 시간
+// 기본 설정값(platform: core 8 / max 32 / queue 1000, virtual: 동시 1000) 그대로 측정
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WebSocketChannelExecutorsBenchmark {
+    private static final int BURST = 200;
+    private static final long HANDLER_WAIT_MS = 2;
+
+    @Param({"platform", "virtual"})
+    public String handlerThreads;
+
+    private WebSocketChannelExecutors executors;
+
+    @Setup
+    public void setUp() {
+        executors = new WebSocketChannelExecutors(new SimpleMeterRegistry(), handlerThreads,
+                8, 32, 1000, 1000, 8, 32, 1000);
+        executors.inbound().initialize();
+        executors.outbound().initialize();
+    }
+
+    @TearDown
+    public void tearDown() {
+        executors.inbound().shutdown();
+        executors.outbound().shutdown();
+    }
+
+    @Benchmark
+    public void burst() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(BURST);
+        for (int i = 0; i < BURST; i++) {
+            executors.inbound().execute(() -> {
+                try {
+                    Thread.sleep(HANDLER_WAIT_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                done.countDown();
+            });
+        }
+        done.await();
+    }
+}
@@ -0,0 +1,116 @@
+package com.vgc.config;
+
+import com.vgc.VgcApplication;
+import com.vgc.entity.Conversation;
+import com.vgc.entity.User;
+import com.vgc.repository.PostRepository;
+import com.vgc.repository.UserRepository;
+import com.vgc.security.JwtUtil;
+import com.vgc.service.ConversationService;
+import com.vgc.support.Fixtures;
+import com.vgc.support.StompBrokerStandIn;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// vgc.ws.broker=relay 로 두 노드를 띄우고 같은 브로커를 공유했을 때
+// 노드 A 에서 보낸 메시지가 노드 B 에 접속한 사용자에게 전달되는지 확인
+class RelayTwoNodeTest {
+
+    private StompBrokerStandIn broker;
+    private ConfigurableApplicationContext nodeA;
+    private ConfigurableApplicationContext nodeB;
+    private WebSocketStompClient client;
+
+    @BeforeEach
+    void startNodes() throws Exception {
+        broker = new StompBrokerStandIn();
+        String url = "jdbc:h2:mem:vgc-relay-" + UUID.randomUUID()
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE;LOCK_TIMEOUT=10000;DB_CLOSE_DELAY=-1";
+        // 스키마는 A 가 만들고 B 는 그대로 사용
+        nodeA = start(url, "create");
+        nodeB = start(url, "none");
+        client = new WebSocketStompClient(new StandardWebSocketClient());
+        client.setMessageConverter(new MappingJackson2MessageConverter());
+    }
+
+    @AfterEach
+    void stopNodes() throws Exception {
+        if (client != null) client.stop();
+        if (nodeB != null) nodeB.close();
+        if (nodeA != null) nodeA.close();
+        if (broker != null) broker.close();
+    }
+
+    @Test
+    void messageSentOnNodeAReachesUserOnNodeB() throws Exception {
+        Fixtures fixtures = new Fixtures(nodeA.getBean(UserRepository.class), nodeA.getBean(PostRepository.class));
+        User sender = fixtures.user();
+        User recipient = fixtures.user();
+        ConversationService conversationsOnA = nodeA.getBean(ConversationService.class);
+        Conversation conv = conversationsOnA.startConversation(sender, recipient.getNickname());
+
+        BlockingQueue<Map<?, ?>> received = new LinkedBlockingQueue<>();
+        StompHeaders connectHeaders = new StompHeaders();
+        connectHeaders.add("Authorization", "Bearer " + nodeA.getBean(JwtUtil.class).generateToken(recipient));
+        StompSession session = client.connectAsync("ws://localhost:" + port(nodeB) + "/ws",
+                        new WebSocketHttpHeaders(), connectHeaders, new StompSessionHandlerAdapter() {})
+                .get(10, TimeUnit.SECONDS);
+        session.subscribe("/user/queue/messages", new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return Map.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                received.add((Map<?, ?>) payload);
+            }
+        });
+        // B 의 사용자 큐 구독과 미해결 사용자 브로드캐스트 구독이 브로커에 도착한 뒤 전송
+        broker.awaitSubscription(d -> d.startsWith("/queue/messages-user"), 10, TimeUnit.SECONDS);
+        broker.awaitSubscription("/topic/unresolved-user"::equals, 10, TimeUnit.SECONDS);
+
+        conversationsOnA.sendMessage(conv.getId(), sender, "hello across nodes");
+
+        Map<?, ?> message = received.poll(10, TimeUnit.SECONDS);
+        assertThat(message).isNotNull();
+        assertThat(message.get("content")).isEqualTo("hello across nodes");
+        assertThat(((Number) message.get("conversationId")).longValue()).isEqualTo(conv.getId());
+        session.disconnect();
+    }
+
+    private ConfigurableApplicationContext start(String url, String ddlAuto) {
+        return new SpringApplicationBuilder(VgcApplication.class)
+                .profiles("local", "test")
+                .run("--server.port=0",
+                        "--spring.datasource.url=" + url,
+                        "--spring.jpa.hibernate.ddl-auto=" + ddlAuto,
+                        "--vgc.ws.broker=relay",
+                        "--vgc.ws.relay.host=127.0.0.1",
+                        "--vgc.ws.relay.port=" + broker.port());
+    }
+
+    private static int port(ConfigurableApplicationContext context) {
+        return Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+    }
+}
@@ -0,0 +1,146 @@
+package com.vgc.config;
+
+import com.vgc.entity.Conversation;
+import com.vgc.entity.Post;
+import com.vgc.entity.User;
+import com.vgc.repository.PostRepository;
+import com.vgc.repository.UserRepository;
+import com.vgc.security.JwtUtil;
+import com.vgc.service.ConversationService;
+import com.vgc.support.Fixtures;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// vgc.threads=virtual 로 실제 Tomcat 에 피드/상세/좋아요/채팅 요청을 동시에 보내는 동안
+// jdk.VirtualThreadPinned 이벤트(임계값 0)가 하나도 없어야 함
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "vgc.threads=virtual",
+        "vgc.threads.pinned-threshold-ms=0"
+})
+@ActiveProfiles({"local", "test"})
+class VirtualThreadPinningTest {
+
+    private static final int CLIENTS = 32;
+    private static final int ROUNDS = 20;
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private Environment environment;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private ConversationService conversationService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PostRepository postRepository;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    @Test
+    void noPinnedVirtualThreadsUnderLoad() throws Exception {
+        assertThat(environment.getProperty("spring.threads.virtual.enabled")).isEqualTo("true");
+
+        // 모니터가 동작하는지 먼저 확인 - synchronized 안에서 sleep 하면 고정됨
+        Object monitor = new Object();
+        Thread.ofVirtual().start(() -> {
+            synchronized (monitor) {
+                sleep(50);
+            }
+        }).join();
+        awaitPinned(1);
+        double baseline = pinned();
+
+        Fixtures fixtures = new Fixtures(userRepository, postRepository);
+        User author = fixtures.user();
+        List<Post> posts = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            posts.add(fixtures.post(author, "free", 2));
+        }
+
+        ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+        List<Future<?>> results = new ArrayList<>();
+        for (int c = 0; c < CLIENTS; c++) {
+            User user = fixtures.user();
+            String token = "Bearer " + jwtUtil.generateToken(user);
+            Conversation conv = conversationService.startConversation(user, author.getNickname());
+            results.add(clients.submit(() -> {
+                for (int r = 0; r < ROUNDS; r++) {
+                    Post post = posts.get(r % posts.size());
+                    send(get("/api/posts/feed?view=card&size=12").build());
+                    send(get("/api/posts/" + post.getId()).build());
+                    send(post("/api/posts/" + post.getId() + "/like", token, ""));
+                    send(post("/api/conversations/" + conv.getId() + "/messages", token, "{\"content\":\"m" + r + "\"}"));
+                    send(post("/api/conversations/" + conv.getId() + "/read", token, ""));
+                }
+                return null;
+            }));
+        }
+        for (Future<?> result : results) {
+            result.get(2, TimeUnit.MINUTES);
+        }
+        clients.shutdown();
+
+        // JFR 스트림은 약 1초 주기로 이벤트를 전달하므로 잠시 대기
+        Thread.sleep(3000);
+        assertThat(pinned()).isEqualTo(baseline);
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET();
+    }
+
+    private HttpRequest post(String path, String token, String json) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Authorization", token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private void send(HttpRequest request) throws Exception {
+        HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).as(request.uri() + " " + response.body()).isEqualTo(200);
+    }
+
+    private void awaitPinned(double atLeast) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (pinned() < atLeast && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+        assertThat(pinned()).isGreaterThanOrEqualTo(atLeast);
+    }
+
+    private double pinned() {
+        return meterRegistry.counter("vgc.threads.pinned").count();
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.vgc.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 큐가 가득 찼을 때 inbound 는 거부, outbound 는 호출 스레드 실행 - 둘 다 rejected 카운터 증가
+class WebSocketChannelExecutorsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private WebSocketChannelExecutors executors;
+
+    @AfterEach
+    void shutdown() {
+        release.countDown();
+        if (executors != null) {
+            executors.inbound().shutdown();
+            executors.outbound().shutdown();
+        }
+    }
+
+    @Test
+    void inboundRejectsWhenQueueIsFull() throws Exception {
+        executors = create("platform");
+        ThreadPoolTaskExecutor inbound = executors.inbound();
+        fill(inbound);
+
+        assertThatThrownBy(() -> inbound.execute(() -> {})).isInstanceOf(TaskRejectedException.class);
+        assertThat(rejected("inbound")).isEqualTo(1);
+        assertThat(registry.get("vgc.ws.executor.queue.size").tag("channel", "inbound").gauge().value()).isEqualTo(1);
+        assertThat(registry.get("vgc.ws.executor.active").tag("channel", "inbound").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void outboundRunsOnCallerWhenQueueIsFull() throws Exception {
+        executors = create("platform");
+        ThreadPoolTaskExecutor outbound = executors.outbound();
+        fill(outbound);
+
+        AtomicReference<Thread> ranOn = new AtomicReference<>();
+        outbound.execute(() -> ranOn.set(Thread.currentThread()));
+        assertThat(ranOn.get()).isSameAs(Thread.currentThread());
+        assertThat(rejected("outbound")).isEqualTo(1);
+    }
+
+    @Test
+    void virtualInboundBoundsConcurrentHandlers() throws Exception {
+        executors = create("virtual");
+        ThreadPoolTaskExecutor inbound = executors.inbound();
+        CountDownLatch started = new CountDownLatch(4);
+        AtomicInteger virtual = new AtomicInteger();
+        for (int i = 0; i < 4; i++) {
+            inbound.execute(() -> {
+                if (Thread.currentThread().isVirtual()) virtual.incrementAndGet();
+                started.countDown();
+                await();
+            });
+        }
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(virtual.get()).isEqualTo(4);
+
+        // 동시 실행 한도(4)와 큐(1)를 넘으면 가상 스레드라도 거부
+        inbound.execute(this::await);
+        assertThatThrownBy(() -> inbound.execute(() -> {})).isInstanceOf(TaskRejectedException.class);
+        assertThat(rejected("inbound")).isEqualTo(1);
+    }
+
+    // 풀 크기 1(가상 스레드 모드는 4), 큐 크기 1
+    private WebSocketChannelExecutors create(String handlerThreads) {
+        WebSocketChannelExecutors created = new WebSocketChannelExecutors(registry, handlerThreads,
+                1, 1, 1, 4, 1, 1, 1);
+        created.inbound().initialize();
+        created.outbound().initialize();
+        return created;
+    }
+
+    // 작업 하나는 실행 중, 하나는 대기열에 걸어 둠
+    private void fill(ThreadPoolTaskExecutor executor) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            await();
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        executor.execute(this::await);
+    }
+
+    private void await() {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private double rejected(String channel) {
+        return registry.get("vgc.ws.executor.rejected").tag("channel", channel).counter().count();
+    }
+}
@@ -0,0 +1,193 @@
+package com.vgc.config;
+
+import com.vgc.entity.Conversation;
+import com.vgc.entity.User;
+import com.vgc.repository.UserRepository;
+import com.vgc.security.JwtUtil;
+import com.vgc.service.ConversationService;
+import com.vgc.support.Fixtures;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 실제 포트로 띄운 서버에 STOMP 클라이언트 여럿이 동시에 메시지를 몰아 보낼 때
+// 채널 실행기의 큐/스레드는 설정한 한도를 넘지 않고, 모든 메시지가 양쪽 참여자에게 보낸 순서대로 전달됨
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "vgc.ws.handler-threads=platform",
+        "vgc.ws.inbound.core-pool-size=2",
+        "vgc.ws.inbound.max-pool-size=2",
+        "vgc.ws.inbound.queue-capacity=" + WebSocketConcurrentClientsTest.INBOUND_QUEUE,
+        "vgc.ws.outbound.core-pool-size=2",
+        "vgc.ws.outbound.max-pool-size=2",
+        "vgc.ws.outbound.queue-capacity=" + WebSocketConcurrentClientsTest.OUTBOUND_QUEUE})
+@ActiveProfiles({"local", "test"})
+class WebSocketConcurrentClientsTest {
+    static final int INBOUND_QUEUE = 500;
+    static final int OUTBOUND_QUEUE = 16;
+    private static final int CLIENTS = 20;
+    private static final int MESSAGES_PER_CLIENT = 20;
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ConversationService conversationService;
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private WebSocketStompClient client;
+    private final List<StompSession> sessions = new ArrayList<>();
+
+    @AfterEach
+    void disconnect() {
+        sessions.forEach(StompSession::disconnect);
+        if (client != null) client.stop();
+    }
+
+    @Test
+    void burstFromConcurrentClientsIsQueuedWithinBoundsAndFullyDelivered() throws Exception {
+        client = new WebSocketStompClient(new StandardWebSocketClient());
+        client.setMessageConverter(new MappingJackson2MessageConverter());
+
+        // 두 명씩 한 대화
+        Fixtures fixtures = new Fixtures(userRepository);
+        long[] conversationIds = new long[CLIENTS];
+        List<BlockingQueue<Map<?, ?>>> inboxes = new ArrayList<>();
+        for (int i = 0; i < CLIENTS; i += 2) {
+            User a = fixtures.user();
+            User b = fixtures.user();
+            Conversation conv = conversationService.startConversation(a, b.getNickname());
+            conversationIds[i] = conv.getId();
+            conversationIds[i + 1] = conv.getId();
+            connect(a, inboxes);
+            connect(b, inboxes);
+        }
+
+        // 세션마다 구독 다음에 보낸 메시지가 돌아오면 구독이 브로커에 반영된 것 (세션 내 순서 유지)
+        for (int i = 0; i < CLIENTS; i++) {
+            sessions.get(i).send("/app/chat/" + conversationIds[i], Map.of("content", "ready-" + i));
+        }
+        for (BlockingQueue<Map<?, ?>> inbox : inboxes) {
+            for (int n = 0; n < 2; n++) {
+                assertThat(inbox.poll(30, TimeUnit.SECONDS)).isNotNull();
+            }
+        }
+
+        AtomicBoolean sampling = new AtomicBoolean(true);
+        AtomicInteger maxInboundQueue = new AtomicInteger();
+        AtomicInteger maxOutboundQueue = new AtomicInteger();
+        AtomicInteger maxInboundPool = new AtomicInteger();
+        AtomicInteger maxOutboundPool = new AtomicInteger();
+        Thread sampler = new Thread(() -> {
+            while (sampling.get()) {
+                maxInboundQueue.accumulateAndGet(gauge("vgc.ws.executor.queue.size", "inbound"), Math::max);
+                maxOutboundQueue.accumulateAndGet(gauge("vgc.ws.executor.queue.size", "outbound"), Math::max);
+                maxInboundPool.accumulateAndGet(gauge("vgc.ws.executor.pool.size", "inbound"), Math::max);
+                maxOutboundPool.accumulateAndGet(gauge("vgc.ws.executor.pool.size", "outbound"), Math::max);
+                LockSupport.parkNanos(100_000);
+            }
+        });
+        sampler.start();
+
+        ExecutorService senders = Executors.newFixedThreadPool(CLIENTS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> sent = new ArrayList<>();
+        for (int i = 0; i < CLIENTS; i++) {
+            int sender = i;
+            sent.add(senders.submit(() -> {
+                start.await();
+                for (int m = 0; m < MESSAGES_PER_CLIENT; m++) {
+                    sessions.get(sender).send("/app/chat/" + conversationIds[sender],
+                            Map.of("content", sender + ":" + m));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : sent) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        senders.shutdown();
+
+        // 각 클라이언트는 자기 메시지와 상대 메시지를 모두 받고, 보낸 사람별로는 보낸 순서 그대로
+        for (int i = 0; i < CLIENTS; i++) {
+            int[] next = new int[CLIENTS];
+            for (int n = 0; n < 2 * MESSAGES_PER_CLIENT; n++) {
+                Map<?, ?> message = inboxes.get(i).poll(60, TimeUnit.SECONDS);
+                assertThat(message).as("client %d message %d", i, n).isNotNull();
+                String[] parts = ((String) message.get("content")).split(":");
+                int from = Integer.parseInt(parts[0]);
+                assertThat(from / 2).isEqualTo(i / 2);
+                assertThat(Integer.parseInt(parts[1])).isEqualTo(next[from]++);
+            }
+        }
+        sampling.set(false);
+        sampler.join();
+
+        assertThat(maxInboundQueue.get()).isPositive().isLessThanOrEqualTo(INBOUND_QUEUE);
+        assertThat(maxOutboundQueue.get()).isLessThanOrEqualTo(OUTBOUND_QUEUE);
+        assertThat(maxInboundPool.get()).isLessThanOrEqualTo(2);
+        assertThat(maxOutboundPool.get()).isLessThanOrEqualTo(2);
+        // 큐에 다 들어갈 만큼의 폭주라 inbound 거부는 없어야 함
+        assertThat(meterRegistry.get("vgc.ws.executor.rejected").tag("channel", "inbound").counter().count())
+                .isZero();
+    }
+
+    private void connect(User user, List<BlockingQueue<Map<?, ?>>> inboxes) throws Exception {
+        StompHeaders connectHeaders = new StompHeaders();
+        connectHeaders.add("Authorization", "Bearer " + jwtUtil.generateToken(user));
+        StompSession session = client.connectAsync("ws://localhost:" + port + "/ws",
+                        new WebSocketHttpHeaders(), connectHeaders, new StompSessionHandlerAdapter() {})
+                .get(10, TimeUnit.SECONDS);
+        BlockingQueue<Map<?, ?>> inbox = new LinkedBlockingQueue<>();
+        session.subscribe("/user/queue/messages", new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return Map.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                inbox.add((Map<?, ?>) payload);
+            }
+        });
+        sessions.add(session);
+        inboxes.add(inbox);
+    }
+
+    private int gauge(String name, String channel) {
+        return (int) meterRegistry.get(name).tag("channel", channel).gauge().value();
+    }
+}
@@ -0,0 +1,80 @@
+package com.vgc.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vgc.entity.Conversation;
+import com.vgc.entity.User;
+import com.vgc.repository.UserRepository;
+import com.vgc.security.JwtUtil;
+import com.vgc.service.ConversationService;
+import com.vgc.support.Fixtures;
+import com.vgc.support.SqlCapture;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 대화 목록은 대화 수와 관계없이 쿼리 1개 (마지막 메시지/안 읽은 수가 conversations 행에 비정규화되어 있음)
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles({"local", "test"})
+class ConversationListQueryTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private ConversationService conversationService;
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void conversationListIsOneQueryRegardlessOfSize() throws Exception {
+        Fixtures fixtures = new Fixtures(userRepository);
+        User me = fixtures.user();
+        String token = "Bearer " + jwtUtil.generateToken(me);
+
+        addConversations(fixtures, me, 5);
+        list(token);
+        SqlCapture.clear();
+        JsonNode small = list(token);
+        int smallStatements = SqlCapture.count();
+
+        addConversations(fixtures, me, 25);
+        SqlCapture.clear();
+        JsonNode large = list(token);
+        int largeStatements = SqlCapture.count();
+
+        assertThat(small).hasSize(5);
+        assertThat(large).hasSize(30);
+        assertThat(smallStatements).isEqualTo(1);
+        assertThat(largeStatements).isEqualTo(1);
+        assertThat(large.get(0).get("lastMessage").asText()).startsWith("hello from");
+        assertThat(large.get(0).get("unreadCount").asInt()).isEqualTo(2);
+    }
+
+    private void addConversations(Fixtures fixtures, User me, int count) {
+        for (int i = 0; i < count; i++) {
+            User other = fixtures.user();
+            Conversation conv = conversationService.startConversation(me, other.getNickname());
+            conversationService.sendMessage(conv.getId(), other, "first");
+            conversationService.sendMessage(conv.getId(), other, "hello from " + other.getNickname());
+        }
+    }
+
+    private JsonNode list(String token) throws Exception {
+        String body = mockMvc.perform(get("/api/conversations").header("Authorization", token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+}
@@ -0,0 +1,163 @@
+package com.vgc.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vgc.entity.Category;
+import com.vgc.entity.User;
+import com.vgc.repository.CategoryRepository;
+import com.vgc.repository.UserRepository;
+import com.vgc.security.JwtUtil;
+import com.vgc.service.ContentKeys;
+import com.vgc.service.LocalStorageService;
+import com.vgc.support.Fixtures;
+import com.vgc.support.TestImages;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// local 프로필 직접 업로드 전체 흐름 - 서명 URL 발급 -> /api/uploads/local/** 로 PUT -> uploadedImageUrls 로 글 작성
+// 만료/변조된 서명, 요청한 해시와 다른 본문은 저장되지 않고, 저장되지 않은 URL 로는 글을 쓸 수 없음
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles({"local", "test"})
+class DirectUploadFlowTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private LocalStorageService localStorageService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private String token;
+    private String category;
+
+    @BeforeEach
+    void setUp() {
+        User user = new Fixtures(userRepository).user();
+        token = "Bearer " + jwtUtil.generateToken(user);
+        category = "direct-" + UUID.randomUUID().toString().substring(0, 8);
+        categoryRepository.save(new Category(category, category, null, false));
+    }
+
+    @Test
+    void presignedUploadCanBeUsedForPost() throws Exception {
+        byte[] image = TestImages.jpeg(64, 48);
+        JsonNode presigned = presign(image);
+        assertThat(presigned.get("exists").asBoolean()).isFalse();
+
+        mockMvc.perform(put(URI.create(presigned.get("uploadUrl").asText()))
+                        .contentType(MediaType.IMAGE_JPEG).content(image))
+                .andExpect(status().isOk());
+
+        String imageUrl = presigned.get("imageUrl").asText();
+        JsonNode post = createPost(imageUrl);
+        assertThat(post.get("imageUrls")).hasSize(1);
+        assertThat(post.get("imageUrls").get(0).asText()).isEqualTo(imageUrl);
+
+        // 같은 내용을 다시 요청하면 업로드 없이 기존 URL
+        JsonNode again = presign(image);
+        assertThat(again.get("exists").asBoolean()).isTrue();
+        assertThat(again.get("imageUrl").asText()).isEqualTo(imageUrl);
+    }
+
+    @Test
+    void expiredUploadUrlIsRejected() throws Exception {
+        byte[] image = TestImages.jpeg(65, 48);
+        ReflectionTestUtils.setField(localStorageService, "presignTtlMs", -1000L);
+        JsonNode presigned;
+        try {
+            presigned = presign(image);
+        } finally {
+            ReflectionTestUtils.setField(localStorageService, "presignTtlMs", 600_000L);
+        }
+
+        assertThatThrownBy(() -> mockMvc.perform(put(URI.create(presigned.get("uploadUrl").asText()))
+                .contentType(MediaType.IMAGE_JPEG).content(image)))
+                .hasRootCauseMessage("유효하지 않은 업로드 주소입니다.");
+        assertNotUsable(presigned.get("imageUrl").asText());
+    }
+
+    @Test
+    void tamperedUploadUrlIsRejected() throws Exception {
+        byte[] image = TestImages.jpeg(66, 48);
+        JsonNode presigned = presign(image);
+        String uploadUrl = presigned.get("uploadUrl").asText();
+        // 서명은 그대로 두고 허용 크기만 늘림
+        String tampered = uploadUrl.replace("&size=" + image.length + "&", "&size=" + (image.length * 10) + "&");
+        assertThat(tampered).isNotEqualTo(uploadUrl);
+
+        assertThatThrownBy(() -> mockMvc.perform(put(URI.create(tampered))
+                .contentType(MediaType.IMAGE_JPEG).content(image)))
+                .hasRootCauseMessage("유효하지 않은 업로드 주소입니다.");
+        assertNotUsable(presigned.get("imageUrl").asText());
+    }
+
+    @Test
+    void bodyWithDifferentHashIsRejected() throws Exception {
+        byte[] image = TestImages.jpeg(67, 48);
+        JsonNode presigned = presign(image);
+        byte[] other = image.clone();
+        other[other.length - 3] ^= 1;
+
+        assertThatThrownBy(() -> mockMvc.perform(put(URI.create(presigned.get("uploadUrl").asText()))
+                .contentType(MediaType.IMAGE_JPEG).content(other)))
+                .hasRootCauseMessage("업로드 내용이 요청한 해시와 다릅니다.");
+        assertNotUsable(presigned.get("imageUrl").asText());
+    }
+
+    private JsonNode presign(byte[] image) throws Exception {
+        String sha256 = HexFormat.of().formatHex(ContentKeys.digest(new ByteArrayInputStream(image)).digest());
+        Map<String, Object> request = Map.of("files", new Object[]{Map.of(
+                "fileName", "photo.jpg", "contentType", "image/jpeg", "size", image.length, "sha256", sha256)});
+        String body = mockMvc.perform(post("/api/posts/image-uploads")
+                        .header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get(0);
+    }
+
+    private JsonNode createPost(String imageUrl) throws Exception {
+        String body = mockMvc.perform(multipart("/api/posts")
+                        .param("title", "title")
+                        .param("content", "content")
+                        .param("category", category)
+                        .param("uploadedImageUrls", imageUrl)
+                        .header("Authorization", token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private void assertNotUsable(String imageUrl) {
+        assertThatThrownBy(() -> createPost(imageUrl))
+                .hasRootCauseMessage("업로드되지 않은 이미지입니다: " + imageUrl);
+    }
+}
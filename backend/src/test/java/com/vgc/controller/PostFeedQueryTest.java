@@ -0,0 +1,125 @@
+package com.vgc.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vgc.entity.User;
+import com.vgc.repository.PostRepository;
+import com.vgc.repository.UserRepository;
+import com.vgc.support.Fixtures;
+import com.vgc.support.SqlCapture;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// keyset 피드가 SQL에서 잘라 오고, 페이지 크기가 커져도 쿼리 수가 그대로인지 확인
+@SpringBootTest(properties = "vgc.feed-cache.max-entries=0")
+@AutoConfigureMockMvc
+@ActiveProfiles({"local", "test"})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PostFeedQueryTest {
+    private static final String CATEGORY = "feed-query";
+    private static final Pattern LIMIT = Pattern.compile("\\b(limit|fetch first)\\b", Pattern.CASE_INSENSITIVE);
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PostRepository postRepository;
+
+    @BeforeAll
+    void createPosts() {
+        Fixtures fixtures = new Fixtures(userRepository, postRepository);
+        User author = fixtures.user();
+        for (int i = 0; i < 120; i++) {
+            fixtures.post(author, CATEGORY, 2);
+        }
+    }
+
+    @Test
+    void feedQueryIsLimitedInSql() throws Exception {
+        SqlCapture.clear();
+        feed(10, null);
+
+        List<String> postQueries = SqlCapture.statements().stream()
+                .filter(sql -> sql.contains(" from posts "))
+                .toList();
+        assertThat(postQueries).isNotEmpty();
+        assertThat(postQueries).allMatch(sql -> LIMIT.matcher(sql).find());
+    }
+
+    @Test
+    void statementCountStaysConstantAsPageGrows() throws Exception {
+        int small = statementsFor(5, null);
+        int medium = statementsFor(20, null);
+        int large = statementsFor(50, null);
+
+        assertThat(small).isEqualTo(medium).isEqualTo(large);
+        // 게시글 + 이미지 일괄 로딩, 작성자는 join
+        assertThat(large).isLessThanOrEqualTo(2);
+
+        String cursor = feed(50, null).get("nextCursor").asText();
+        assertThat(statementsFor(50, cursor)).isEqualTo(large);
+    }
+
+    @Test
+    void pageSizeIsClamped() throws Exception {
+        assertThat(feed(-1, null).get("content")).hasSize(1);
+        assertThat(feed(0, null).get("content")).hasSize(1);
+        assertThat(feed(1000, null).get("content")).hasSize(50);
+    }
+
+    @Test
+    void cardViewSelectsOnlyCardColumns() throws Exception {
+        SqlCapture.clear();
+        JsonNode first = feed(20, null, "card");
+
+        assertThat(first.get("content")).hasSize(20);
+        assertThat(first.get("content").get(0).has("content")).isFalse();
+        assertThat(SqlCapture.statements()).hasSize(1);
+        assertThat(SqlCapture.statements().get(0)).doesNotContain("content").doesNotContain("users");
+
+        JsonNode second = feed(20, first.get("nextCursor").asText(), "card");
+        assertThat(second.get("content").get(0).get("id").asLong())
+                .isLessThan(first.get("content").get(19).get("id").asLong());
+    }
+
+    private int statementsFor(int size, String cursor) throws Exception {
+        SqlCapture.clear();
+        JsonNode body = feed(size, cursor);
+        assertThat(body.get("content")).hasSize(size);
+        return SqlCapture.count();
+    }
+
+    private JsonNode feed(int size, String cursor) throws Exception {
+        return feed(size, cursor, "full");
+    }
+
+    private JsonNode feed(int size, String cursor, String view) throws Exception {
+        var request = get("/api/posts/feed")
+                .param("category", CATEGORY)
+                .param("size", String.valueOf(size))
+                .param("view", view);
+        if (cursor != null) {
+            request.param("cursor", cursor);
+        }
+        String body = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+}
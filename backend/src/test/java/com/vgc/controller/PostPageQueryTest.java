@@ -0,0 +1,121 @@
+package com.vgc.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vgc.entity.Post;
+import com.vgc.entity.PostStatus;
+import com.vgc.entity.User;
+import com.vgc.repository.PostRepository;
+import com.vgc.repository.UserRepository;
+import com.vgc.support.Fixtures;
+import com.vgc.support.SqlCapture;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 페이지 목록(GET /api/posts)은 id 만 SQL LIMIT 으로 자르고, 작성자/이미지는 그 id 들에 대해서만 한 번에 읽음
+@SpringBootTest(properties = "vgc.feed-cache.max-entries=0")
+@AutoConfigureMockMvc
+@ActiveProfiles({"local", "test"})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PostPageQueryTest {
+    private static final String CATEGORY = "page-query";
+    private static final Pattern LIMIT = Pattern.compile("\\b(limit|fetch first|offset)\\b", Pattern.CASE_INSENSITIVE);
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PostRepository postRepository;
+
+    @BeforeAll
+    void createPosts() {
+        Fixtures fixtures = new Fixtures(userRepository, postRepository);
+        User author = fixtures.user();
+        for (int i = 0; i < 120; i++) {
+            Post post = fixtures.post(author, CATEGORY, 3);
+            post.setStatus(i % 2 == 0 ? PostStatus.REGISTERED : PostStatus.COMPLETE);
+            postRepository.save(post);
+        }
+    }
+
+    @Test
+    void idPageIsLimitedInSqlAndImagesAreBatchLoaded() throws Exception {
+        SqlCapture.clear();
+        JsonNode body = page(0, 10);
+
+        assertThat(body.get("content")).hasSize(10);
+        assertThat(body.get("content").get(0).get("imageUrls")).hasSize(3);
+        assertThat(body.get("totalElements").asLong()).isEqualTo(120);
+
+        List<String> statements = SqlCapture.statements();
+        // id 페이지는 LIMIT 이 붙고, 이미지를 join 하는 조회는 페이지의 id 목록(IN)으로만 제한
+        assertThat(statements).anyMatch(sql -> sql.contains(" from posts ") && LIMIT.matcher(sql).find());
+        assertThat(statements.stream().filter(sql -> sql.contains("post_images")))
+                .isNotEmpty()
+                .allMatch(sql -> sql.contains(" in ("));
+    }
+
+    @Test
+    void statementCountStaysConstantAsPageGrows() throws Exception {
+        int small = statementsFor(0, 5);
+        int medium = statementsFor(0, 20);
+        int large = statementsFor(0, 50);
+
+        assertThat(small).isEqualTo(medium).isEqualTo(large);
+        // id 페이지 + 전체 개수 + 작성자/이미지 일괄 로딩
+        assertThat(large).isLessThanOrEqualTo(3);
+        assertThat(statementsFor(1, 50)).isEqualTo(large);
+    }
+
+    @Test
+    void filtersUseTheSameTwoPhaseFetch() throws Exception {
+        SqlCapture.clear();
+        JsonNode body = page(0, 20, "COMPLETE");
+
+        assertThat(body.get("content")).hasSize(20);
+        assertThat(body.get("totalElements").asLong()).isEqualTo(60);
+        assertThat(body.get("content")).allMatch(post -> post.get("status").asText().equals("COMPLETE"));
+        assertThat(SqlCapture.count()).isLessThanOrEqualTo(3);
+    }
+
+    private int statementsFor(int page, int size) throws Exception {
+        SqlCapture.clear();
+        JsonNode body = page(page, size);
+        assertThat(body.get("content")).hasSize(size);
+        return SqlCapture.count();
+    }
+
+    private JsonNode page(int page, int size) throws Exception {
+        return page(page, size, null);
+    }
+
+    private JsonNode page(int page, int size, String status) throws Exception {
+        var request = get("/api/posts")
+                .param("category", CATEGORY)
+                .param("page", String.valueOf(page))
+                .param("size", String.valueOf(size));
+        if (status != null) {
+            request.param("status", status);
+        }
+        String body = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+}
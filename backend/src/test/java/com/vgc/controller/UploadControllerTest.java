@@ -0,0 +1,125 @@
+package com.vgc.controller;
+
+import com.vgc.service.ContentKeys;
+import com.vgc.service.LocalStorageService;
+import com.vgc.support.TestDatabases;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// /uploads/** 서빙: 내용 해시 이름만 허용, ETag/Last-Modified 조건부 요청과 Range/If-Range 처리
+class UploadControllerTest {
+    private static final byte[] DATA = "0123456789".getBytes(StandardCharsets.US_ASCII);
+    private static final Instant MODIFIED = Instant.parse("2024-05-01T12:00:00Z");
+    private static final DateTimeFormatter HTTP_DATE = DateTimeFormatter.ofPattern("EEE, dd MMM yyyy HH:mm:ss 'GMT'", Locale.US);
+
+    @TempDir
+    Path uploadDir;
+
+    private MockMvc mockMvc;
+    private String hash;
+    private String url;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        hash = ContentKeys.fileName(ContentKeys.digest(new ByteArrayInputStream(DATA)), null);
+        url = "/uploads/" + hash + ".jpg";
+        write(hash + ".jpg");
+        LocalStorageService storage = new LocalStorageService(TestDatabases.imageLeases(),
+                "test-upload-signing-secret-at-least-32-bytes", "test-jwt-secret-at-least-32-bytes-long");
+        mockMvc = MockMvcBuilders.standaloneSetup(new UploadController(uploadDir.toString(), storage)).build();
+    }
+
+    @Test
+    void servesContentWithValidators() throws Exception {
+        mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(DATA))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + hash + "\""))
+                .andExpect(header().string(HttpHeaders.LAST_MODIFIED, httpDate(MODIFIED)))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "public, max-age=31536000, immutable"))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"));
+
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, "W/\"other\", \"" + hash + "\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void servesSingleRanges() throws Exception {
+        mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=2-5"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-5/10"))
+                .andExpect(content().string("2345"));
+        mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=-3"))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().string("789"));
+        mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=10-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */10"));
+    }
+
+    @Test
+    void ifRangeComparesEtagOrLastModified() throws Exception {
+        mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=0-1").header(HttpHeaders.IF_RANGE, "\"" + hash + "\""))
+                .andExpect(status().isPartialContent());
+        mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=0-1").header(HttpHeaders.IF_RANGE, "\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(DATA));
+        mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=0-1").header(HttpHeaders.IF_RANGE, httpDate(MODIFIED)))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().string("01"));
+        mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=0-1")
+                        .header(HttpHeaders.IF_RANGE, httpDate(MODIFIED.minusSeconds(60))))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(DATA));
+    }
+
+    @Test
+    void servesDerivedVariants() throws Exception {
+        write(hash + "_thumb.jpg");
+
+        mockMvc.perform(get("/uploads/" + hash + "_thumb.jpg"))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(DATA));
+    }
+
+    @Test
+    void rejectsNamesOutsideContentKeys() throws Exception {
+        write("upload-123.tmp");
+        write("notes.txt");
+
+        mockMvc.perform(get("/uploads/upload-123.tmp")).andExpect(status().isNotFound());
+        mockMvc.perform(get("/uploads/notes.txt")).andExpect(status().isNotFound());
+        mockMvc.perform(get("/uploads/sub/" + hash + ".jpg")).andExpect(status().isNotFound());
+        mockMvc.perform(get("/uploads/../" + hash + ".jpg")).andExpect(status().isNotFound());
+        mockMvc.perform(get("/uploads/" + "0".repeat(64) + ".jpg")).andExpect(status().isNotFound());
+    }
+
+    private void write(String fileName) throws Exception {
+        Path file = uploadDir.resolve(fileName);
+        Files.write(file, DATA);
+        Files.setLastModifiedTime(file, FileTime.from(MODIFIED));
+    }
+
+    private static String httpDate(Instant instant) {
+        return HTTP_DATE.format(instant.atZone(ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,112 @@
+package com.vgc.security;
+
+import com.vgc.entity.User;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtUtilTest {
+    private static final String SECRET = "test-jwt-secret-key-must-be-at-least-256-bits-long-for-hs256";
+
+    @Test
+    void verifiedClaimsAreCachedUnderTokenHash() throws Exception {
+        JwtUtil jwtUtil = new JwtUtil(SECRET, 100);
+        String token = jwtUtil.generateToken(user(1L));
+
+        Claims first = jwtUtil.parseClaims(token);
+        Claims second = jwtUtil.parseClaims(token);
+
+        assertThat(first.getSubject()).isEqualTo("user1@test.com");
+        assertThat(second).isSameAs(first);
+        assertThat(cacheKeys(jwtUtil)).hasSize(1)
+                .allSatisfy(key -> assertThat(key).doesNotContain(token).matches("[0-9a-f]{64}"));
+    }
+
+    @Test
+    void invalidTokensAreRejectedAndNotCached() {
+        JwtUtil jwtUtil = new JwtUtil(SECRET, 100);
+        String token = jwtUtil.generateToken(user(1L));
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThat(jwtUtil.parseClaims(tampered)).isNull();
+        assertThat(jwtUtil.parseClaims("not-a-jwt")).isNull();
+        assertThat(new JwtUtil(SECRET.replace('t', 'x'), 100).parseClaims(token)).isNull();
+        assertThat(jwtUtil.cachedTokens()).isZero();
+    }
+
+    @Test
+    void cacheStaysBounded() {
+        JwtUtil jwtUtil = new JwtUtil(SECRET, 10);
+        for (long id = 0; id < 50; id++) {
+            String token = jwtUtil.generateToken(user(id));
+            assertThat(jwtUtil.parseClaims(token)).isNotNull();
+            assertThat(jwtUtil.cachedTokens()).isLessThanOrEqualTo(10);
+        }
+    }
+
+    @Test
+    void fullCacheIsTrimmedInBatches() {
+        JwtUtil jwtUtil = new JwtUtil(SECRET, 100);
+        for (long id = 0; id < 100; id++) {
+            jwtUtil.parseClaims(jwtUtil.generateToken(user(id)));
+        }
+        assertThat(jwtUtil.cachedTokens()).isEqualTo(100);
+
+        // 상한에 닿으면 10% 를 한 번에 덜어내고, 다음 9건은 정리 없이 바로 들어감
+        jwtUtil.parseClaims(jwtUtil.generateToken(user(100L)));
+        assertThat(jwtUtil.cachedTokens()).isEqualTo(91);
+        for (long id = 101; id < 110; id++) {
+            jwtUtil.parseClaims(jwtUtil.generateToken(user(id)));
+        }
+        assertThat(jwtUtil.cachedTokens()).isEqualTo(100);
+    }
+
+    @Test
+    void concurrentParsingReturnsClaimsForEveryCall() throws Exception {
+        JwtUtil jwtUtil = new JwtUtil(SECRET, 8);
+        List<String> tokens = new ArrayList<>();
+        for (long id = 0; id < 32; id++) {
+            tokens.add(jwtUtil.generateToken(user(id)));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            String token = tokens.get(i % tokens.size());
+            long id = i % tokens.size();
+            results.add(executor.submit(() -> {
+                Claims claims = jwtUtil.parseClaims(token);
+                return claims != null && claims.getSubject().equals("user" + id + "@test.com");
+            }));
+        }
+        for (Future<Boolean> result : results) {
+            assertThat(result.get()).isTrue();
+        }
+        executor.shutdown();
+        // 상한 검사와 put 사이의 경합으로 스레드 수만큼은 넘을 수 있음
+        assertThat(jwtUtil.cachedTokens()).isLessThanOrEqualTo(8 + 8);
+    }
+
+    static User user(Long id) {
+        User user = new User();
+        user.setId(id);
+        user.setEmail("user" + id + "@test.com");
+        user.setNickname("user" + id);
+        return user;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Iterable<String> cacheKeys(JwtUtil jwtUtil) throws Exception {
+        Field field = JwtUtil.class.getDeclaredField("verified");
+        field.setAccessible(true);
+        return ((ExpiringCache<String, ?>) field.get(jwtUtil)).keys();
+    }
+}
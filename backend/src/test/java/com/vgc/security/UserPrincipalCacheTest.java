@@ -0,0 +1,68 @@
+package com.vgc.security;
+
+import com.vgc.entity.User;
+import com.vgc.repository.UserRepository;
+import com.vgc.support.Fixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 사용자 변경은 커밋 후에 캐시에서 지워지므로, 커밋 전에 다른 요청이 이전 값을 다시 캐시해도 남지 않음
+@SpringBootTest(properties = "vgc.principal-cache.max-entries=20")
+@ActiveProfiles({"local", "test"})
+class UserPrincipalCacheTest {
+
+    @Autowired
+    private UserPrincipalCache principalCache;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void changeIsEvictedAfterCommit() {
+        User user = new Fixtures(userRepository).user();
+        String before = user.getNickname();
+        assertThat(principalCache.get(user.getEmail()).getNickname()).isEqualTo(before);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            User managed = userRepository.findById(user.getId()).orElseThrow();
+            managed.setNickname(before + "-renamed");
+            userRepository.flush();
+            // 커밋 전 다른 스레드의 조회는 이전 값을 읽어 다시 캐시함
+            String seen = CompletableFuture.supplyAsync(() -> principalCache.get(user.getEmail()).getNickname()).join();
+            assertThat(seen).isEqualTo(before);
+        });
+
+        assertThat(principalCache.get(user.getEmail()).getNickname()).isEqualTo(before + "-renamed");
+    }
+
+    @Test
+    void changeFlushedAtCommitIsEvicted() {
+        User user = new Fixtures(userRepository).user();
+        principalCache.get(user.getEmail());
+
+        // flush 가 커밋 중에 일어나 이벤트도 커밋 직전에 발행되는 경우
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                userRepository.findById(user.getId()).orElseThrow().setRole("ADMIN"));
+
+        assertThat(principalCache.get(user.getEmail()).getRole()).isEqualTo("ADMIN");
+    }
+
+    @Test
+    void staysBoundedWithoutGlobalLock() {
+        Fixtures fixtures = new Fixtures(userRepository);
+        for (int i = 0; i < 50; i++) {
+            User user = fixtures.user();
+            assertThat(principalCache.get(user.getEmail())).isNotNull();
+            assertThat(principalCache.size()).isLessThanOrEqualTo(20);
+        }
+    }
+}
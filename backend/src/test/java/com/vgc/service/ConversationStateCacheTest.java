@@ -0,0 +1,96 @@
+package com.vgc.service;
+
+import com.vgc.entity.Conversation;
+import com.vgc.entity.User;
+import com.vgc.repository.ConversationRepository;
+import com.vgc.repository.UserRepository;
+import com.vgc.support.Fixtures;
+import com.vgc.support.SqlCapture;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 캐시 적중 시 메시지 전송은 쓰기 문장만 실행 (대화/사용자 조회 없음), 나가기 후에는 새 상태로 다시 읽음
+@SpringBootTest
+@ActiveProfiles({"local", "test"})
+class ConversationStateCacheTest {
+
+    @Autowired
+    private ConversationService conversationService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ConversationRepository conversationRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void cachedSendIssuesNoReads() {
+        Fixtures fixtures = new Fixtures(userRepository);
+        User me = fixtures.user();
+        User other = fixtures.user();
+        Conversation conv = conversationService.startConversation(me, other.getNickname());
+
+        SqlCapture.clear();
+        conversationService.sendMessage(conv.getId(), me, "first");
+        assertThat(conversationReads()).hasSize(1);
+
+        SqlCapture.clear();
+        conversationService.sendMessage(conv.getId(), me, "second");
+        conversationService.sendMessage(conv.getId(), other, "third");
+        assertThat(conversationReads()).isEmpty();
+    }
+
+    @Test
+    void leaveInvalidatesCachedState() {
+        Fixtures fixtures = new Fixtures(userRepository);
+        User me = fixtures.user();
+        User other = fixtures.user();
+        Conversation conv = conversationService.startConversation(me, other.getNickname());
+        conversationService.sendMessage(conv.getId(), me, "hello");
+
+        conversationService.leaveConversation(conv.getId(), other);
+        assertThatThrownBy(() -> conversationService.sendMessage(conv.getId(), me, "anyone?"))
+                .hasMessage("상대방이 대화를 나갔습니다.");
+
+        conversationService.startConversation(other, me.getNickname());
+        SqlCapture.clear();
+        conversationService.sendMessage(conv.getId(), me, "welcome back");
+        assertThat(conversationReads()).hasSize(1);
+    }
+
+    @Test
+    void staleCachedStateDoesNotCountUnreadForRecipientWhoLeft() {
+        Fixtures fixtures = new Fixtures(userRepository);
+        User me = fixtures.user();
+        User other = fixtures.user();
+        Conversation conv = conversationService.startConversation(me, other.getNickname());
+        conversationService.sendMessage(conv.getId(), me, "hello");
+        assertThat(userRepository.findUnreadTotalById(other.getId())).isEqualTo(1);
+
+        // 다른 노드에서 나가 이 노드의 캐시에는 아직 참여 중으로 남아 있는 상태
+        jdbcTemplate.update("UPDATE conversations SET user1left = (user1_id = ?), user2left = (user2_id = ?) WHERE id = ?",
+                other.getId(), other.getId(), conv.getId());
+        conversationService.sendMessage(conv.getId(), me, "after leaving");
+
+        assertThat(userRepository.findUnreadTotalById(other.getId())).isEqualTo(1);
+        assertThat(conversationRepository.findUnreadCount(conv.getId(), other.getId())).isEqualTo(1);
+    }
+
+    // conversations/users 조회만 (다른 스케줄 작업, 커밋 후 배지 푸시용 안 읽은 수 조회는 제외)
+    private static List<String> conversationReads() {
+        return SqlCapture.statements().stream()
+                .map(String::toLowerCase)
+                .filter(sql -> sql.startsWith("select"))
+                .filter(sql -> sql.contains("conversations") || sql.contains(" users "))
+                .filter(sql -> !sql.contains("unread_count end") && !sql.startsWith("select u1_0.unread_total"))
+                .toList();
+    }
+}
@@ -0,0 +1,138 @@
+package com.vgc.service;
+
+import com.vgc.support.InMemoryImageStorage;
+import com.vgc.support.TestDatabases;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 전용 스레드에서 스캔하고, 삭제는 sleep 없이 간격을 두고 예약되며, 차례가 왔을 때 다시 쓰이고 있으면 지우지 않음
+class ImageGarbageCollectorTest {
+
+    private static final Instant OLD = Instant.now().minus(2, ChronoUnit.DAYS);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final InMemoryImageStorage storage = new InMemoryImageStorage();
+    private JdbcTemplate jdbcTemplate;
+    private ImageLeases imageLeases;
+    private ImageGarbageCollector collector;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = TestDatabases.h2("image-gc");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        imageLeases = TestDatabases.imageLeases(dataSource);
+        jdbcTemplate.execute("CREATE TABLE post_images (image_url VARCHAR(255), thumbnail_url VARCHAR(255))");
+        jdbcTemplate.execute("CREATE TABLE posts (image_url VARCHAR(255))");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (collector != null) collector.shutdown();
+    }
+
+    @Test
+    void deletesOnlyOldUnreferencedImages() throws Exception {
+        storage.put("orphan.jpg", new byte[1], OLD);
+        String referenced = storage.put("kept.jpg", new byte[1], OLD);
+        String fresh = storage.put("fresh.jpg", new byte[1], Instant.now());
+        jdbcTemplate.update("INSERT INTO post_images (image_url) VALUES (?)", referenced);
+
+        collector = create(1000);
+        collector.collectNow().get(5, TimeUnit.SECONDS);
+
+        awaitDeleted(1);
+        assertThat(storage.objects()).containsOnlyKeys(referenced, fresh);
+    }
+
+    @Test
+    void scanReturnsWhileDeletesArePaced() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            storage.put("orphan" + i + ".jpg", new byte[1], OLD);
+        }
+
+        collector = create(5);
+        long started = System.nanoTime();
+        collector.collectNow().get(5, TimeUnit.SECONDS);
+
+        // 초당 5건이면 10건은 약 2초 - 스캔은 그보다 훨씬 먼저 끝나고 삭제는 뒤에서 이어짐
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)).isLessThan(1000);
+        assertThat(deleted()).isLessThan(10);
+        awaitDeleted(10);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)).isGreaterThanOrEqualTo(1500);
+        assertThat(storage.objects()).isEmpty();
+    }
+
+    @Test
+    void reusedOrReferencedAfterScanIsNotDeleted() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            storage.put("orphan" + i + ".jpg", new byte[1], OLD);
+        }
+
+        collector = create(1);
+        collector.collectNow().get(5, TimeUnit.SECONDS);
+        awaitDeleted(1);
+
+        // 스캔 뒤 남은 두 건 중 하나는 같은 내용이 다시 올라오고(수정 시각 갱신) 하나는 게시글이 참조
+        String[] remaining = storage.objects().keySet().toArray(new String[0]);
+        assertThat(remaining).hasSize(2);
+        storage.touch(remaining[0]);
+        jdbcTemplate.update("INSERT INTO post_images (image_url) VALUES (?)", remaining[1]);
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (registry.counter("vgc.image-gc.reprieved").count() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(registry.counter("vgc.image-gc.reprieved").count()).isEqualTo(2);
+        assertThat(storage.objects()).containsOnlyKeys(remaining);
+        assertThat(deleted()).isEqualTo(1);
+    }
+
+    @Test
+    void leasedAfterScanIsNotDeleted() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            storage.put("orphan" + i + ".jpg", new byte[1], OLD);
+        }
+
+        collector = create(1);
+        collector.collectNow().get(5, TimeUnit.SECONDS);
+        awaitDeleted(1);
+
+        // 업로드가 같은 내용을 확인하기 직전(수정 시각 갱신 전)에 lease 만 기록된 상태
+        String remaining = storage.objects().keySet().iterator().next();
+        imageLeases.lease(remaining);
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (registry.counter("vgc.image-gc.reprieved").count() < 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(registry.counter("vgc.image-gc.reprieved").count()).isEqualTo(1);
+        assertThat(storage.objects()).containsOnlyKeys(remaining);
+    }
+
+    private ImageGarbageCollector create(int maxDeletesPerSecond) {
+        return new ImageGarbageCollector(storage, imageLeases, jdbcTemplate, registry,
+                true, false, 0, 86_400_000L, 86_400_000L, 500, 10_000, maxDeletesPerSecond);
+    }
+
+    private void awaitDeleted(double count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (deleted() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(deleted()).isEqualTo(count);
+    }
+
+    private double deleted() {
+        return registry.counter("vgc.image-gc.deleted").count();
+    }
+}
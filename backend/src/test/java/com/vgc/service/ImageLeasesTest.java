@@ -0,0 +1,84 @@
+package com.vgc.service;
+
+import com.vgc.support.TestDatabases;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// GC 삭제와 업로드 lease 가 같은 행 잠금으로 순서가 정해지는지 확인
+class ImageLeasesTest {
+
+    private static final String URL = "/uploads/abc.jpg";
+
+    private final DriverManagerDataSource dataSource = TestDatabases.h2("image-leases");
+    private final ImageLeases imageLeases = TestDatabases.imageLeases(dataSource);
+
+    @Test
+    void leaseWaitsUntilInFlightDeleteCommits() throws Exception {
+        CountDownLatch deleting = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean deletedObject = new AtomicBoolean();
+
+        CompletableFuture<Boolean> delete = CompletableFuture.supplyAsync(() -> imageLeases.deleteIfUnleased(
+                URL, Instant.now(), () -> true, () -> {
+                    deleting.countDown();
+                    await(release);
+                    deletedObject.set(true);
+                }));
+        assertThat(deleting.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // 삭제가 끝나기 전에는 lease 가 끝나지 않으므로 업로드는 "아직 있는 객체"를 재사용할 수 없음
+        CompletableFuture<Void> lease = CompletableFuture.runAsync(() -> imageLeases.lease(URL));
+        assertThatThrownBy(() -> lease.get(500, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+
+        release.countDown();
+        assertThat(delete.get(5, TimeUnit.SECONDS)).isTrue();
+        lease.get(5, TimeUnit.SECONDS);
+        assertThat(deletedObject).isTrue();
+        assertThat(leasedAt()).isAfter(Instant.now().minusSeconds(60));
+    }
+
+    @Test
+    void freshLeaseBlocksDelete() {
+        imageLeases.lease(URL);
+
+        AtomicBoolean deleted = new AtomicBoolean();
+        assertThat(imageLeases.deleteIfUnleased(URL, Instant.now().minusSeconds(60), () -> true,
+                () -> deleted.set(true))).isFalse();
+        assertThat(deleted).isFalse();
+    }
+
+    @Test
+    void deleteRemovesLeaseRowOnlyWhenDeleted() {
+        assertThat(imageLeases.deleteIfUnleased(URL, Instant.now(), () -> false, () -> { })).isFalse();
+        assertThat(leasedAt()).isEqualTo(Instant.EPOCH);
+
+        assertThat(imageLeases.deleteIfUnleased(URL, Instant.now(), () -> true, () -> { })).isTrue();
+        assertThat(new JdbcTemplate(dataSource).queryForObject(
+                "SELECT COUNT(*) FROM image_leases", Integer.class)).isZero();
+    }
+
+    private Instant leasedAt() {
+        return new JdbcTemplate(dataSource).queryForObject(
+                "SELECT leased_at FROM image_leases WHERE url = ?", Timestamp.class, URL).toInstant();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.vgc.service;
+
+import com.vgc.support.InMemoryImageStorage;
+import com.vgc.support.TestImages;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 헤더의 가로/세로로 픽셀 수를 먼저 확인해 한도를 넘으면 디코딩하지 않고 건너뜀
+// EXIF 방향은 자르고 줄이기 전에 적용
+class ImageVariantProcessorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final InMemoryImageStorage storage = new InMemoryImageStorage();
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:image-" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE post_images (image_url VARCHAR(255), thumbnail_url VARCHAR(255), srcset VARCHAR(1000))");
+        jdbcTemplate.execute("CREATE TABLE posts (id BIGINT, category VARCHAR(50), image_url VARCHAR(255), thumbnail_url VARCHAR(255))");
+    }
+
+    @Test
+    void generatesVariantsWithinPixelLimit() {
+        String url = upload("small.jpg", 1600, 1200);
+
+        process(1_000_000_000L, url);
+
+        assertThat(storage.objects()).containsKeys("/uploads/small_thumb.jpg", "/uploads/small_w640.jpg", "/uploads/small_w1280.jpg");
+        assertThat(jdbcTemplate.queryForObject("SELECT thumbnail_url FROM post_images WHERE image_url = ?", String.class, url))
+                .isEqualTo("/uploads/small_thumb.jpg");
+        assertThat(registry.counter("vgc.image.processed").count()).isEqualTo(1);
+    }
+
+    @Test
+    void skipsImagesAbovePixelLimitWithoutDecoding() {
+        String url = upload("large.jpg", 1600, 1200);
+
+        process(1_000_000L, url);
+
+        assertThat(storage.objects()).containsOnlyKeys(url);
+        assertThat(jdbcTemplate.queryForObject("SELECT thumbnail_url FROM post_images WHERE image_url = ?", String.class, url))
+                .isNull();
+        assertThat(registry.counter("vgc.image.skipped").count()).isEqualTo(1);
+        assertThat(registry.counter("vgc.image.failed").count()).isZero();
+    }
+
+    @Test
+    void appliesExifOrientationBeforeResizing() throws Exception {
+        // 센서 방향(가로 1600x1200)으로 저장된 세로 사진 - 90도 회전해야 1200x1600
+        String url = upload("portrait.jpg", TestImages.jpeg(1600, 1200, 6));
+        // 회전 방향(시계 방향)까지 확인하도록 왼쪽 위를 빨간색으로 칠한 원본도 처리
+        String marked = upload("marked.jpg", markedTopLeft(1600, 1200, 6));
+
+        process(1_000_000_000L, url, marked);
+
+        BufferedImage variant = ImageIO.read(new ByteArrayInputStream(storage.objects().get("/uploads/portrait_w640.jpg")));
+        assertThat(variant.getWidth()).isEqualTo(640);
+        assertThat(variant.getHeight()).isEqualTo(853);
+        // 1200px 폭이라 1280 변환본은 만들지 않음
+        assertThat(storage.objects()).doesNotContainKey("/uploads/portrait_w1280.jpg");
+
+        // 회전(6) 후 원본의 왼쪽 위는 오른쪽 위로 감
+        BufferedImage rotated = ImageIO.read(new ByteArrayInputStream(storage.objects().get("/uploads/marked_w640.jpg")));
+        assertThat(isRed(rotated.getRGB(rotated.getWidth() - 5, 5))).isTrue();
+        assertThat(isRed(rotated.getRGB(5, 5))).isFalse();
+    }
+
+    private String upload(String name, int width, int height) {
+        return upload(name, TestImages.jpeg(width, height));
+    }
+
+    private String upload(String name, byte[] data) {
+        String url = storage.put(name, data);
+        jdbcTemplate.update("INSERT INTO post_images (image_url) VALUES (?)", url);
+        return url;
+    }
+
+    // shutdown 이 대기열을 모두 처리할 때까지 기다림
+    private void process(long maxPixels, String... urls) {
+        ImageVariantProcessor processor = new ImageVariantProcessor(storage, jdbcTemplate, event -> {}, registry,
+                1, 10, 480, 600, "640,1280", 0.8f, maxPixels);
+        processor.onImagesUploaded(new ImagesUploadedEvent(List.of(urls)));
+        processor.shutdown();
+    }
+
+    // 저장된(센서 방향) 이미지의 왼쪽 위 100x100 을 빨간색으로 칠하고 EXIF 방향을 붙임
+    private static byte[] markedTopLeft(int width, int height, int orientation) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, width, height);
+        g.setColor(Color.RED);
+        g.fillRect(0, 0, 100, 100);
+        g.dispose();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpeg", out);
+        return TestImages.withOrientation(out.toByteArray(), orientation);
+    }
+
+    private static boolean isRed(int rgb) {
+        Color color = new Color(rgb);
+        return color.getRed() > 200 && color.getGreen() < 80 && color.getBlue() < 80;
+    }
+}
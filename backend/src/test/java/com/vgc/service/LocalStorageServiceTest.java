@@ -0,0 +1,74 @@
+package com.vgc.service;
+
+import com.vgc.support.TestDatabases;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 같은 내용을 다시 올리면 기존 파일을 재사용하되 수정 시각을 갱신해 GC 유예 기간이 다시 시작되어야 함
+class LocalStorageServiceTest {
+
+    @TempDir
+    Path uploadDir;
+
+    private final LocalStorageService storage = new LocalStorageService(TestDatabases.imageLeases(),
+            "test-upload-signing-secret-at-least-32-bytes", "test-jwt-secret-at-least-32-bytes-long");
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(storage, "uploadDir", uploadDir.toString());
+        ReflectionTestUtils.setField(storage, "presignTtlMs", 600_000L);
+    }
+
+    @Test
+    void reuploadRefreshesLastModified() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("images", "cat.jpg", "image/jpeg", new byte[]{1, 2, 3});
+        String url = storage.upload(file);
+        Path stored = uploadDir.resolve(url.replaceFirst("^/uploads/", ""));
+        Instant old = Instant.now().minus(2, ChronoUnit.DAYS);
+        Files.setLastModifiedTime(stored, FileTime.from(old));
+
+        assertThat(storage.upload(file)).isEqualTo(url);
+
+        assertThat(Files.getLastModifiedTime(stored).toInstant()).isAfter(old.plus(1, ChronoUnit.DAYS));
+        try (var files = Files.list(uploadDir)) {
+            assertThat(files).containsExactly(stored);
+        }
+    }
+
+    @Test
+    void presignOfExistingFileRefreshesLastModified() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("images", "cat.jpg", "image/jpeg", new byte[]{4, 5, 6});
+        String url = storage.upload(file);
+        Path stored = uploadDir.resolve(url.replaceFirst("^/uploads/", ""));
+        Instant old = Instant.now().minus(2, ChronoUnit.DAYS);
+        Files.setLastModifiedTime(stored, FileTime.from(old));
+        String sha256 = stored.getFileName().toString().replaceFirst("\\..*$", "");
+
+        ImageStorageService.PresignedUpload presigned = storage.presign("cat.jpg", "image/jpeg", 3, sha256);
+
+        assertThat(presigned.exists()).isTrue();
+        assertThat(presigned.imageUrl()).isEqualTo(url);
+        assertThat(Files.getLastModifiedTime(stored).toInstant()).isAfter(old.plus(1, ChronoUnit.DAYS));
+    }
+
+    @Test
+    void signingSecretMustBeSetAndDifferFromJwtSecret() {
+        String jwtSecret = "test-jwt-secret-at-least-32-bytes-long";
+        assertThatThrownBy(() -> new LocalStorageService(TestDatabases.imageLeases(), "", jwtSecret))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> new LocalStorageService(TestDatabases.imageLeases(), jwtSecret, jwtSecret))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,229 @@
+package com.vgc.service;
+
+import com.vgc.dto.MessageResponse;
+import com.vgc.entity.Conversation;
+import com.vgc.entity.Message;
+import com.vgc.entity.User;
+import com.vgc.repository.ConversationRepository;
+import com.vgc.repository.UserRepository;
+import com.vgc.support.Fixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+// async 저장 모드: 블록을 자주 갈아타도 대화별 순서가 유지되고, 같은 배치를 다시 써도 결과가 같아야 함
+// 저장할 수 없는 메시지는 dead letter 로 빠지고 나머지는 계속 저장됨
+@SpringBootTest(properties = {
+        "vgc.chat.persistence=async",
+        "vgc.chat.pipeline.id-block-size=3",
+        "vgc.chat.pipeline.batch-size=5",
+        "vgc.chat.pipeline.retry-backoff-ms=10"
+})
+@ActiveProfiles({"local", "test"})
+class MessagePipelineTest {
+
+    private static final int CONVERSATIONS = 4;
+    private static final int MESSAGES = 50;
+
+    @Autowired
+    private ConversationService conversationService;
+    @Autowired
+    private MessagePipeline messagePipeline;
+    @Autowired
+    private ConversationRepository conversationRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void concurrentSendersKeepPerConversationOrder() throws Exception {
+        Fixtures fixtures = new Fixtures(userRepository);
+        User recipient = fixtures.user();
+        List<User> senders = new ArrayList<>();
+        List<Conversation> conversations = new ArrayList<>();
+        for (int i = 0; i < CONVERSATIONS; i++) {
+            User sender = fixtures.user();
+            senders.add(sender);
+            conversations.add(conversationService.startConversation(sender, recipient.getNickname()));
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(CONVERSATIONS);
+        List<Future<List<Long>>> results = new ArrayList<>();
+        for (int i = 0; i < CONVERSATIONS; i++) {
+            User sender = senders.get(i);
+            Long conversationId = conversations.get(i).getId();
+            results.add(pool.submit(() -> {
+                List<Long> ids = new ArrayList<>();
+                for (int m = 0; m < MESSAGES; m++) {
+                    ids.add(conversationService.sendMessage(conversationId, sender, "m" + m).getId());
+                }
+                return ids;
+            }));
+        }
+        List<List<Long>> sentIds = new ArrayList<>();
+        for (Future<List<Long>> result : results) {
+            sentIds.add(result.get());
+        }
+        pool.shutdown();
+        messagePipeline.awaitWritten();
+
+        for (int i = 0; i < CONVERSATIONS; i++) {
+            Long conversationId = conversations.get(i).getId();
+            List<Long> ids = sentIds.get(i);
+            assertThat(ids).isSorted().doesNotHaveDuplicates();
+            List<String> stored = jdbcTemplate.queryForList(
+                    "SELECT content FROM messages WHERE conversation_id = ? ORDER BY id", String.class, conversationId);
+            assertThat(stored).hasSize(MESSAGES);
+            for (int m = 0; m < MESSAGES; m++) {
+                assertThat(stored.get(m)).isEqualTo("m" + m);
+            }
+            Conversation conv = conversationRepository.findById(conversationId).orElseThrow();
+            assertThat(conv.getLastMessageId()).isEqualTo(ids.get(MESSAGES - 1));
+            assertThat(conv.getLastMessagePreview()).isEqualTo("m" + (MESSAGES - 1));
+        }
+        assertThat(userRepository.findUnreadTotalById(recipient.getId())).isEqualTo(CONVERSATIONS * MESSAGES);
+        assertThat(conversationRepository.sumUnreadByUserId(recipient.getId())).isEqualTo(CONVERSATIONS * MESSAGES);
+    }
+
+    @Test
+    void rewritingCommittedBatchIsIdempotent() {
+        Fixtures fixtures = new Fixtures(userRepository);
+        User sender = fixtures.user();
+        User recipient = fixtures.user();
+        Conversation conv = conversationService.startConversation(sender, recipient.getNickname());
+        boolean recipientIsUser1 = conv.getUser1().getId().equals(recipient.getId());
+
+        List<MessagePipeline.Pending> batch = new ArrayList<>();
+        for (int m = 0; m < 3; m++) {
+            MessageResponse sent = conversationService.sendMessage(conv.getId(), sender, "m" + m);
+            batch.add(new MessagePipeline.Pending(0, sent.getId(), conv.getId(), sender.getId(), sent.getContent(),
+                    false, sent.getCreatedAt(), recipientIsUser1, recipient.getId(), recipient.getEmail()));
+        }
+        messagePipeline.awaitWritten();
+
+        // 커밋은 됐지만 실패로 보고돼 writer 가 같은 배치를 다시 쓰는 상황
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> messagePipeline.write(batch));
+        transaction.executeWithoutResult(status -> messagePipeline.write(batch));
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM messages WHERE conversation_id = ?", Long.class, conv.getId())).isEqualTo(3);
+        assertThat(conversationRepository.findUnreadCount(conv.getId(), recipient.getId())).isEqualTo(3);
+        assertThat(userRepository.findUnreadTotalById(recipient.getId())).isEqualTo(3);
+        assertThat(conversationRepository.findById(conv.getId()).orElseThrow().getLastMessageId())
+                .isEqualTo(batch.get(2).id());
+    }
+
+    @Test
+    void poisonMessageIsDeadLetteredAndTheRestIsWritten() {
+        Fixtures fixtures = new Fixtures(userRepository);
+        User sender = fixtures.user();
+        User recipient = fixtures.user();
+        Conversation conv = conversationService.startConversation(sender, recipient.getNickname());
+        boolean recipientIsUser1 = conv.getUser1().getId().equals(recipient.getId());
+
+        // 그 사이 삭제된 대화로 가는 메시지 - FK 위반으로 배치 전체가 실패함
+        Conversation deleted = new Conversation();
+        deleted.setId(Long.MAX_VALUE);
+        Message poison = new Message();
+        poison.setConversation(deleted);
+        poison.setSender(sender);
+        poison.setContent("poison");
+
+        List<Long> sent = new ArrayList<>();
+        sent.add(conversationService.sendMessage(conv.getId(), sender, "before").getId());
+        Long poisonId = messagePipeline.submit(poison, recipientIsUser1, recipient.getId(), recipient.getEmail()).getId();
+        sent.add(conversationService.sendMessage(conv.getId(), sender, "after").getId());
+        messagePipeline.awaitWritten();
+
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT id FROM messages WHERE conversation_id = ? ORDER BY id", Long.class, conv.getId())).isEqualTo(sent);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT content FROM message_dead_letters WHERE id = ?", String.class, poisonId)).isEqualTo("poison");
+        assertThat(conversationRepository.findUnreadCount(conv.getId(), recipient.getId())).isEqualTo(2);
+    }
+
+    @Test
+    void contentThatCannotBeStoredIsRejectedOnSubmit() {
+        Fixtures fixtures = new Fixtures(userRepository);
+        User sender = fixtures.user();
+        User recipient = fixtures.user();
+        Conversation conv = conversationService.startConversation(sender, recipient.getNickname());
+
+        assertThatThrownBy(() -> conversationService.sendMessage(conv.getId(), sender, null))
+                .hasMessage("메시지 내용을 입력해주세요.");
+        assertThatThrownBy(() -> conversationService.sendMessage(conv.getId(), sender, "x".repeat(Message.MAX_CONTENT_LENGTH + 1)))
+                .hasMessage("메시지는 2000자까지 보낼 수 있습니다.");
+        conversationService.sendMessage(conv.getId(), sender, "x".repeat(Message.MAX_CONTENT_LENGTH));
+        messagePipeline.awaitWritten();
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM messages WHERE conversation_id = ?", Long.class, conv.getId())).isEqualTo(1);
+    }
+
+    @Test
+    void leavingWaitsForPendingMessagesBeforeLockingTheConversation() {
+        Fixtures fixtures = new Fixtures(userRepository);
+        User me = fixtures.user();
+        User other = fixtures.user();
+        Conversation conv = conversationService.startConversation(me, other.getNickname());
+        conversationService.leaveConversation(conv.getId(), other);
+        conversationService.startConversation(other, me.getNickname());
+
+        for (int m = 0; m < 20; m++) {
+            conversationService.sendMessage(conv.getId(), me, "m" + m);
+        }
+        // 행 잠금을 잡은 채 기다리면 writer 의 UPDATE 와 서로 막혀 shutdown-timeout 뒤 실패했음
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            conversationService.leaveConversation(conv.getId(), other);
+            conversationService.leaveConversation(conv.getId(), me);
+        });
+
+        assertThat(conversationRepository.findById(conv.getId())).isEmpty();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM messages WHERE conversation_id = ?", Long.class, conv.getId())).isZero();
+    }
+
+    @Test
+    void markReadWaitsOnlyForMessagesStillInTheQueue() {
+        Fixtures fixtures = new Fixtures(userRepository);
+        User me = fixtures.user();
+        User other = fixtures.user();
+        Conversation conv = conversationService.startConversation(me, other.getNickname());
+
+        // 방금 받은 메시지는 아직 저장 전일 수 있으므로 반영을 기다린 뒤 그 메시지까지 읽음 처리
+        Long last = null;
+        for (int m = 0; m < 5; m++) {
+            last = conversationService.sendMessage(conv.getId(), other, "m" + m).getId();
+        }
+        conversationService.markRead(conv.getId(), me, last);
+        assertThat(conversationRepository.findUnreadCount(conv.getId(), me.getId())).isZero();
+        assertThat(userRepository.findUnreadTotalById(me.getId())).isZero();
+
+        // 이 노드가 접수하지 않은 id 는 기다리지 않고 마지막 저장된 메시지로 잘라냄
+        long started = System.nanoTime();
+        conversationService.markRead(conv.getId(), me, Long.MAX_VALUE);
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(1));
+        Conversation current = conversationRepository.findById(conv.getId()).orElseThrow();
+        assertThat(current.getUser1().getId().equals(me.getId())
+                ? current.getUser1LastReadMessageId() : current.getUser2LastReadMessageId()).isEqualTo(last);
+    }
+}
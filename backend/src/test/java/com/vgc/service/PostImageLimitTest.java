@@ -0,0 +1,107 @@
+package com.vgc.service;
+
+import com.vgc.dto.PostRequest;
+import com.vgc.entity.Category;
+import com.vgc.entity.Post;
+import com.vgc.entity.PostImage;
+import com.vgc.entity.User;
+import com.vgc.repository.CategoryRepository;
+import com.vgc.repository.PostRepository;
+import com.vgc.repository.UserRepository;
+import com.vgc.support.Fixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+// vgc.upload.max-files(5) 는 멀티파트 + 직접 업로드 (+ 수정 시 유지되는 기존 이미지) 합계로 적용되고, 넘으면 아무것도 올리지 않음
+@SpringBootTest
+@ActiveProfiles({"local", "test"})
+class PostImageLimitTest {
+
+    @Autowired
+    private PostService postService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PostRepository postRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @SpyBean
+    private ImageStorageService imageStorageService;
+
+    private Fixtures fixtures;
+    private String category;
+
+    @BeforeEach
+    void setUp() {
+        fixtures = new Fixtures(userRepository, postRepository);
+        category = "limit-" + UUID.randomUUID().toString().substring(0, 8);
+        categoryRepository.save(new Category(category, category, null, false));
+    }
+
+    @Test
+    void createRejectsCombinedCountBeforeUploading() {
+        User author = fixtures.user();
+
+        assertThatThrownBy(() -> postService.createPost(request(), files(3), directUrls(3), author))
+                .hasMessage("이미지는 최대 5장까지 업로드할 수 있습니다.");
+
+        verifyNoInteractions(imageStorageService);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM posts WHERE author_id = ?", Long.class, author.getId())).isZero();
+    }
+
+    @Test
+    void updateCountsKeptImages() {
+        User author = fixtures.user();
+        Post post = fixtures.post(author, category, 3);
+        List<String> kept = post.getImages().stream().map(PostImage::getImageUrl).toList();
+
+        assertThatThrownBy(() -> postService.updatePost(post.getId(), request(), files(2), directUrls(1), kept, author))
+                .hasMessage("이미지는 최대 5장까지 업로드할 수 있습니다.");
+
+        verifyNoInteractions(imageStorageService);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM post_images WHERE post_id = ?", Long.class, post.getId())).isEqualTo(3);
+    }
+
+    private PostRequest request() {
+        PostRequest request = new PostRequest();
+        request.setTitle("title");
+        request.setContent("content");
+        request.setCategory(category);
+        return request;
+    }
+
+    private static List<MultipartFile> files(int count) {
+        List<MultipartFile> files = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            files.add(new MockMultipartFile("images", "image" + i + ".jpg", "image/jpeg", new byte[]{(byte) i}));
+        }
+        return files;
+    }
+
+    private static List<String> directUrls(int count) {
+        List<String> urls = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            urls.add("/uploads/" + String.valueOf(i).repeat(64) + ".jpg");
+        }
+        return urls;
+    }
+}
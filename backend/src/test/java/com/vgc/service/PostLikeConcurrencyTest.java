@@ -0,0 +1,87 @@
+package com.vgc.service;
+
+import com.vgc.entity.Post;
+import com.vgc.entity.User;
+import com.vgc.repository.PostRepository;
+import com.vgc.repository.UserRepository;
+import com.vgc.support.Fixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 같은 글에 여러 사용자가(같은 사용자도 중복으로) 동시에 좋아요를 토글해도 like_count 가 post_likes 행 수와 일치하는지
+// (PostLikeRepository.insertIgnore 는 MySQL 의 INSERT IGNORE 라 H2 를 MySQL 모드로 띄우는 테스트 설정에 기대고 있음)
+@SpringBootTest
+@ActiveProfiles({"local", "test"})
+class PostLikeConcurrencyTest {
+    private static final int USERS = 50;
+    private static final int TOGGLES_PER_USER = 100;
+    private static final int THREADS = 16;
+
+    @Autowired
+    private PostService postService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PostRepository postRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void concurrentTogglesKeepLikeCountEqualToRows() throws Exception {
+        Fixtures fixtures = new Fixtures(userRepository, postRepository);
+        Post post = fixtures.post(fixtures.user(), "like-stress", 0);
+
+        Random random = new Random(7);
+        List<User> users = new ArrayList<>();
+        List<User> toggles = new ArrayList<>();
+        int expectedLiked = 0;
+        for (int i = 0; i < USERS; i++) {
+            User user = fixtures.user();
+            users.add(user);
+            // 사용자마다 100~101번 토글 - 같은 사용자의 요청도 서로 다른 스레드에서 동시에 실행됨
+            int times = TOGGLES_PER_USER + random.nextInt(2);
+            for (int t = 0; t < times; t++) {
+                toggles.add(user);
+            }
+            if (times % 2 == 1) expectedLiked++;
+        }
+        Collections.shuffle(toggles, random);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        for (User user : toggles) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return postService.toggleLike(post.getId(), user);
+            }));
+        }
+        start.countDown();
+        for (Future<?> result : results) {
+            result.get();
+        }
+        executor.shutdown();
+
+        Integer likeCount = jdbcTemplate.queryForObject(
+                "SELECT like_count FROM posts WHERE id = ?", Integer.class, post.getId());
+        Integer rows = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM post_likes WHERE post_id = ?", Integer.class, post.getId());
+        assertThat(likeCount).isEqualTo(rows);
+        // 토글은 게시글 행 잠금으로 직렬화되므로 홀수 번 토글한 사용자만 좋아요 상태로 남음
+        assertThat(rows).isEqualTo(expectedLiked);
+    }
+}
@@ -0,0 +1,71 @@
+package com.vgc.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 여러 스레드가 같은 글 조회수를 올리는 동안 flush 가 계속 돌아도 증가분이 빠지거나 두 번 더해지지 않음
+class PostViewCounterTest {
+    private static final int THREADS = 8;
+    private static final int VIEWS_PER_THREAD = 20_000;
+
+    private JdbcTemplate jdbcTemplate;
+    private PostViewCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:view-count-" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE posts (id BIGINT PRIMARY KEY, view_count BIGINT NOT NULL)");
+        jdbcTemplate.update("INSERT INTO posts VALUES (1, 0), (2, 0)");
+        counter = new PostViewCounter(jdbcTemplate, new DataSourceTransactionManager(dataSource), 500, 5000);
+    }
+
+    @Test
+    void concurrentIncrementsSurviveFlushes() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS + 1);
+        AtomicBoolean running = new AtomicBoolean(true);
+        try {
+            Future<?> flusher = executor.submit(() -> {
+                while (running.get()) {
+                    counter.flush();
+                }
+            });
+            List<Future<?>> viewers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                long postId = t % 2 + 1;
+                viewers.add(executor.submit(() -> {
+                    for (int i = 0; i < VIEWS_PER_THREAD; i++) {
+                        counter.increment(postId);
+                    }
+                }));
+            }
+            for (Future<?> viewer : viewers) {
+                viewer.get();
+            }
+            running.set(false);
+            flusher.get();
+        } finally {
+            executor.shutdownNow();
+        }
+        counter.shutdown();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT SUM(view_count) FROM posts", Long.class))
+                .isEqualTo((long) THREADS * VIEWS_PER_THREAD);
+        assertThat(jdbcTemplate.queryForObject("SELECT view_count FROM posts WHERE id = 1", Long.class))
+                .isEqualTo((long) THREADS / 2 * VIEWS_PER_THREAD);
+    }
+}
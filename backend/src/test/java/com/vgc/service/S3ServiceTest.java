@@ -0,0 +1,139 @@
+package com.vgc.service;
+
+import com.vgc.support.S3StandIn;
+import com.vgc.support.TestDatabases;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.multipart.MultipartFile;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// uploadAll 을 로컬 S3 대용 서버에 붙여 실제 S3AsyncClient(Netty) 경로로 확인
+// - 여러 장은 동시에 올라가 지연은 가장 느린 한 장 수준
+// - 요청당/서버 전체 동시 업로드 한도를 넘지 않음
+// - 업로드가 실패해도 허가(permit)가 반환되어 다음 요청이 막히지 않음
+class S3ServiceTest {
+
+    private S3StandIn s3;
+    private S3Service service;
+
+    @BeforeEach
+    void startS3() throws IOException {
+        s3 = new S3StandIn();
+    }
+
+    @AfterEach
+    void stop() {
+        if (service != null) service.shutdown();
+        s3.close();
+    }
+
+    @Test
+    void imagesAreUploadedConcurrently() throws Exception {
+        service = service(32, 5);
+        warmUp();
+        s3.putDelayMs(500);
+
+        long start = System.nanoTime();
+        List<String> urls = service.uploadAll(images(4));
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(urls).hasSize(4).doesNotHaveDuplicates().allMatch(url -> url.startsWith("/uploads/"));
+        assertThat(s3.stored()).isEqualTo(4);
+        assertThat(s3.maxInFlight()).isEqualTo(4);
+        // 순서대로 올리면 2000ms 이상
+        assertThat(elapsedMs).isLessThan(1500);
+    }
+
+    @Test
+    void perRequestConcurrencyIsBounded() throws Exception {
+        service = service(32, 2);
+        s3.putDelayMs(200);
+
+        assertThat(service.uploadAll(images(6))).hasSize(6);
+        assertThat(s3.stored()).isEqualTo(6);
+        assertThat(s3.maxInFlight()).isEqualTo(2);
+    }
+
+    @Test
+    void globalConcurrencyIsBoundedAcrossRequests() throws Exception {
+        service = service(3, 5);
+        s3.putDelayMs(300);
+
+        CompletableFuture<List<String>> first = CompletableFuture.supplyAsync(() -> upload(images(4)));
+        CompletableFuture<List<String>> second = CompletableFuture.supplyAsync(() -> upload(images(4)));
+
+        assertThat(first.join()).hasSize(4);
+        assertThat(second.join()).hasSize(4);
+        assertThat(s3.stored()).isEqualTo(8);
+        assertThat(s3.maxInFlight()).isEqualTo(3);
+    }
+
+    @Test
+    void permitsAreReleasedWhenUploadsFail() throws Exception {
+        service = service(2, 2);
+        ReflectionTestUtils.setField(service, "acquireTimeoutMs", 1000L);
+        s3.failPuts(true);
+
+        // 허가가 새면 세 번째 요청부터 1초 뒤 "지연" 오류로 끝나고 아래 업로드도 막힘
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> service.uploadAll(images(2))).isInstanceOf(IOException.class);
+        }
+        assertThat(s3.puts()).isEqualTo(6);
+
+        s3.reset();
+        s3.putDelayMs(200);
+        assertThat(service.uploadAll(images(2))).hasSize(2);
+        assertThat(s3.stored()).isEqualTo(2);
+        assertThat(s3.maxInFlight()).isEqualTo(2);
+    }
+
+    private S3Service service(int maxConcurrency, int perRequestConcurrency) {
+        S3Service created = new S3Service(new SimpleMeterRegistry(), TestDatabases.imageLeases());
+        ReflectionTestUtils.setField(created, "bucket", "vgc-test");
+        ReflectionTestUtils.setField(created, "region", "ap-northeast-2");
+        ReflectionTestUtils.setField(created, "endpoint", s3.endpoint());
+        ReflectionTestUtils.setField(created, "maxConcurrency", maxConcurrency);
+        ReflectionTestUtils.setField(created, "perRequestConcurrency", perRequestConcurrency);
+        ReflectionTestUtils.setField(created, "acquireTimeoutMs", 10000L);
+        created.init(StaticCredentialsProvider.create(AwsBasicCredentials.create("test", "test")));
+        return created;
+    }
+
+    // 첫 요청의 클라이언트 초기화 비용을 시간 측정에서 뺌
+    private void warmUp() throws IOException {
+        service.uploadAll(images(1));
+        s3.reset();
+    }
+
+    private List<String> upload(List<MultipartFile> files) {
+        try {
+            return service.uploadAll(files);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static List<MultipartFile> images(int count) {
+        List<MultipartFile> files = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            byte[] data = new byte[64 * 1024];
+            ThreadLocalRandom.current().nextBytes(data);
+            files.add(new MockMultipartFile("images", "photo" + i + ".jpg", "image/jpeg", data));
+        }
+        return files;
+    }
+}
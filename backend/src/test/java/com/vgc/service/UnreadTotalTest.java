@@ -0,0 +1,89 @@
+package com.vgc.service;
+
+import com.vgc.entity.Conversation;
+import com.vgc.entity.User;
+import com.vgc.repository.ConversationRepository;
+import com.vgc.repository.UserRepository;
+import com.vgc.support.Fixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 사용자별 안 읽은 합계가 전송/읽음/나가기/복귀 후에도 대화별 카운터 합과 같아야 함
+@SpringBootTest
+@ActiveProfiles({"local", "test"})
+class UnreadTotalTest {
+
+    @Autowired
+    private ConversationService conversationService;
+    @Autowired
+    private ConversationRepository conversationRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void totalFollowsConversationCounters() {
+        Fixtures fixtures = new Fixtures(userRepository);
+        User me = fixtures.user();
+        User alice = fixtures.user();
+        User bob = fixtures.user();
+        Conversation withAlice = conversationService.startConversation(me, alice.getNickname());
+        Conversation withBob = conversationService.startConversation(me, bob.getNickname());
+
+        for (int i = 0; i < 3; i++) {
+            conversationService.sendMessage(withAlice.getId(), alice, "a" + i);
+        }
+        Long lastFromBob = null;
+        for (int i = 0; i < 2; i++) {
+            lastFromBob = conversationService.sendMessage(withBob.getId(), bob, "b" + i).getId();
+        }
+        assertTotal(me, 5);
+
+        conversationService.markRead(withBob.getId(), me, lastFromBob);
+        assertTotal(me, 3);
+
+        conversationService.leaveConversation(withAlice.getId(), me);
+        assertTotal(me, 0);
+        assertTotal(alice, 1);
+
+        conversationService.startConversation(me, alice.getNickname());
+        conversationService.sendMessage(withAlice.getId(), alice, "again");
+        assertTotal(me, 1);
+    }
+
+    @Test
+    void markReadClampsToLastMessage() {
+        Fixtures fixtures = new Fixtures(userRepository);
+        User me = fixtures.user();
+        User other = fixtures.user();
+        Conversation conv = conversationService.startConversation(me, other.getNickname());
+        Long first = conversationService.sendMessage(conv.getId(), other, "first").getId();
+
+        // 존재하지 않는 큰 id 로 읽음 처리해도 읽음 위치는 마지막 메시지까지만
+        conversationService.markRead(conv.getId(), me, first + 1_000_000);
+        assertThat(lastRead(conv, me)).isEqualTo(first);
+        assertTotal(me, 0);
+
+        Long second = conversationService.sendMessage(conv.getId(), other, "second").getId();
+        assertTotal(me, 1);
+        conversationService.markRead(conv.getId(), me, second);
+        assertThat(lastRead(conv, me)).isEqualTo(second);
+        assertTotal(me, 0);
+    }
+
+    private Long lastRead(Conversation conv, User user) {
+        Conversation current = conversationRepository.findById(conv.getId()).orElseThrow();
+        return current.getUser1().getId().equals(user.getId())
+                ? current.getUser1LastReadMessageId()
+                : current.getUser2LastReadMessageId();
+    }
+
+    private void assertTotal(User user, int expected) {
+        assertThat(userRepository.findUnreadTotalById(user.getId())).isEqualTo(expected);
+        assertThat(conversationRepository.sumUnreadByUserId(user.getId())).isEqualTo(expected);
+        assertThat(conversationService.getUnreadTotal(user)).isEqualTo(expected);
+    }
+}
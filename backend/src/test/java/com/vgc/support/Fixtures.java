@@ -0,0 +1,50 @@
+package com.vgc.support;
+
+import com.vgc.entity.Post;
+import com.vgc.entity.PostImage;
+import com.vgc.entity.User;
+import com.vgc.repository.PostRepository;
+import com.vgc.repository.UserRepository;
+
+import java.util.UUID;
+
+// 테스트용 사용자/게시글 생성 - 게시글이 필요 없는 테스트는 UserRepository 만 넘김
+public class Fixtures {
+    private final UserRepository userRepository;
+    private final PostRepository postRepository;
+
+    public Fixtures(UserRepository userRepository) {
+        this(userRepository, null);
+    }
+
+    public Fixtures(UserRepository userRepository, PostRepository postRepository) {
+        this.userRepository = userRepository;
+        this.postRepository = postRepository;
+    }
+
+    public User user() {
+        String name = UUID.randomUUID().toString().substring(0, 8);
+        User user = new User();
+        user.setEmail(name + "@test.com");
+        user.setPassword("password");
+        user.setNickname(name);
+        return userRepository.save(user);
+    }
+
+    public Post post(User author, String category, int images) {
+        if (postRepository == null) {
+            throw new IllegalStateException("Fixtures was created without a PostRepository");
+        }
+        Post post = new Post();
+        post.setTitle("title");
+        post.setContent("content");
+        post.setCategory(category);
+        post.setAuthor(author);
+        for (int i = 0; i < images; i++) {
+            String url = "/uploads/" + UUID.randomUUID() + ".jpg";
+            if (i == 0) post.setImageUrl(url);
+            post.getImages().add(new PostImage(post, url, i));
+        }
+        return postRepository.save(post);
+    }
+}
@@ -0,0 +1,93 @@
+package com.vgc.support;
+
+import com.vgc.service.ContentKeys;
+import com.vgc.service.ImageStorageService;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+// 이미지 변환/GC 테스트와 벤치마크용 메모리 저장소 - URL 은 /uploads/{이름}, 수정 시각은 put/touch 때 기록
+public class InMemoryImageStorage implements ImageStorageService {
+    private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+    private final Map<String, Instant> modified = new ConcurrentHashMap<>();
+
+    public String put(String fileName, byte[] data) {
+        return put(fileName, data, Instant.now());
+    }
+
+    public String put(String fileName, byte[] data, Instant lastModified) {
+        modified.put("/uploads/" + fileName, lastModified);
+        objects.put("/uploads/" + fileName, data);
+        return "/uploads/" + fileName;
+    }
+
+    public void touch(String url) {
+        modified.computeIfPresent(url, (key, previous) -> Instant.now());
+    }
+
+    public Map<String, byte[]> objects() {
+        return objects;
+    }
+
+    // 실제 저장소처럼 내용 해시를 이름으로 사용 - 같은 내용이면 수정 시각만 갱신
+    @Override
+    public String upload(MultipartFile file) throws IOException {
+        byte[] data = file.getBytes();
+        String fileName = ContentKeys.fileName(ContentKeys.digest(new ByteArrayInputStream(data)),
+                file.getOriginalFilename());
+        String url = "/uploads/" + fileName;
+        if (objects.containsKey(url)) {
+            touch(url);
+            return url;
+        }
+        return put(fileName, data);
+    }
+
+    @Override
+    public PresignedUpload presign(String originalFilename, String contentType, long size, String sha256Hex) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean verifyUploaded(String imageUrl, long maxSize) {
+        return objects.containsKey(imageUrl);
+    }
+
+    @Override
+    public String store(String fileName, byte[] data, String contentType) {
+        return put(fileName, data);
+    }
+
+    @Override
+    public InputStream open(String url) throws FileNotFoundException {
+        byte[] data = objects.get(url);
+        if (data == null) {
+            throw new FileNotFoundException(url);
+        }
+        return new ByteArrayInputStream(data);
+    }
+
+    @Override
+    public void forEachStored(Consumer<Stored> consumer) {
+        objects.keySet().forEach(url -> consumer.accept(new Stored(url, modified.get(url))));
+    }
+
+    @Override
+    public Instant lastModified(String url) {
+        return objects.containsKey(url) ? modified.get(url) : null;
+    }
+
+    @Override
+    public void delete(String key) {
+        String url = "/uploads/" + key.replaceFirst("^/uploads/", "");
+        objects.remove(url);
+        modified.remove(url);
+    }
+}
@@ -0,0 +1,116 @@
+package com.vgc.support;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// S3Service 업로드 경로용 최소 S3 호환 서버 (테스트 전용, path-style)
+// - HEAD: 저장된 키면 200, 아니면 404 / PUT: 본문을 다 읽고 putDelayMs 만큼 기다린 뒤 저장
+// - 동시에 처리 중인 PUT 수의 최댓값을 기록하고, failPuts 면 재시도하지 않는 403 으로 거부
+public class S3StandIn implements AutoCloseable {
+
+    private final HttpServer server;
+    private final Set<String> keys = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final AtomicInteger puts = new AtomicInteger();
+    private volatile long putDelayMs;
+    private volatile boolean failPuts;
+
+    public S3StandIn() throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        this.server.createContext("/", this::handle);
+        this.server.start();
+    }
+
+    public String endpoint() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public void putDelayMs(long putDelayMs) {
+        this.putDelayMs = putDelayMs;
+    }
+
+    public void failPuts(boolean failPuts) {
+        this.failPuts = failPuts;
+    }
+
+    public int maxInFlight() {
+        return maxInFlight.get();
+    }
+
+    public int puts() {
+        return puts.get();
+    }
+
+    public int stored() {
+        return keys.size();
+    }
+
+    public void reset() {
+        keys.clear();
+        maxInFlight.set(0);
+        puts.set(0);
+        failPuts = false;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String key = exchange.getRequestURI().getPath();
+            switch (exchange.getRequestMethod()) {
+                case "HEAD" -> {
+                    if (keys.contains(key)) {
+                        exchange.getResponseHeaders().add("Content-Type", "image/jpeg");
+                        exchange.sendResponseHeaders(200, -1);
+                    } else {
+                        exchange.sendResponseHeaders(404, -1);
+                    }
+                }
+                case "PUT" -> put(exchange, key);
+                default -> exchange.sendResponseHeaders(405, -1);
+            }
+        }
+    }
+
+    private void put(HttpExchange exchange, String key) throws IOException {
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            puts.incrementAndGet();
+            try (InputStream body = exchange.getRequestBody()) {
+                body.transferTo(OutputStream.nullOutputStream());
+            }
+            Thread.sleep(putDelayMs);
+            if (failPuts) {
+                byte[] error = "<Error><Code>AccessDenied</Code><Message>denied</Message></Error>"
+                        .getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/xml");
+                exchange.sendResponseHeaders(403, error.length);
+                exchange.getResponseBody().write(error);
+                return;
+            }
+            keys.add(key);
+            exchange.sendResponseHeaders(200, -1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exchange.sendResponseHeaders(500, -1);
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,29 @@
+package com.vgc.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Hibernate가 준비하는 SQL을 모아 쿼리 수/형태를 검증 (application-test.properties 에서 등록)
+public class SqlCapture implements StatementInspector {
+    private static final List<String> statements = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        statements.add(sql);
+        return sql;
+    }
+
+    public static void clear() {
+        statements.clear();
+    }
+
+    public static List<String> statements() {
+        return List.copyOf(statements);
+    }
+
+    public static int count() {
+        return statements.size();
+    }
+}
@@ -0,0 +1,202 @@
+package com.vgc.support;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+// 여러 노드의 broker relay 가 공유하는 최소 STOMP 브로커 (테스트 전용)
+// - CONNECT/STOMP, SUBSCRIBE, UNSUBSCRIBE, SEND, DISCONNECT 만 처리, heart-beat 는 0,0 으로 협상
+// - SEND 는 목적지가 정확히 같은 구독에 헤더를 그대로 복사해 MESSAGE 로 전달 (/topic, /queue 구분 없음)
+public class StompBrokerStandIn implements AutoCloseable {
+
+    private record Subscription(Connection connection, String id, String destination) {}
+
+    private record Frame(String command, Map<String, String> headers, byte[] body) {}
+
+    private final ServerSocket serverSocket;
+    private final List<Connection> connections = new CopyOnWriteArrayList<>();
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final AtomicLong messageIds = new AtomicLong();
+    private final Thread acceptor;
+
+    public StompBrokerStandIn() throws IOException {
+        this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        this.acceptor = Thread.ofVirtual().name("stomp-stand-in-accept").start(this::accept);
+    }
+
+    public int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    // 조건에 맞는 구독이 생길 때까지 대기 (relay 는 SUBSCRIBE 를 비동기로 전달하므로)
+    public void awaitSubscription(Predicate<String> destination, long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (subscriptions.stream().noneMatch(s -> destination.test(s.destination()))) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("subscription not received, current: "
+                        + subscriptions.stream().map(Subscription::destination).toList());
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        for (Connection connection : connections) {
+            connection.close();
+        }
+    }
+
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Connection connection = new Connection(serverSocket.accept());
+                connections.add(connection);
+                Thread.ofVirtual().name("stomp-stand-in-conn").start(connection::run);
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void route(Frame send) throws IOException {
+        String destination = send.headers().get("destination");
+        for (Subscription subscription : subscriptions) {
+            if (!subscription.destination().equals(destination)) {
+                continue;
+            }
+            Map<String, String> headers = new LinkedHashMap<>(send.headers());
+            headers.remove("receipt");
+            headers.put("subscription", subscription.id());
+            headers.put("message-id", String.valueOf(messageIds.incrementAndGet()));
+            subscription.connection().write(new Frame("MESSAGE", headers, send.body()));
+        }
+    }
+
+    private class Connection {
+        private final Socket socket;
+        private final InputStream in;
+        private final OutputStream out;
+
+        Connection(Socket socket) throws IOException {
+            this.socket = socket;
+            this.in = new BufferedInputStream(socket.getInputStream());
+            this.out = socket.getOutputStream();
+        }
+
+        void run() {
+            try {
+                Frame frame;
+                while ((frame = read()) != null) {
+                    handle(frame);
+                }
+            } catch (IOException ignored) {
+                // 연결 종료
+            } finally {
+                subscriptions.removeIf(s -> s.connection() == this);
+                connections.remove(this);
+                close();
+            }
+        }
+
+        private void handle(Frame frame) throws IOException {
+            Map<String, String> headers = frame.headers();
+            switch (frame.command()) {
+                case "CONNECT", "STOMP" -> write(new Frame("CONNECTED",
+                        Map.of("version", "1.2", "heart-beat", "0,0"), new byte[0]));
+                case "SUBSCRIBE" -> subscriptions.add(new Subscription(this, headers.get("id"), headers.get("destination")));
+                case "UNSUBSCRIBE" -> subscriptions.removeIf(s -> s.connection() == this && s.id().equals(headers.get("id")));
+                case "SEND" -> route(frame);
+                case "DISCONNECT" -> {
+                    if (headers.containsKey("receipt")) {
+                        write(new Frame("RECEIPT", Map.of("receipt-id", headers.get("receipt")), new byte[0]));
+                    }
+                    close();
+                }
+                default -> {
+                    // ACK/NACK/트랜잭션은 사용하지 않음
+                }
+            }
+        }
+
+        private Frame read() throws IOException {
+            String command;
+            do {
+                command = readLine();
+                if (command == null) {
+                    return null;
+                }
+            } while (command.isEmpty()); // heart-beat EOL
+            Map<String, String> headers = new LinkedHashMap<>();
+            String line;
+            while ((line = readLine()) != null && !line.isEmpty()) {
+                int colon = line.indexOf(':');
+                // 반복 헤더는 첫 값 우선 (STOMP 1.2)
+                headers.putIfAbsent(line.substring(0, colon), line.substring(colon + 1));
+            }
+            byte[] body;
+            if (headers.containsKey("content-length")) {
+                body = in.readNBytes(Integer.parseInt(headers.get("content-length")));
+                in.read(); // NUL
+            } else {
+                ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+                int b;
+                while ((b = in.read()) > 0) {
+                    buffer.write(b);
+                }
+                body = buffer.toByteArray();
+            }
+            return new Frame(command, headers, body);
+        }
+
+        private String readLine() throws IOException {
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            int b;
+            while ((b = in.read()) != '\n') {
+                if (b < 0) {
+                    return null;
+                }
+                if (b != '\r') {
+                    line.write(b);
+                }
+            }
+            return line.toString(StandardCharsets.UTF_8);
+        }
+
+        synchronized void write(Frame frame) throws IOException {
+            StringBuilder head = new StringBuilder(frame.command()).append('\n');
+            frame.headers().forEach((name, value) -> {
+                if (!name.equals("content-length")) {
+                    head.append(name).append(':').append(value).append('\n');
+                }
+            });
+            head.append("content-length:").append(frame.body().length).append("\n\n");
+            out.write(head.toString().getBytes(StandardCharsets.UTF_8));
+            out.write(frame.body());
+            out.write(0);
+            out.flush();
+        }
+
+        void close() {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // 이미 닫힘
+            }
+        }
+    }
+}
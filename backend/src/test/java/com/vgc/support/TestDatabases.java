@@ -0,0 +1,31 @@
+package com.vgc.support;
+
+import com.vgc.service.ImageLeases;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.UUID;
+
+// 스프링 컨텍스트 없이 JDBC 만 쓰는 테스트용 H2(MySQL 모드) 메모리 DB
+public final class TestDatabases {
+    private TestDatabases() {
+    }
+
+    public static DriverManagerDataSource h2(String prefix) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + prefix + "-" + UUID.randomUUID()
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;LOCK_TIMEOUT=10000;DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    // image_leases 테이블까지 만든 ImageLeases
+    public static ImageLeases imageLeases(DataSource dataSource) {
+        ImageLeases leases = new ImageLeases(new JdbcTemplate(dataSource), new DataSourceTransactionManager(dataSource));
+        leases.createTable();
+        return leases;
+    }
+
+    public static ImageLeases imageLeases() {
+        return imageLeases(h2("image-leases"));
+    }
+}
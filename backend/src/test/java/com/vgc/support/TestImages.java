@@ -0,0 +1,59 @@
+package com.vgc.support;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+// 사진과 비슷하게 압축되도록 그라데이션 + 잡음으로 채운 JPEG
+public final class TestImages {
+    private TestImages() {
+    }
+
+    public static byte[] jpeg(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(width * 31L + height);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int r = (x * 255 / width + random.nextInt(16)) & 0xff;
+                int g = (y * 255 / height + random.nextInt(16)) & 0xff;
+                int b = ((x + y) * 255 / (width + height) + random.nextInt(16)) & 0xff;
+                image.setRGB(x, y, (r << 16) | (g << 8) | b);
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            ImageIO.write(image, "jpeg", out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    public static byte[] jpeg(int width, int height, int orientation) {
+        return withOrientation(jpeg(width, height), orientation);
+    }
+
+    // 휴대폰 사진처럼 EXIF Orientation 태그(APP1, big-endian IFD0 한 항목)를 JFIF APP0 뒤에 붙임
+    public static byte[] withOrientation(byte[] jpeg, int orientation) {
+        ByteBuffer app1 = ByteBuffer.allocate(2 + 2 + 6 + 8 + 2 + 12 + 4);
+        app1.putShort((short) 0xFFE1).putShort((short) (app1.capacity() - 2));
+        app1.put("Exif\0\0".getBytes(StandardCharsets.ISO_8859_1));
+        app1.put((byte) 'M').put((byte) 'M').putShort((short) 42).putInt(8);
+        app1.putShort((short) 1);
+        app1.putShort((short) 0x0112).putShort((short) 3).putInt(1).putShort((short) orientation).putShort((short) 0);
+        app1.putInt(0);
+
+        // SOI(2) + APP0(2 + 길이)
+        int insertAt = 4 + (((jpeg[4] & 0xff) << 8) | (jpeg[5] & 0xff));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(jpeg, 0, insertAt);
+        out.writeBytes(app1.array());
+        out.write(jpeg, insertAt, jpeg.length - insertAt);
+        return out.toByteArray();
+    }
+}
@@ -3,8 +3,9 @@
 import { useState, useEffect } from "react";
 import { useRouter } from "next/navigation";
 import Link from "next/link";
-import { ConversationInfo } from "@/types";
+import { ConversationInfo, ChatMessage, UnreadUpdate } from "@/types";
 import { getConversations } from "@/lib/api";
+import { acquireStompClient, releaseStompClient } from "@/lib/websocket";
 import { useAuth } from "@/context/AuthContext";
 
 function getRelativeTime(dateStr: string): string {
@@ -38,6 +39,36 @@ export default function ConversationsPage() {
       .then(setConversations)
       .catch(console.error)
       .finally(() => setLoading(false));
+
+    // 새 메시지와 안 읽은 수를 사용자 큐로 받아 목록을 바로 갱신
+    const stomp = acquireStompClient();
+    const unsubscribeMessages = stomp.subscribe("/user/queue/messages", (body) => {
+      try {
+        const msg: ChatMessage = JSON.parse(body);
+        setConversations((prev) => {
+          const target = prev.find((c) => c.id === msg.conversationId);
+          if (!target) {
+            getConversations().then(setConversations).catch(() => {});
+            return prev;
+          }
+          const updated = { ...target, lastMessage: msg.content, lastMessageAt: msg.createdAt, updatedAt: msg.createdAt };
+          return [updated, ...prev.filter((c) => c.id !== msg.conversationId)];
+        });
+      } catch { /* ignore parse error */ }
+    });
+    const unsubscribeUnread = stomp.subscribe("/user/queue/unread", (body) => {
+      try {
+        const update: UnreadUpdate = JSON.parse(body);
+        setConversations((prev) =>
+          prev.map((c) => (c.id === update.conversationId ? { ...c, unreadCount: update.unreadCount } : c))
+        );
+      } catch { /* ignore parse error */ }
+    });
+    return () => {
+      unsubscribeMessages();
+      unsubscribeUnread();
+      releaseStompClient();
+    };
   }, [authLoaded, isLoggedIn, router]);
 
   if (loading) {
@@ -70,9 +101,16 @@ export default function ConversationsPage() {
                     <span className="text-xs text-gray-400 shrink-0">(나감)</span>
                   )}
                 </div>
-                <span className="text-xs text-gray-400 shrink-0 ml-2">
-                  {getRelativeTime(conv.updatedAt)}
-                </span>
+                <div className="flex items-center gap-2 shrink-0 ml-2">
+                  <span className="text-xs text-gray-400">
+                    {getRelativeTime(conv.updatedAt)}
+                  </span>
+                  {conv.unreadCount > 0 && (
+                    <span className="min-w-[20px] h-5 px-1.5 bg-orange-500 text-white text-xs font-bold rounded-full flex items-center justify-center">
+                      {conv.unreadCount > 99 ? "99+" : conv.unreadCount}
+                    </span>
+                  )}
+                </div>
               </div>
               <p className="text-sm text-gray-500 mt-1 truncate">
                 {conv.lastMessage || "대화를 시작하세요"}
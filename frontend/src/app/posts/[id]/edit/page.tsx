@@ -2,7 +2,7 @@
 
 import { useState, useEffect } from "react";
 import { useRouter, useParams } from "next/navigation";
-import { getPost, getCategories, updatePost, IMAGE_BASE_URL } from "@/lib/api";
+import { getPost, getCategories, updatePost, appendImages, IMAGE_BASE_URL } from "@/lib/api";
 import { CategoryInfo } from "@/types";
 import { useAuth } from "@/context/AuthContext";
 import CategoryRequestModal from "@/components/CategoryRequestModal";
@@ -115,9 +115,7 @@ export default function EditPostPage() {
       existingImageUrls.forEach((url) => {
         formData.append("existingImageUrls", url);
       });
-      imageFiles.forEach((file) => {
-        formData.append("images", file);
-      });
+      await appendImages(formData, imageFiles);
 
       await updatePost(postId, formData);
       router.push(`/posts/${postId}`);
@@ -2,7 +2,7 @@
 
 import { useState, useEffect } from "react";
 import { useRouter } from "next/navigation";
-import { createPost, getCategories } from "@/lib/api";
+import { appendImages, createPost, getCategories } from "@/lib/api";
 import { CategoryInfo } from "@/types";
 import { useAuth } from "@/context/AuthContext";
 import CategoryRequestModal from "@/components/CategoryRequestModal";
@@ -77,9 +77,7 @@ export default function NewPostPage() {
       formData.append("title", title.trim());
       formData.append("content", content.trim());
       formData.append("category", category);
-      imageFiles.forEach((file) => {
-        formData.append("images", file);
-      });
+      await appendImages(formData, imageFiles);
 
       const newPost = await createPost(formData);
       router.push(`/posts/${newPost.id}`);
@@ -3,8 +3,8 @@
 import { useState, useEffect, useRef, useCallback } from "react";
 import { useRouter } from "next/navigation";
 import { ChatMessage } from "@/types";
-import { getConversationMessages, sendChatMessage, leaveConversation, getConversations } from "@/lib/api";
-import { StompClient } from "@/lib/websocket";
+import { getConversationMessages, sendChatMessage, leaveConversation, getConversations, markConversationRead } from "@/lib/api";
+import { acquireStompClient, releaseStompClient } from "@/lib/websocket";
 import { useAuth } from "@/context/AuthContext";
 
 interface ChatRoomProps {
@@ -24,7 +24,12 @@ export default function ChatRoom({ conversationId }: ChatRoomProps) {
   const [loading, setLoading] = useState(true);
   const [otherNickname, setOtherNickname] = useState("");
   const [otherLeft, setOtherLeft] = useState(false);
+  const [olderCursor, setOlderCursor] = useState<string | null>(null);
+  const [loadingOlder, setLoadingOlder] = useState(false);
   const messagesEndRef = useRef<HTMLDivElement>(null);
+  const listRef = useRef<HTMLDivElement>(null);
+  // 이전 기록을 위에 붙일 때는 맨 아래로 스크롤하지 않고 현재 위치를 유지
+  const prependHeightRef = useRef<number | null>(null);
 
   const mergeMessages = useCallback((prev: ChatMessage[], incoming: ChatMessage[]) => {
     const ids = new Set(prev.map((m) => m.id));
@@ -33,6 +38,31 @@ export default function ChatRoom({ conversationId }: ChatRoomProps) {
     return [...prev, ...newMsgs];
   }, []);
 
+  const loadOlder = useCallback(async () => {
+    if (!olderCursor || loadingOlder) return;
+    setLoadingOlder(true);
+    try {
+      const slice = await getConversationMessages(conversationId, olderCursor);
+      prependHeightRef.current = listRef.current?.scrollHeight ?? null;
+      setMessages((prev) => {
+        const ids = new Set(prev.map((m) => m.id));
+        const older = [...slice.content].reverse().filter((m) => !ids.has(m.id));
+        return [...older, ...prev];
+      });
+      setOlderCursor(slice.hasNext ? slice.nextCursor : null);
+    } catch (error) {
+      console.error("Failed to load older messages:", error);
+    } finally {
+      setLoadingOlder(false);
+    }
+  }, [conversationId, olderCursor, loadingOlder]);
+
+  const handleScroll = () => {
+    if (listRef.current && listRef.current.scrollTop < 80) {
+      loadOlder();
+    }
+  };
+
   useEffect(() => {
     if (!authLoaded) return;
     if (!isLoggedIn) {
@@ -45,8 +75,12 @@ export default function ChatRoom({ conversationId }: ChatRoomProps) {
       getConversations(),
       getConversationMessages(conversationId),
     ])
-      .then(([convList, msgs]) => {
-        setMessages(msgs);
+      .then(([convList, slice]) => {
+        setMessages([...slice.content].reverse());
+        setOlderCursor(slice.hasNext ? slice.nextCursor : null);
+        if (slice.content.length > 0) {
+          markConversationRead(conversationId, slice.content[0].id).catch(() => {});
+        }
         const conv = convList.find((c) => c.id === conversationId);
         if (conv) {
           setOtherNickname(conv.otherNickname);
@@ -57,15 +91,21 @@ export default function ChatRoom({ conversationId }: ChatRoomProps) {
       .finally(() => setLoading(false));
 
     // WebSocket STOMP 연결
-    const stomp = new StompClient();
-    stomp.connect();
-    stomp.subscribe(`/topic/messages/${conversationId}`, (body) => {
+    // 모든 대화의 메시지가 사용자 큐 하나로 오므로 현재 대화만 골라서 표시
+    const stomp = acquireStompClient();
+    const unsubscribe = stomp.subscribe("/user/queue/messages", (body) => {
       try {
         const msg: ChatMessage = JSON.parse(body);
+        if (msg.conversationId !== conversationId) return;
         setMessages((prev) => {
           if (prev.some((m) => m.id === msg.id)) return prev;
           return [...prev, msg];
         });
+        // 열려 있는 대화로 들어온 상대 메시지는 바로 읽음 처리 (내가 보낸 메시지는 읽음 처리할 것이 없음)
+        if (msg.senderNickname !== nickname
+            && !stomp.send(`/app/chat/${conversationId}/read`, { messageId: msg.id })) {
+          markConversationRead(conversationId, msg.id).catch(() => {});
+        }
         if (msg.systemMessage && msg.content.includes("나갔습니다")) {
           setOtherLeft(true);
         }
@@ -76,19 +116,25 @@ export default function ChatRoom({ conversationId }: ChatRoomProps) {
     const pollInterval = setInterval(() => {
       if (stomp.isConnected()) return; // WebSocket 연결 중이면 폴링 스킵
       getConversationMessages(conversationId)
-        .then((msgs) => {
-          setMessages((prev) => mergeMessages(prev, msgs));
+        .then((slice) => {
+          setMessages((prev) => mergeMessages(prev, [...slice.content].reverse()));
         })
         .catch(() => {});
     }, 2000);
 
     return () => {
       clearInterval(pollInterval);
-      stomp.disconnect();
+      unsubscribe();
+      releaseStompClient();
     };
   }, [conversationId, authLoaded, isLoggedIn, nickname, router, mergeMessages]);
 
   useEffect(() => {
+    if (prependHeightRef.current !== null && listRef.current) {
+      listRef.current.scrollTop += listRef.current.scrollHeight - prependHeightRef.current;
+      prependHeightRef.current = null;
+      return;
+    }
     messagesEndRef.current?.scrollIntoView({ behavior: "smooth" });
   }, [messages]);
 
@@ -153,7 +199,16 @@ export default function ChatRoom({ conversationId }: ChatRoomProps) {
         </button>
       </div>
 
-      <div className="flex-1 overflow-y-auto px-4 py-4 space-y-3 bg-gray-50">
+      <div
+        ref={listRef}
+        onScroll={handleScroll}
+        className="flex-1 overflow-y-auto px-4 py-4 space-y-3 bg-gray-50"
+      >
+        {loadingOlder && (
+          <div className="flex justify-center py-2">
+            <div className="w-5 h-5 border-2 border-gray-300 border-t-orange-600 rounded-full animate-spin" />
+          </div>
+        )}
         {messages.map((msg) => {
           if (msg.systemMessage) {
             return (
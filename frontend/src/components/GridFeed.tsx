@@ -1,8 +1,8 @@
 "use client";
 
 import { useState, useEffect, useRef, useCallback } from "react";
-import { Post, CategoryInfo } from "@/types";
-import { getPosts, getCategories } from "@/lib/api";
+import { PostCard, CategoryInfo } from "@/types";
+import { getPostFeed, getCategories } from "@/lib/api";
 import CategoryFilter from "./CategoryFilter";
 import SortSelector from "./SortSelector";
 import GridItem from "./GridItem";
@@ -10,13 +10,13 @@ import SkeletonGrid from "./SkeletonGrid";
 
 const CACHE_KEY = "gridFeedCache";
 
-function saveCache(data: { posts: Post[]; category: string | null; sort: string; status: string | null; page: number; hasMore: boolean; scrollY: number }) {
+function saveCache(data: { posts: PostCard[]; category: string | null; sort: string; status: string | null; cursor: string | null; hasMore: boolean; scrollY: number }) {
   try {
     sessionStorage.setItem(CACHE_KEY, JSON.stringify(data));
   } catch {}
 }
 
-function loadCache(): { posts: Post[]; category: string | null; sort: string; status: string | null; page: number; hasMore: boolean; scrollY: number } | null {
+function loadCache(): { posts: PostCard[]; category: string | null; sort: string; status: string | null; cursor: string | null; hasMore: boolean; scrollY: number } | null {
   try {
     const navEntry = typeof performance !== "undefined" ? performance.getEntriesByType?.("navigation")?.[0] as PerformanceNavigationTiming | undefined : undefined;
     const navType = navEntry?.type;
@@ -34,12 +34,12 @@ function loadCache(): { posts: Post[]; category: string | null; sort: string; st
 
 export default function GridFeed() {
   const cache = useRef(loadCache());
-  const [posts, setPosts] = useState<Post[]>(cache.current?.posts ?? []);
+  const [posts, setPosts] = useState<PostCard[]>(cache.current?.posts ?? []);
   const [category, setCategory] = useState<string | null>(cache.current?.category ?? null);
   const [sort, setSort] = useState<string>(cache.current?.sort ?? "latest");
   const [status, setStatus] = useState<string | null>(cache.current?.status ?? null);
   const [categories, setCategories] = useState<CategoryInfo[]>([]);
-  const [page, setPage] = useState<number>(cache.current?.page ?? 0);
+  const [cursor, setCursor] = useState<string | null>(cache.current?.cursor ?? null);
   const [loading, setLoading] = useState<boolean>(!cache.current);
   const [hasMore, setHasMore] = useState<boolean>(cache.current?.hasMore ?? true);
   const [restored, setRestored] = useState(false);
@@ -50,16 +50,17 @@ export default function GridFeed() {
   }, []);
 
   const fetchPosts = useCallback(
-    async (pageNum: number, append: boolean) => {
+    async (from: string | null, append: boolean) => {
       setLoading(true);
       try {
-        const data = await getPosts(category ?? undefined, sort, pageNum, 24, status ?? undefined);
+        const data = await getPostFeed(category ?? undefined, sort, from, 24, status ?? undefined);
         if (append) {
           setPosts((prev) => [...prev, ...data.content]);
         } else {
           setPosts(data.content);
         }
-        setHasMore(!data.last);
+        setCursor(data.nextCursor);
+        setHasMore(data.hasNext);
       } catch (error) {
         console.error("Failed to fetch posts:", error);
       } finally {
@@ -85,10 +86,10 @@ export default function GridFeed() {
       cache.current = null;
       return;
     }
-    setPage(0);
+    setCursor(null);
     setPosts([]);
     setHasMore(true);
-    fetchPosts(0, false);
+    fetchPosts(null, false);
   }, [fetchPosts]);
 
   // Restore scroll position after cached posts render
@@ -110,11 +111,11 @@ export default function GridFeed() {
   // Save state before navigating away
   useEffect(() => {
     const handleBeforeUnload = () => {
-      saveCache({ posts, category, sort, status, page, hasMore, scrollY: window.scrollY });
+      saveCache({ posts, category, sort, status, cursor, hasMore, scrollY: window.scrollY });
     };
 
     const handleClick = () => {
-      saveCache({ posts, category, sort, status, page, hasMore, scrollY: window.scrollY });
+      saveCache({ posts, category, sort, status, cursor, hasMore, scrollY: window.scrollY });
     };
 
     window.addEventListener("beforeunload", handleBeforeUnload);
@@ -123,7 +124,7 @@ export default function GridFeed() {
       window.removeEventListener("beforeunload", handleBeforeUnload);
       document.removeEventListener("click", handleClick);
     };
-  }, [posts, category, sort, status, page, hasMore]);
+  }, [posts, category, sort, status, cursor, hasMore]);
 
   // Infinite scroll
   useEffect(() => {
@@ -132,12 +133,8 @@ export default function GridFeed() {
 
     const observer = new IntersectionObserver(
       (entries) => {
-        if (entries[0].isIntersecting && hasMore && !loading) {
-          setPage((prev) => {
-            const nextPage = prev + 1;
-            fetchPosts(nextPage, true);
-            return nextPage;
-          });
+        if (entries[0].isIntersecting && hasMore && !loading && cursor) {
+          fetchPosts(cursor, true);
         }
       },
       { threshold: 0.1 }
@@ -145,7 +142,7 @@ export default function GridFeed() {
 
     observer.observe(sentinel);
     return () => observer.disconnect();
-  }, [hasMore, loading, fetchPosts]);
+  }, [hasMore, loading, cursor, fetchPosts]);
 
   return (
     <div className="space-y-6">
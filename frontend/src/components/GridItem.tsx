@@ -2,13 +2,13 @@
 
 import { useState } from "react";
 import Link from "next/link";
-import { Post } from "@/types";
+import { PostCard } from "@/types";
 import { IMAGE_BASE_URL, toggleBookmark } from "@/lib/api";
 import { useAuth } from "@/context/AuthContext";
 import TitleCard from "./TitleCard";
 
 interface GridItemProps {
-  post: Post;
+  post: PostCard;
   onBookmarkChange?: (postId: number, bookmarked: boolean) => void;
 }
 
@@ -57,7 +57,8 @@ export default function GridItem({ post, onBookmarkChange }: GridItemProps) {
       {post.imageUrl ? (
         <div className="relative aspect-[4/5]">
           <img
-            src={`${IMAGE_BASE_URL}${post.imageUrl}`}
+            src={`${IMAGE_BASE_URL}${post.thumbnailUrl ?? post.imageUrl}`}
+            loading="lazy"
             alt={post.title}
             className="w-full h-full object-cover"
           />
@@ -1,11 +1,39 @@
 "use client";
 
+import { useState, useEffect } from "react";
 import Link from "next/link";
 import { useAuth } from "@/context/AuthContext";
 import { jua } from "@/lib/fonts";
+import { getUnreadTotal } from "@/lib/api";
+import { acquireStompClient, releaseStompClient } from "@/lib/websocket";
+import { UnreadUpdate } from "@/types";
 
 export default function Header() {
   const { nickname, isLoggedIn, isAdmin } = useAuth();
+  const [totalUnread, setTotalUnread] = useState(0);
+
+  useEffect(() => {
+    if (!isLoggedIn) {
+      setTotalUnread(0);
+      return;
+    }
+    getUnreadTotal()
+      .then((res) => setTotalUnread(res.totalUnread))
+      .catch(() => {});
+
+    // 안 읽은 메시지 수는 서버가 사용자 큐로 푸시
+    const stomp = acquireStompClient();
+    const unsubscribe = stomp.subscribe("/user/queue/unread", (body) => {
+      try {
+        const update: UnreadUpdate = JSON.parse(body);
+        setTotalUnread(update.totalUnread);
+      } catch { /* ignore parse error */ }
+    });
+    return () => {
+      unsubscribe();
+      releaseStompClient();
+    };
+  }, [isLoggedIn]);
 
   return (
     <header className="sticky top-0 z-50 bg-white/80 backdrop-blur-md border-b border-gray-200/60">
@@ -44,9 +72,14 @@ export default function Header() {
               </Link>
               <Link
                 href="/conversations"
-                className="text-sm text-gray-500 hover:text-gray-900 px-3 py-1.5 rounded-full hover:bg-gray-100 transition-colors"
+                className="relative text-sm text-gray-500 hover:text-gray-900 px-3 py-1.5 rounded-full hover:bg-gray-100 transition-colors"
               >
                 대화
+                {totalUnread > 0 && (
+                  <span className="absolute -top-1 -right-1 min-w-[18px] h-[18px] px-1 bg-orange-500 text-white text-[10px] font-bold rounded-full flex items-center justify-center">
+                    {totalUnread > 99 ? "99+" : totalUnread}
+                  </span>
+                )}
               </Link>
               <Link
                 href="/profile"
@@ -4,7 +4,7 @@ import { useState, useEffect, useRef } from "react";
 import { useRouter } from "next/navigation";
 import Link from "next/link";
 import { Post, CategoryInfo } from "@/types";
-import { getPost, getCategories, toggleLike, getLikeStatus, toggleBookmark, getBookmarkStatus, updatePostStatus, deletePost, startConversation, IMAGE_BASE_URL } from "@/lib/api";
+import { getPost, getCategories, toggleLike, getLikeStatus, toggleBookmark, getBookmarkStatus, updatePostStatus, deletePost, startConversation, IMAGE_BASE_URL, toImageSrcSet } from "@/lib/api";
 import { useAuth } from "@/context/AuthContext";
 import CommentSection from "./CommentSection";
 import PostContent from "./PostContent";
@@ -58,8 +58,8 @@ export default function PostDetail({ postId }: PostDetailProps) {
   const handleLike = async () => {
     if (!post || !isLoggedIn) return;
     try {
-      const updated = await toggleLike(post.id);
-      setPost(updated);
+      const res = await toggleLike(post.id);
+      setPost({ ...post, liked: res.liked, likeCount: res.likeCount });
     } catch (error) {
       console.error("Failed to toggle like:", error);
     }
@@ -220,6 +220,8 @@ export default function PostDetail({ postId }: PostDetailProps) {
           >
             <img
               src={`${IMAGE_BASE_URL}${urls[carouselIndex]}`}
+              srcSet={toImageSrcSet(post.imageSrcsets?.[carouselIndex])}
+              sizes="(min-width: 768px) 768px, 100vw"
               alt={`${post.title} ${carouselIndex + 1}`}
               className="w-full rounded-xl"
             />
@@ -15,6 +15,7 @@ export default function SortSelector({ value, onChange }: SortSelectorProps) {
       <option value="latest">최신순</option>
       <option value="popular">인기순</option>
       <option value="views">조회순</option>
+      <option value="comments">댓글순</option>
     </select>
   );
 }
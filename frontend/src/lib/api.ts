@@ -1,9 +1,15 @@
-import { Post, Comment, PageResponse, CategoryInfo, CategoryRequestInfo, ConversationInfo, ChatMessage } from "@/types";
+import { Post, PostCard, Comment, PageResponse, SliceResponse, CategoryInfo, CategoryRequestInfo, ConversationInfo, ChatMessage } from "@/types";
 import { getToken } from "@/lib/auth";
 
 const BASE_URL = process.env.NEXT_PUBLIC_API_BASE_URL || "http://localhost:8080/api";
 export const IMAGE_BASE_URL = process.env.NEXT_PUBLIC_IMAGE_BASE_URL || "http://localhost:8080";
 
+// 서버가 주는 srcset("/uploads/a_w640.jpg 640w, ...")의 경로에 이미지 호스트를 붙임
+export function toImageSrcSet(srcset: string | null | undefined): string | undefined {
+  if (!srcset) return undefined;
+  return srcset.split(", ").map((entry) => `${IMAGE_BASE_URL}${entry}`).join(", ");
+}
+
 function authHeaders(): HeadersInit {
   const token = getToken();
   if (token) {
@@ -33,12 +39,95 @@ export async function getPosts(
   return res.json();
 }
 
+export async function getPostFeed(
+  category?: string,
+  sort?: string,
+  cursor?: string | null,
+  size?: number,
+  status?: string
+): Promise<SliceResponse<PostCard>> {
+  const params = new URLSearchParams({ view: "card" });
+  if (category) params.set("category", category);
+  if (sort) params.set("sort", sort);
+  if (status) params.set("status", status);
+  if (cursor) params.set("cursor", cursor);
+  if (size !== undefined) params.set("size", String(size));
+
+  const res = await fetch(`${BASE_URL}/posts/feed?${params.toString()}`, {
+    cache: "no-store",
+    headers: authHeaders(),
+  });
+  if (!res.ok) throw new Error("Failed to fetch posts");
+  return res.json();
+}
+
+export async function getInteractionState(
+  postIds: number[]
+): Promise<{ likedPostIds: number[]; bookmarkedPostIds: number[] }> {
+  const res = await fetch(`${BASE_URL}/posts/interaction-state`, {
+    method: "POST",
+    headers: { "Content-Type": "application/json", ...authHeaders() },
+    body: JSON.stringify({ postIds }),
+  });
+  if (!res.ok) throw new Error("Failed to fetch interaction state");
+  return res.json();
+}
+
 export async function getPost(id: number): Promise<Post> {
   const res = await fetch(`${BASE_URL}/posts/${id}`, { cache: "no-store" });
   if (!res.ok) throw new Error("Failed to fetch post");
   return res.json();
 }
 
+// direct 모드면 이미지를 저장소에 직접 올리고 URL만, 아니면 파일을 그대로 폼에 담음
+const UPLOAD_MODE = process.env.NEXT_PUBLIC_UPLOAD_MODE || "multipart";
+
+interface ImageUpload {
+  imageUrl: string;
+  uploadUrl: string | null;
+  headers: Record<string, string>;
+  exists: boolean;
+}
+
+async function sha256Hex(file: File): Promise<string> {
+  const digest = await crypto.subtle.digest("SHA-256", await file.arrayBuffer());
+  return Array.from(new Uint8Array(digest)).map((b) => b.toString(16).padStart(2, "0")).join("");
+}
+
+async function uploadImagesDirect(files: File[]): Promise<string[]> {
+  const infos = await Promise.all(files.map(async (file) => ({
+    fileName: file.name,
+    contentType: file.type,
+    size: file.size,
+    sha256: await sha256Hex(file),
+  })));
+  const res = await fetch(`${BASE_URL}/posts/image-uploads`, {
+    method: "POST",
+    headers: { "Content-Type": "application/json", ...authHeaders() },
+    body: JSON.stringify({ files: infos }),
+  });
+  if (!res.ok) throw new Error("Failed to prepare image upload");
+  const uploads: ImageUpload[] = await res.json();
+
+  await Promise.all(uploads.map(async (upload, i) => {
+    if (upload.exists || !upload.uploadUrl) return;
+    const url = upload.uploadUrl.startsWith("http") ? upload.uploadUrl : `${IMAGE_BASE_URL}${upload.uploadUrl}`;
+    const put = await fetch(url, { method: "PUT", headers: upload.headers, body: files[i] });
+    if (!put.ok) throw new Error("Failed to upload image");
+  }));
+  return uploads.map((upload) => upload.imageUrl);
+}
+
+export async function appendImages(formData: FormData, files: File[]): Promise<void> {
+  if (files.length === 0) return;
+  if (UPLOAD_MODE === "direct") {
+    const urls = await uploadImagesDirect(files);
+    urls.forEach((url) => formData.append("uploadedImageUrls", url));
+    return;
+  }
+  files.forEach((file) => formData.append("images", file));
+}
+
 export async function createPost(formData: FormData): Promise<Post> {
   const res = await fetch(`${BASE_URL}/posts`, {
     method: "POST",
@@ -77,7 +166,9 @@ export async function deletePost(id: number): Promise<void> {
   if (!res.ok) throw new Error("Failed to delete post");
 }
 
-export async function toggleLike(id: number): Promise<Post> {
+export async function toggleLike(
+  id: number
+): Promise<{ liked: boolean; likeCount: number }> {
   const res = await fetch(`${BASE_URL}/posts/${id}/like`, {
     method: "POST",
     headers: authHeaders(),
@@ -311,8 +402,16 @@ export async function getConversations(): Promise<ConversationInfo[]> {
   return res.json();
 }
 
-export async function getConversationMessages(conversationId: number): Promise<ChatMessage[]> {
-  const res = await fetch(`${BASE_URL}/conversations/${conversationId}/messages`, {
+export async function getConversationMessages(
+  conversationId: number,
+  before?: string | null,
+  limit?: number
+): Promise<SliceResponse<ChatMessage>> {
+  const params = new URLSearchParams();
+  if (before) params.set("before", before);
+  if (limit !== undefined) params.set("limit", String(limit));
+
+  const res = await fetch(`${BASE_URL}/conversations/${conversationId}/messages?${params.toString()}`, {
     headers: authHeaders(),
     cache: "no-store",
   });
@@ -337,3 +436,21 @@ export async function leaveConversation(conversationId: number): Promise<void> {
   });
   if (!res.ok) throw new Error("Failed to leave conversation");
 }
+
+export async function markConversationRead(conversationId: number, messageId?: number): Promise<void> {
+  const res = await fetch(`${BASE_URL}/conversations/${conversationId}/read`, {
+    method: "POST",
+    headers: { "Content-Type": "application/json", ...authHeaders() },
+    body: JSON.stringify({ messageId }),
+  });
+  if (!res.ok) throw new Error("Failed to mark conversation read");
+}
+
+export async function getUnreadTotal(): Promise<{ totalUnread: number }> {
+  const res = await fetch(`${BASE_URL}/conversations/unread`, {
+    headers: authHeaders(),
+    cache: "no-store",
+  });
+  if (!res.ok) throw new Error("Failed to fetch unread count");
+  return res.json();
+}
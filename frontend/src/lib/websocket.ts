@@ -7,7 +7,9 @@ type MessageHandler = (body: string) => void;
 
 export class StompClient {
   private ws: WebSocket | null = null;
-  private subscriptions: Map<string, MessageHandler> = new Map();
+  // destination 하나당 SUBSCRIBE 한 번, 핸들러는 여러 개
+  private subscriptions: Map<string, Set<MessageHandler>> = new Map();
+  private subscriptionIds: Map<string, string> = new Map();
   private subIdCounter = 0;
   private connected = false;
   private reconnectTimer: ReturnType<typeof setTimeout> | null = null;
@@ -39,7 +41,8 @@ export class StompClient {
       if (command === "CONNECTED") {
         this.connected = true;
         // 연결 후 대기중인 구독 재등록
-        this.subscriptions.forEach((handler, dest) => {
+        this.subscriptionIds.clear();
+        this.subscriptions.forEach((handlers, dest) => {
           this.sendSubscribe(dest);
         });
         return;
@@ -59,8 +62,8 @@ export class StompClient {
             break;
           }
         }
-        const handler = this.subscriptions.get(destination);
-        if (handler) handler(body);
+        const handlers = this.subscriptions.get(destination);
+        if (handlers) handlers.forEach((handler) => handler(body));
       }
     };
 
@@ -76,16 +79,46 @@ export class StompClient {
     };
   }
 
-  subscribe(destination: string, handler: MessageHandler) {
-    this.subscriptions.set(destination, handler);
-    if (this.connected) {
-      this.sendSubscribe(destination);
+  // 구독 해제 함수 반환
+  subscribe(destination: string, handler: MessageHandler): () => void {
+    let handlers = this.subscriptions.get(destination);
+    if (!handlers) {
+      handlers = new Set();
+      this.subscriptions.set(destination, handlers);
+      if (this.connected) {
+        this.sendSubscribe(destination);
+      }
     }
+    handlers.add(handler);
+
+    return () => {
+      const current = this.subscriptions.get(destination);
+      if (!current) return;
+      current.delete(handler);
+      if (current.size === 0) {
+        this.subscriptions.delete(destination);
+        this.sendUnsubscribe(destination);
+      }
+    };
+  }
+
+  send(destination: string, body: unknown) {
+    if (!this.connected || !this.ws || this.ws.readyState !== WebSocket.OPEN) return false;
+    const frame = [
+      "SEND",
+      `destination:${destination}`,
+      "content-type:application/json",
+      "",
+      JSON.stringify(body) + NULL_CHAR,
+    ].join("\n");
+    this.ws.send(frame);
+    return true;
   }
 
   private sendSubscribe(destination: string) {
     if (!this.ws || this.ws.readyState !== WebSocket.OPEN) return;
     const id = `sub-${this.subIdCounter++}`;
+    this.subscriptionIds.set(destination, id);
     const frame = [
       "SUBSCRIBE",
       `id:${id}`,
@@ -96,6 +129,13 @@ export class StompClient {
     this.ws.send(frame);
   }
 
+  private sendUnsubscribe(destination: string) {
+    const id = this.subscriptionIds.get(destination);
+    this.subscriptionIds.delete(destination);
+    if (!id || !this.ws || this.ws.readyState !== WebSocket.OPEN) return;
+    this.ws.send(["UNSUBSCRIBE", `id:${id}`, "", NULL_CHAR].join("\n"));
+  }
+
   disconnect() {
     this.destroyed = true;
     if (this.reconnectTimer) clearTimeout(this.reconnectTimer);
@@ -108,9 +148,31 @@ export class StompClient {
     }
     this.connected = false;
     this.subscriptions.clear();
+    this.subscriptionIds.clear();
   }
 
   isConnected() {
     return this.connected;
   }
 }
+
+// 헤더, 대화 목록, 채팅방이 소켓 하나와 사용자 큐 구독 하나를 공유
+let sharedClient: StompClient | null = null;
+let sharedRefCount = 0;
+
+export function acquireStompClient(): StompClient {
+  if (!sharedClient) {
+    sharedClient = new StompClient();
+    sharedClient.connect();
+  }
+  sharedRefCount++;
+  return sharedClient;
+}
+
+export function releaseStompClient() {
+  sharedRefCount = Math.max(0, sharedRefCount - 1);
+  if (sharedRefCount === 0 && sharedClient) {
+    sharedClient.disconnect();
+    sharedClient = null;
+  }
+}
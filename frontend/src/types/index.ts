@@ -19,10 +19,16 @@ export interface Post {
   authorNickname: string | null;
   status?: string | null;
   imageUrls?: string[];
+  thumbnailUrl?: string | null;
+  imageSrcsets?: (string | null)[];
   bookmarked?: boolean;
   liked?: boolean;
 }
 
+// 그리드 타일용 (view=card) - content, 작성자, 이미지 목록 없음
+export type PostCard = Pick<Post, "id" | "title" | "imageUrl" | "thumbnailUrl" | "category" | "likeCount"
+  | "viewCount" | "commentCount" | "status" | "createdAt" | "bookmarked" | "liked">;
+
 export interface Comment {
   id: number;
   content: string;
@@ -42,6 +48,12 @@ export interface PageResponse<T> {
   number: number;
 }
 
+export interface SliceResponse<T> {
+  content: T[];
+  nextCursor: string | null;
+  hasNext: boolean;
+}
+
 export interface User {
   email: string;
   nickname: string;
@@ -51,10 +63,19 @@ export interface ConversationInfo {
   id: number;
   otherNickname: string;
   lastMessage: string;
+  lastMessageAt: string | null;
+  lastMessageMine: boolean;
+  unreadCount: number;
   updatedAt: string;
   otherLeft: boolean;
 }
 
+export interface UnreadUpdate {
+  conversationId: number;
+  unreadCount: number;
+  totalUnread: number;
+}
+
 export interface ChatMessage {
   id: number;
   conversationId: number;